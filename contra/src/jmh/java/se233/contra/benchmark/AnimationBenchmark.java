@@ -0,0 +1,48 @@
+package se233.contra.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import se233.contra.controller.HeadlessSimulation;
+import se233.contra.util.Constants;
+import se233.contra.view.AnimationClip;
+import se233.contra.view.SpriteFrame;
+import se233.contra.view.SpriteLoader;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Animation playback: per-tick update + frame lookup on an inline cursor,
+ * and looking up the shared clip (what spawning an entity costs)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AnimationBenchmark {
+    private AnimationClip clip;
+    private double clipTime;
+    private int clipFrame;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        HeadlessSimulation.initialize();
+        clip = AnimationClip.of(SpriteLoader.getPlayerRun(), Constants.RUN_ANIMATION_SPEED);
+    }
+
+    @Benchmark
+    public SpriteFrame update() {
+        // Same steps as GameObject.advanceClip
+        clipTime += Constants.FIXED_TIME_STEP;
+        if (clipTime >= clip.getFrameDuration()) {
+            clipTime -= clip.getFrameDuration();
+            clipFrame = clip.nextFrame(clipFrame);
+        }
+        return clip.getFrame(clipFrame);
+    }
+
+    @Benchmark
+    public AnimationClip create() {
+        return AnimationClip.of(SpriteLoader.getPlayerRun(), Constants.RUN_ANIMATION_SPEED);
+    }
+}
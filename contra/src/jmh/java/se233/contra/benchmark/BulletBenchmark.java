@@ -0,0 +1,58 @@
+package se233.contra.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import se233.contra.controller.HeadlessSimulation;
+import se233.contra.model.Bullet;
+import se233.contra.model.BulletPool;
+import se233.contra.util.Vector2D;
+import se233.contra.view.SpriteFrame;
+import se233.contra.view.SpriteLoader;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of getting a bullet: plain/animated construction vs. the BulletPool
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BulletBenchmark {
+    private final Vector2D direction = new Vector2D(1, 0);
+    private List<SpriteFrame> fireballFrames;
+    private BulletPool pool;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        HeadlessSimulation.initialize();
+        fireballFrames = SpriteLoader.getBoss3BulletAnimation(true);
+        pool = BulletPool.getInstance();
+    }
+
+    @Benchmark
+    public Bullet newPlainBullet() {
+        return new Bullet(100, 200, direction, true);
+    }
+
+    @Benchmark
+    public Bullet newAnimatedBullet() {
+        return new Bullet(100, 200, direction, false, fireballFrames, 2);
+    }
+
+    @Benchmark
+    public Bullet pooledPlainBullet() {
+        Bullet bullet = pool.acquire(100, 200, direction, true);
+        pool.release(bullet);
+        return bullet;
+    }
+
+    @Benchmark
+    public Bullet pooledAnimatedBullet() {
+        Bullet bullet = pool.acquire(100, 200, direction, false, fireballFrames, 2);
+        pool.release(bullet);
+        return bullet;
+    }
+}
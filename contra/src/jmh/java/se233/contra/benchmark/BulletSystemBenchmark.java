@@ -0,0 +1,52 @@
+package se233.contra.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import se233.contra.controller.HeadlessSimulation;
+import se233.contra.model.BulletSystem;
+import se233.contra.util.Constants;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One simulation step of the structure-of-arrays BulletSystem at bullet-hell counts
+ * Culled bullets are respawned after each step so the count stays constant.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BulletSystemBenchmark {
+
+    @Param({"1000", "10000"})
+    public int bulletCount;
+
+    private BulletSystem system;
+    private final Random random = new Random(42);
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        HeadlessSimulation.initialize();
+        system = BulletSystem.getInstance();
+        system.clear();
+        refill();
+    }
+
+    @Benchmark
+    public int step() {
+        system.savePreviousPositions();
+        system.update(Constants.FIXED_TIME_STEP);
+        refill();
+        return system.getCount();
+    }
+
+    private void refill() {
+        while (system.getCount() < bulletCount) {
+            double angle = random.nextDouble() * Math.PI * 2;
+            system.spawn(random.nextDouble() * Constants.SCREEN_WIDTH, random.nextDouble() * Constants.SCREEN_HEIGHT,
+                    Math.cos(angle), Math.sin(angle), BulletSystem.OWNER_BOSS, 1);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package se233.contra.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import se233.contra.controller.CollisionDetector;
+import se233.contra.controller.HeadlessSimulation;
+import se233.contra.model.Boss1;
+import se233.contra.model.Bullet;
+import se233.contra.model.Player;
+import se233.contra.model.Soldier;
+import se233.contra.util.Constants;
+import se233.contra.util.Vector2D;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CollisionDetector checks at varying bullet/soldier counts
+ * Bullets fly above the soldiers and left of Boss1 so nothing is hit and the
+ * scene stays identical between invocations (broad + narrow phase cost only).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CollisionBenchmark {
+
+    @Param({"100", "1000", "5000"})
+    public int bulletCount;
+
+    @Param({"10", "100", "500"})
+    public int soldierCount;
+
+    private Player player;
+    private List<Bullet> bullets;
+    private List<Soldier> soldiers;
+    private Boss1 boss1;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        HeadlessSimulation.initialize();
+        Random rng = new Random(233);
+
+        player = new Player(100, Constants.GROUND_Y);
+        boss1 = new Boss1(Constants.BOSS1_X, Constants.BOSS1_Y);
+
+        soldiers = new ArrayList<>();
+        for (int i = 0; i < soldierCount; i++) {
+            soldiers.add(new Soldier(rng.nextDouble() * Constants.SCREEN_WIDTH, Constants.GROUND_Y));
+        }
+
+        bullets = new ArrayList<>();
+        Vector2D right = new Vector2D(1, 0);
+        for (int i = 0; i < bulletCount; i++) {
+            bullets.add(new Bullet(rng.nextDouble() * 700, rng.nextDouble() * 400, right, true));
+        }
+    }
+
+    @Benchmark
+    public List<Soldier> playerBulletsVsSoldiers() {
+        CollisionDetector.checkPlayerBulletsVsSoldiers(bullets, soldiers, player);
+        return soldiers;
+    }
+
+    @Benchmark
+    public Boss1 playerBulletsVsBoss1() {
+        CollisionDetector.checkPlayerBulletsVsBoss1(bullets, boss1, player);
+        return boss1;
+    }
+}
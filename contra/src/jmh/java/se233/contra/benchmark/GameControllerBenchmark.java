@@ -0,0 +1,56 @@
+package se233.contra.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import se233.contra.controller.GameController;
+import se233.contra.controller.HeadlessSimulation;
+import se233.contra.util.Constants;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One fixed simulation step of GameController.update, per stage file and phase
+ * Runs headless (placeholder sprites, no sound). If the player dies or wins
+ * the stage is restarted so every invocation measures live gameplay.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameControllerBenchmark {
+
+    // Stage file names; "stress" puts hundreds of soldiers on screen
+    @Param({"stage1", "stage2", "stage3", "stress"})
+    public String stage;
+
+    @Param({"WAVES", "BOSS"})
+    public String phase;
+
+    private GameController gameController;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        HeadlessSimulation.initialize();
+        gameController = new GameController();
+        restart();
+    }
+
+    private void restart() {
+        if ("BOSS".equals(phase)) {
+            gameController.startBossFight(stage);
+        } else {
+            gameController.startStage(stage);
+        }
+    }
+
+    @Benchmark
+    public GameController.GameState update() {
+        GameController.GameState state = gameController.getCurrentState();
+        if (state == GameController.GameState.GAME_OVER || state == GameController.GameState.VICTORY) {
+            restart();
+        }
+        gameController.update(Constants.FIXED_TIME_STEP);
+        return gameController.getCurrentState();
+    }
+}
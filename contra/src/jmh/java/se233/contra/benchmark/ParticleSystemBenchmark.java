@@ -0,0 +1,50 @@
+package se233.contra.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import se233.contra.controller.HeadlessSimulation;
+import se233.contra.model.ParticleSystem;
+import se233.contra.util.Constants;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One step of an effect-heavy scene: a boss death burst every second plus
+ * dozens of bullet impacts per step, against the fixed-size particle pool.
+ * Run with -prof gc: the step should allocate nothing.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParticleSystemBenchmark {
+
+    @Param({"10", "50"})
+    public int impactsPerStep;
+
+    private ParticleSystem particles;
+    private int step;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        HeadlessSimulation.initialize();
+        particles = ParticleSystem.getInstance();
+        particles.clear();
+        // Spark pool only: no world bound, so explosion sprites are not spawned
+        particles.setWorld(null);
+    }
+
+    @Benchmark
+    public int step() {
+        if (step++ % 120 == 0) {
+            particles.emit(ParticleSystem.Preset.BOSS_DEFEAT, 900, 400);
+        }
+        for (int i = 0; i < impactsPerStep; i++) {
+            particles.emit(ParticleSystem.Preset.BULLET_IMPACT, 700 + i * 7 % 300, 300 + i * 13 % 200);
+        }
+        particles.savePreviousPositions();
+        particles.update(Constants.FIXED_TIME_STEP);
+        return particles.getCount();
+    }
+}
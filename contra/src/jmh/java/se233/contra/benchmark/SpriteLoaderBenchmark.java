@@ -0,0 +1,41 @@
+package se233.contra.benchmark;
+
+import javafx.scene.image.Image;
+import org.openjdk.jmh.annotations.*;
+import se233.contra.view.SpriteFrame;
+import se233.contra.view.SpriteLoader;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SpriteLoader lookups against the real sprite sheets (frames are cached after first use)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SpriteLoaderBenchmark {
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SpriteLoader.initialize();
+    }
+
+    @Benchmark
+    public Image getSprite() {
+        return SpriteLoader.getSprite("player", 24, 8, 24, 34);
+    }
+
+    @Benchmark
+    public List<SpriteFrame> getPlayerRun() {
+        return SpriteLoader.getPlayerRun();
+    }
+
+    @Benchmark
+    public SpriteFrame getBullet() {
+        return SpriteLoader.getBullet();
+    }
+}
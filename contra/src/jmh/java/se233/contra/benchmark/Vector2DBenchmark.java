@@ -0,0 +1,72 @@
+package se233.contra.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import se233.contra.util.Vector2D;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Vector2D operations as used by bullets, aiming and movement
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class Vector2DBenchmark {
+    private Vector2D a;
+    private Vector2D b;
+    private Vector2D out;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        a = new Vector2D(3.5, -2.25);
+        b = new Vector2D(-1.0, 4.0);
+        out = new Vector2D();
+    }
+
+    @Benchmark
+    public Vector2D add() {
+        return a.add(b);
+    }
+
+    @Benchmark
+    public Vector2D multiply() {
+        return a.multiply(1.75);
+    }
+
+    @Benchmark
+    public Vector2D normalize() {
+        return a.normalize();
+    }
+
+    @Benchmark
+    public Vector2D rotate() {
+        return a.rotate(15);
+    }
+
+    /**
+     * Aim-and-fire chain: direction to target, normalized, scaled to bullet speed
+     */
+    @Benchmark
+    public void aimChain(Blackhole bh) {
+        bh.consume(b.subtract(a).normalize().multiply(500));
+        bh.consume(a.distance(b));
+    }
+
+    /**
+     * Same chain with the in-place API (expect ~0 B/op under -prof gc)
+     */
+    @Benchmark
+    public void aimChainLocal(Blackhole bh) {
+        bh.consume(out.set(b).subtractLocal(a).normalizeLocal().scaleLocal(500));
+        bh.consume(a.distance(b));
+    }
+
+    @Benchmark
+    public Vector2D rotateScratch() {
+        return Vector2D.scratch(a).rotateLocal(15);
+    }
+}
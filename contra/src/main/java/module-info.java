@@ -5,6 +5,10 @@ module se233.contra {
     requires javafx.graphics;
     requires javafx.media;
 
+    // Thread allocation counters for the frame profiler
+    requires java.management;
+    requires jdk.management;
+
     // Logging modules
     requires org.slf4j;
     requires ch.qos.logback.classic;
@@ -19,6 +23,7 @@ module se233.contra {
     exports se233.contra;
     exports se233.contra.controller;
     exports se233.contra.model;
+    exports se233.contra.ecs;
     exports se233.contra.view;
     exports se233.contra.util;
     exports se233.contra.exception;
@@ -3,46 +3,52 @@ package se233.contra;
 import javafx.animation.AnimationTimer;
 import javafx.application.Application;
 import javafx.scene.Scene;
-import javafx.scene.input.KeyCode;
 import javafx.scene.layout.StackPane;
 import javafx.stage.Stage;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import se233.contra.controller.GameController;
 import se233.contra.controller.InputHandler;
+import se233.contra.controller.Replay;
 import se233.contra.exception.GameException;
+import se233.contra.model.GameObject;
 import se233.contra.util.Constants;
-import se233.contra.util.SoundManager;
+import se233.contra.util.FixedTimestep;
+import se233.contra.util.FrameProfiler;
+import se233.contra.view.AssetLoader;
 import se233.contra.view.GameView;
-import se233.contra.view.SpriteLoader;
+import se233.contra.view.LoadingView;
+
+import java.nio.file.Path;
 
 public class
 Main extends Application {
     private static final Logger logger = LoggerFactory.getLogger(Main.class);
 
+    // -Dcontra.record=<file>: record the session's input for HeadlessSimulation --replay
+    private static final String RECORD_PROPERTY = "contra.record";
+
     private GameController gameController;
     private GameView gameView;
     private GameLoop gameLoop;
 
+    private StackPane root;
+    private AssetLoader assetLoader;
+    private LoadingView loadingView;
+    private LoadingLoop loadingLoop;
+
     @Override
     public void start(Stage primaryStage) {
         try {
             logger.info("Starting Contra Boss Fight...");
 
-            // Initialize sprite loader
-            SpriteLoader.initialize();
-
-            // ✅ Initialize sound manager
-            SoundManager.getInstance().initialize();
-
-            // Create game controller
-            gameController = new GameController();
-
-            // Create game view
-            gameView = new GameView(gameController);
+            // Decode sprites, backgrounds and sounds on worker threads
+            assetLoader = new AssetLoader();
+            assetLoader.start();
 
-            // Setup scene
-            StackPane root = new StackPane(gameView);
+            // Show the loading screen until the required assets are ready
+            loadingView = new LoadingView();
+            root = new StackPane(loadingView);
             Scene scene = new Scene(root, Constants.SCREEN_WIDTH, Constants.SCREEN_HEIGHT);
 
             // Setup input handling
@@ -54,11 +60,10 @@ Main extends Application {
             primaryStage.setResizable(false);
             primaryStage.show();
 
-            // Start game loop
-            gameLoop = new GameLoop();
-            gameLoop.start();
+            loadingLoop = new LoadingLoop();
+            loadingLoop.start();
 
-            logger.info("Game started successfully!");
+            logger.info("Window shown, loading assets...");
 
         } catch (Exception e) {
             logger.error("Failed to start game", e);
@@ -67,19 +72,37 @@ Main extends Application {
         }
     }
 
+    /**
+     * Required assets are in: build the game (GameController starts in MENU) and swap views
+     */
+    private void onAssetsReady() {
+        gameController = new GameController();
+        if (System.getProperty(RECORD_PROPERTY) != null) {
+            gameController.startRecording();
+        }
+        gameView = new GameView(gameController);
+        root.getChildren().setAll(gameView);
+        loadingView = null;
+
+        gameLoop = new GameLoop();
+        gameLoop.start();
+
+        logger.info("Game started successfully!");
+    }
+
     private void setupInputHandling(Scene scene) {
         InputHandler inputHandler = InputHandler.getInstance();
 
         scene.setOnKeyPressed(event -> {
             inputHandler.keyPressed(event.getCode());
 
-            // Menu controls
-            if (gameController.getCurrentState() == GameController.GameState.MENU) {
-                if (event.getCode() == KeyCode.ENTER) {
-                    gameController.startGame();
-                    logger.info("Game started from menu");
-                }
+            // Profiler overlay / dump (work on any screen)
+            if (event.getCode() == Constants.KEY_PROFILER) {
+                FrameProfiler.getInstance().toggleOverlay();
+            } else if (event.getCode() == Constants.KEY_PROFILER_DUMP) {
+                FrameProfiler.getInstance().dump(Constants.PROFILER_DUMP_DIR);
             }
+
         });
 
         scene.setOnKeyReleased(event -> {
@@ -92,18 +115,56 @@ Main extends Application {
     @Override
     public void stop() {
         logger.info("Shutting down game...");
+        if (loadingLoop != null) {
+            loadingLoop.stop();
+        }
         if (gameLoop != null) {
             gameLoop.stop();
         }
+        if (gameController != null && gameController.isRecording()) {
+            Replay replay = gameController.stopRecording();
+            replay.write(Path.of(System.getProperty(RECORD_PROPERTY)));
+        }
+        if (assetLoader != null) {
+            assetLoader.shutdown();
+        }
         logger.info("Game shutdown complete");
     }
 
+    /**
+     * Draws the loading screen each pulse and hands over to the game once ready
+     */
+    private class LoadingLoop extends AnimationTimer {
+        @Override
+        public void handle(long now) {
+            Throwable error = assetLoader.getError();
+            if (error != null) {
+                this.stop();
+                throw new GameException("Asset loading failed",
+                        GameException.ErrorType.SPRITE_LOAD_ERROR, error);
+            }
+
+            if (assetLoader.isReady()) {
+                this.stop();
+                onAssetsReady();
+                return;
+            }
+
+            loadingView.render(assetLoader.getProgress(), assetLoader.getCurrentAsset());
+        }
+    }
+
     /**
      * Game loop using JavaFX AnimationTimer
+     * Simulation runs in fixed steps of Constants.FIXED_TIME_STEP (deterministic
+     * physics on any display); rendering happens once per pulse and interpolates
+     * between the last two simulation states.
      */
     private class GameLoop extends AnimationTimer {
-        private static final long TARGET_FPS = 60;
-        private static final long FRAME_TIME = 1_000_000_000 / TARGET_FPS;
+        private final FixedTimestep timestep =
+                new FixedTimestep(Constants.FIXED_TIME_STEP, Constants.MAX_CATCH_UP_STEPS);
+
+        private final FrameProfiler profiler = FrameProfiler.getInstance();
 
         private long lastUpdate = 0;
         private long frameCount = 0;
@@ -111,10 +172,6 @@ Main extends Application {
         private int fps = 0;
 
         @Override
-
-
-
-
         public void handle(long now) {
             if (lastUpdate == 0) {
                 lastUpdate = now;
@@ -122,21 +179,26 @@ Main extends Application {
                 return;
             }
 
-            // Calculate delta time
-            double deltaTime = (now - lastUpdate) / 1_000_000_000.0;
+            // Real time since the previous pulse
+            long frameNanos = now - lastUpdate;
+            double frameTime = frameNanos / 1_000_000_000.0;
             lastUpdate = now;
 
-            // Cap delta time to prevent huge jumps
-            if (deltaTime > 0.1) {
-                deltaTime = 0.1;
-            }
-
             try {
-                // Update game
-                gameController.update(deltaTime);
+                // Update game in fixed steps (0..MAX_CATCH_UP_STEPS per pulse)
+                int steps = timestep.advance(frameTime);
+                for (int i = 0; i < steps; i++) {
+                    gameController.update(timestep.getStep());
+                }
 
-                // Render
+                // Render, blending the previous and current step
+                GameObject.setRenderAlpha(timestep.getAlpha());
+                profiler.begin(FrameProfiler.Phase.RENDER);
                 gameView.render();
+                profiler.end(FrameProfiler.Phase.RENDER);
+
+                profiler.setCounts(gameController.getEntityCount(), gameController.getBulletCount());
+                profiler.endFrame(frameNanos);
 
                 // FPS counter
                 frameCount++;
@@ -144,7 +206,9 @@ Main extends Application {
                     fps = (int) frameCount;
                     frameCount = 0;
                     lastFpsTime = now;
-                    logger.trace("FPS: {}", fps);
+                    logger.trace("FPS: {} (simulation steps: {}, dropped: {}, p99 frame: {} us)",
+                            fps, timestep.getTotalSteps(), timestep.getDroppedSteps(),
+                            profiler.getFramePercentile(0.99) / 1000);
                 }
 
             } catch (Exception e) {
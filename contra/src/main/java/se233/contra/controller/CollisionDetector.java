@@ -12,6 +12,13 @@ import java.util.List;
 public class CollisionDetector {
     private static final Logger logger = LoggerFactory.getLogger(CollisionDetector.class);
 
+    // Broad phase: one grid over the arena, rebuilt by each check that needs it
+    private static final double GRID_CELL_SIZE = 64;
+    private static final SpatialGrid grid =
+            new SpatialGrid(Constants.SCREEN_WIDTH, Constants.SCREEN_HEIGHT, GRID_CELL_SIZE);
+    // bulletCandidates[i] = player bullet i shares a grid cell with a boss part
+    private static boolean[] bulletCandidates = new boolean[256];
+
     // Player vs Enemy bullets
     public static void checkPlayerBulletCollisions(Player player, List<Bullet> enemyBullets) {
         if (player == null || !player.isActive() || player.isInvincible()) {
@@ -36,32 +43,76 @@ public class CollisionDetector {
         }
     }
 
+    /**
+     * Same as checkPlayerBulletCollisions, walking the enemy's bullets by index
+     * so owners that merge several lists (Boss1) don't build one per frame.
+     * Checks invincibility per call: a hit from an earlier enemy this tick
+     * lets the later enemies' bullets fly through.
+     */
+    private static void checkEnemyBulletsVsPlayer(Enemy enemy, Player player) {
+        if (!player.isActive() || player.isInvincible()) {
+            return;
+        }
+
+        int count = enemy.getBulletCount();
+        for (int i = 0; i < count; i++) {
+            Bullet bullet = enemy.getBullet(i);
+            if (!bullet.isActive() || bullet.isPlayerBullet() || bullet.hasHit()) {
+                continue;
+            }
+            if (player.collidesWith(bullet)) {
+                player.hit();
+                bullet.onHit();
+                logger.info("Player hit by enemy bullet");
+                break;
+            }
+        }
+    }
+
     public static void checkPlayerBulletsVsSoldiers(List<Bullet> playerBullets,
                                                     List<Soldier> soldiers,
                                                     Player player) {
         try {
+            grid.clear();
+            for (int i = 0; i < soldiers.size(); i++) {
+                Soldier soldier = soldiers.get(i);
+                if (!soldier.isActive() || soldier.isDead()) continue;
+                grid.insert(i, soldier.getBounds());
+            }
+
             for (Bullet bullet : playerBullets) {
                 if (!bullet.isActive() || !bullet.isPlayerBullet() || bullet.hasHit()) {
                     continue;
                 }
 
-                for (Soldier soldier : soldiers) {
-                    if (!soldier.isActive() || soldier.isDead()) continue;
+                // Narrow phase on same-cell soldiers only. Taking the lowest index
+                // keeps the "first soldier in the list wins" rule of the old full scan.
+                int hitIndex = -1;
+                int candidates = grid.query(bullet.getBounds());
+                for (int k = 0; k < candidates; k++) {
+                    int index = grid.getResult(k);
+                    if (hitIndex != -1 && index > hitIndex) continue;
 
+                    Soldier soldier = soldiers.get(index);
+                    if (!soldier.isActive() || soldier.isDead()) continue;
                     if (bullet.collidesWith(soldier)) {
-                        soldier.hit(bullet.getDamage());
-                        bullet.onHit();
+                        hitIndex = index;
+                    }
+                }
 
-                        // ✅ เพิ่ม: เล่นเสียงโดนศัตรู
-                        SoundManager.getInstance().playEnemyHit();
+                if (hitIndex != -1) {
+                    Soldier soldier = soldiers.get(hitIndex);
+                    soldier.hit(bullet.getDamage());
+                    bullet.onHit();
 
-                        // ✅ ลบส่วนนี้ออก - ให้ GameController จัดการแทน
-                        // if (soldier.isDead()) {
-                        //     player.addScore(soldier.getScoreValue());
-                        //     logger.info("Soldier killed! Score: +{}", soldier.getScoreValue());
-                        // }
-                        break;
-                    }
+                    // ✅ เพิ่ม: เล่นเสียงโดนศัตรู
+                    SoundManager.getInstance().playEnemyHit();
+
+                    // ✅ ลบส่วนนี้ออก - ให้ GameController จัดการแทน
+                    // if (soldier.isDead()) {
+                    //     player.addScore(soldier.getScoreValue());
+                    //     logger.info("Soldier killed! Score: +{}", soldier.getScoreValue());
+                    // }
                 }
             }
         } catch (Exception e) {
@@ -77,7 +128,20 @@ public class CollisionDetector {
         if (!boss.isActive()) return;
 
         try {
-            for (Bullet bullet : playerBullets) {
+            indexPlayerBullets(playerBullets);
+            if (boss.getCurrentState() == Boss1.State.VULNERABLE) {
+                markCandidatesNear(boss.getDoor());
+            }
+            if (boss.getLeftCannon().isActive()) {
+                markCandidatesNear(boss.getLeftCannon());
+            }
+            if (boss.getRightCannon().isActive()) {
+                markCandidatesNear(boss.getRightCannon());
+            }
+
+            for (int i = 0; i < playerBullets.size(); i++) {
+                if (!bulletCandidates[i]) continue;
+                Bullet bullet = playerBullets.get(i);
                 if (!bullet.isActive() || !bullet.isPlayerBullet() || bullet.hasHit()) {
                     continue;
                 }
@@ -130,7 +194,12 @@ public class CollisionDetector {
                                                  Boss2 boss,
                                                  Player player) {
         try {
-            for (Bullet bullet : playerBullets) {
+            indexPlayerBullets(playerBullets);
+            markCandidatesNear(boss);
+
+            for (int i = 0; i < playerBullets.size(); i++) {
+                if (!bulletCandidates[i]) continue;
+                Bullet bullet = playerBullets.get(i);
                 if (!bullet.isActive() || !bullet.isPlayerBullet() || bullet.hasHit()) continue;
 
                 if (bullet.collidesWith(boss)) {
@@ -157,7 +226,12 @@ public class CollisionDetector {
                                                  Boss3 boss,
                                                  Player player) {
         try {
-            for (Bullet bullet : playerBullets) {
+            indexPlayerBullets(playerBullets);
+            markCandidatesNear(boss);
+
+            for (int i = 0; i < playerBullets.size(); i++) {
+                if (!bulletCandidates[i]) continue;
+                Bullet bullet = playerBullets.get(i);
                 if (!bullet.isActive() || !bullet.isPlayerBullet() || bullet.hasHit()) continue;
 
                 if (bullet.collidesWith(boss)) {
@@ -177,13 +251,41 @@ public class CollisionDetector {
         }
     }
 
+    /**
+     * Broad phase for the boss checks: put the live player bullets in the grid
+     * and clear their candidate flags.
+     */
+    private static void indexPlayerBullets(List<Bullet> playerBullets) {
+        int size = playerBullets.size();
+        if (bulletCandidates.length < size) {
+            bulletCandidates = new boolean[Math.max(size, bulletCandidates.length * 2)];
+        }
+
+        grid.clear();
+        for (int i = 0; i < size; i++) {
+            bulletCandidates[i] = false;
+            Bullet bullet = playerBullets.get(i);
+            if (!bullet.isActive() || !bullet.isPlayerBullet() || bullet.hasHit()) continue;
+            grid.insert(i, bullet.getBounds());
+        }
+    }
+
+    /**
+     * Flag every indexed bullet sharing a grid cell with the given boss part
+     */
+    private static void markCandidatesNear(GameObject part) {
+        int candidates = grid.query(part.getBounds());
+        for (int k = 0; k < candidates; k++) {
+            bulletCandidates[grid.getResult(k)] = true;
+        }
+    }
+
     public static void checkBossBulletsVsPlayer(Boss boss, Player player) {
         if (boss == null || !boss.isActive() || player == null || !player.isActive() || player.isInvincible()) {
             return;
         }
         try {
-            List<Bullet> bossBullets = boss.getBullets(); // Changed from getAllBullets()
-            checkPlayerBulletCollisions(player, bossBullets);
+            checkEnemyBulletsVsPlayer(boss, player);
         } catch (Exception e) {
             throw new GameException("Error in boss bullets vs player collision",
                     GameException.ErrorType.COLLISION_ERROR, e);
@@ -212,6 +314,25 @@ public class CollisionDetector {
         }
     }
 
+    // BulletSystem (structure-of-arrays) enemy bullets vs Player
+    public static void checkBulletSystemVsPlayer(BulletSystem bulletSystem, Player player) {
+        if (player == null || !player.isActive() || player.isInvincible()) {
+            return;
+        }
+
+        try {
+            int index = bulletSystem.findHit(player.getBounds(), false);
+            if (index != -1) {
+                player.hit();
+                bulletSystem.onHit(index);
+                logger.info("Player hit by enemy bullet");
+            }
+        } catch (Exception e) {
+            throw new GameException("Error in bullet system vs player collision",
+                    GameException.ErrorType.COLLISION_ERROR, e);
+        }
+    }
+
     // Soldier bullets vs Player
     public static void checkSoldierBulletsVsPlayer(List<Soldier> soldiers, Player player) {
         if (player == null || !player.isActive() || player.isInvincible()) {
@@ -221,7 +342,7 @@ public class CollisionDetector {
         try {
             for (Soldier soldier : soldiers) {
                 if (!soldier.isActive()) continue;
-                checkPlayerBulletCollisions(player, soldier.getBullets());
+                checkEnemyBulletsVsPlayer(soldier, player);
             }
         } catch (Exception e) {
             throw new GameException("Error in soldier bullets vs player collision",
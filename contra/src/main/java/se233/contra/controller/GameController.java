@@ -2,14 +2,24 @@ package se233.contra.controller;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import se233.contra.ecs.AnimationSystem;
+import se233.contra.ecs.EntityFactory;
+import se233.contra.ecs.EntitySystem;
+import se233.contra.ecs.EntityWorld;
 import se233.contra.model.*;
 import se233.contra.exception.GameException;
 import se233.contra.util.Constants;
+import se233.contra.util.FrameProfiler;
+import se233.contra.util.FrameProfiler.Phase;
+import se233.contra.util.GameRandom;
+import se233.contra.util.Rectangle;
 import se233.contra.util.SoundManager;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 public class GameController {
     private static final Logger logger = LoggerFactory.getLogger(GameController.class);
@@ -35,9 +45,18 @@ public class GameController {
     private Boss boss;
     private int bossStage = 0;
 
-    private List<Explosion> explosions;
-
-    private List<Soldier> waveSpawnQueue;
+    // ECS world: soldier movement/AI and the explosion sprites of every effect
+    // (ParticleSystem keeps only sparks and dust). Soldier systems run in the
+    // wave update, the rest once per tick after everything else; each in order
+    private final EntityWorld world;
+    private final EntitySystem[] soldierSystems;
+    private final EntitySystem[] systems;
+
+    // Stage being played and our position in its wave script
+    private StageDefinition stage;
+    private int waveIndex;       // wave being played, -1 before the first
+    private int spawnCursor;     // next spawn of that wave that is not out yet
+    private double waveClock;    // seconds since that wave started
     private int currentWave;
     private int minionsKilled;
     private double waveTimer;
@@ -45,26 +64,44 @@ public class GameController {
     private boolean intermissionAfterBoss2 = false;
 
     private double transitionTimer;
+    private int parallelThreshold = Constants.PARALLEL_SOLDIER_THRESHOLD;
     private boolean paused;
     private final Random random;
 
+    // Determinism: session seed, ticks simulated so far, optional input recording
+    private final long seed;
+    private long tick;
+    private Replay recording;
+
     public GameController() {
+        this(GameRandom.freshSeed());
+    }
+
+    /**
+     * @param seed master seed for every random stream in this session (see GameRandom)
+     */
+    public GameController(long seed) {
+        this.seed = seed;
+        GameRandom.reseed(seed);
         this.currentState = GameState.MENU;
         this.soldiers = new ArrayList<>();
-        this.explosions = new ArrayList<>();
-        this.random = new Random();
+        this.world = new EntityWorld();
+        this.soldierSystems = EntityFactory.soldierSystems();
+        this.systems = new EntitySystem[] { new AnimationSystem() };
+        this.random = GameRandom.newStream();
         this.paused = false;
         this.transitionTimer = 0;
-        this.waveSpawnQueue = new ArrayList<>();
     }
 
     public void startGame() {
         try {
             logger.info("Starting new game...");
+            recycleBullets();
             player = new Player(100, Constants.GROUND_Y);
 
-            soldiers.clear();
-            explosions.clear();
+            clearSoldiers();
+            world.clear();
+            ParticleSystem.getInstance().clear();
             boss = null;
             bossStage = 1;
             intermissionAfterBoss1 = false;
@@ -75,7 +112,7 @@ public class GameController {
             paused = false;
 
             currentState = GameState.STAGE_1_WAVES;
-            setupStage1Waves();
+            setupStage(StageLoader.nameOf(1));
 
             logger.info("Game started successfully");
         } catch (Exception e) {
@@ -84,153 +121,209 @@ public class GameController {
         }
     }
 
-    private void setupStage1Waves() {
-        currentWave = 1;
-        waveSpawnQueue.clear();
-        soldiers.clear();
-        double spawnY = Constants.GROUND_Y;
-        double spawnX = Constants.SCREEN_WIDTH + 50;
-        logger.info("Setting up Stage 1: Wave 1 (1 Soldier), Wave 2 (1 Soldier)");
-
-        waveSpawnQueue.add(new Soldier(spawnX, spawnY));
-        waveSpawnQueue.add(new Soldier(spawnX, spawnY));
+    /**
+     * Start a fresh game directly at the waves of a stage (1-3)
+     * Used by the benchmarks and headless runs to skip the earlier stages.
+     */
+    public void startStage(int stage) {
+        if (stage < 1 || stage > 3) {
+            throw new GameException("Unknown stage: " + stage,
+                    GameException.ErrorType.INVALID_GAME_STATE);
+        }
+        startStage(StageLoader.nameOf(stage));
+    }
 
-        spawnNextEnemy();
+    /**
+     * Start a fresh game at any stage file, e.g. "stress" (see StageLoader)
+     */
+    public void startStage(String name) {
+        startGame();
+        if (!name.equals(stage.getName())) {
+            resetForStage(name);
+        }
     }
 
-    private void setupStage2Waves() {
-        currentWave = 1;
-        waveSpawnQueue.clear();
-        soldiers.clear();
-        double spawnY = Constants.GROUND_Y;
-        double spawnX = Constants.SCREEN_WIDTH + 50;
-        logger.info("Setting up Stage 2: Wave 1 (1 Soldier), Wave 2 (1 SoldierTier2)");
+    /**
+     * Start a fresh game directly at the boss fight of a stage (1-3)
+     */
+    public void startBossFight(int stage) {
+        startStage(stage);
+        skipToBoss();
+    }
 
-        waveSpawnQueue.add(new Soldier(spawnX, spawnY));
-        waveSpawnQueue.add(new SoldierTier2(spawnX, spawnY));
+    /**
+     * Start a fresh game directly at the boss fight of any stage file
+     */
+    public void startBossFight(String name) {
+        startStage(name);
+        skipToBoss();
+    }
 
-        spawnNextEnemy();
+    private void skipToBoss() {
+        clearSoldiers();
+        waveIndex = stage.getWaves().size() - 1;
+        spawnCursor = stage.getWaves().get(waveIndex).getSpawns().size();
+        currentWave = waveIndex + 1;
+        spawnBoss();
     }
 
-    private void setupStage3Waves() {
-        currentWave = 1;
-        waveSpawnQueue.clear();
-        soldiers.clear();
-        double spawnY = Constants.GROUND_Y;
-        double spawnX = Constants.SCREEN_WIDTH + 50;
-        logger.info("Setting up Stage 3: Wave 1 (1 SoldierTier2), Wave 2 (1 SoldierTier2)");
+    /**
+     * Load a stage definition and start its wave script. A first wave with no
+     * delay starts right away; the stage that follows is parsed in the background.
+     */
+    private void setupStage(String name) {
+        StageLoader loader = StageLoader.getInstance();
+        stage = loader.get(name);
+        if (stage.getNext() != null) {
+            loader.prefetch(stage.getNext());
+        }
 
-        waveSpawnQueue.add(new SoldierTier2(spawnX, spawnY));
-        waveSpawnQueue.add(new SoldierTier2(spawnX, spawnY));
+        clearSoldiers();
+        bossStage = stage.getNumber();
+        currentWave = 0;
+        waveIndex = -1;
+        spawnCursor = 0;
+        waveClock = 0;
+        waveTimer = 0;
+        logger.info("Setting up {}", stage);
 
-        spawnNextEnemy();
+        if (stage.getWaves().get(0).getDelay() <= 0) {
+            startWave(0);
+        }
     }
 
-    private void spawnNextEnemy() {
-        if (waveSpawnQueue.isEmpty()) return;
-        Soldier nextEnemy = waveSpawnQueue.remove(0);
-        soldiers.add(nextEnemy);
+    private void startWave(int index) {
+        waveIndex = index;
+        currentWave = index + 1;
+        spawnCursor = 0;
+        waveClock = 0;
         waveTimer = 0;
-        logger.info("Spawning next enemy. {} remaining in queue.", waveSpawnQueue.size());
+        logger.info("Stage {} wave {}/{}: {} enemies", bossStage, currentWave,
+                stage.getWaves().size(), stage.getWaves().get(index).getSpawns().size());
+        spawnDueEnemies();
     }
 
-    private void spawnBoss1() {
-        logger.info("Spawning Boss 1!");
-        boss = new Boss1(Constants.BOSS1_X, Constants.BOSS1_Y);
-        bossStage = 1;
-        currentState = GameState.STAGE_1_BOSS;
+    /**
+     * Create every enemy of the current wave whose time has come
+     */
+    private void spawnDueEnemies() {
+        List<StageDefinition.Spawn> spawns = stage.getWaves().get(waveIndex).getSpawns();
+        while (spawnCursor < spawns.size() && spawns.get(spawnCursor).getTime() <= waveClock) {
+            StageDefinition.Spawn spawn = spawns.get(spawnCursor++);
+            soldiers.add(spawn.getType().create(world, spawn.getX(), spawn.getY()));
+        }
     }
 
-    private void spawnBoss2() {
-        logger.info("Spawning Boss 2!");
-        double x = 880;
-        double y = Constants.GROUND_Y - Constants.BOSS2_FRAME_H;
-        boss = new Boss2(x, y);
-        bossStage = 2;
-        currentState = GameState.STAGE_2_BOSS;
+    /**
+     * Drop every soldier and its entity
+     */
+    private void clearSoldiers() {
+        for (int i = 0; i < soldiers.size(); i++) {
+            int entity = soldiers.get(i).getEntity();
+            if (world.isAlive(entity)) {
+                world.despawn(entity);
+            }
+        }
+        soldiers.clear();
     }
 
-    private void spawnBoss3() {
-        logger.info("Spawning Boss 3!");
-        double spawnX = Constants.SCREEN_WIDTH - 150;
-        double spawnY = Constants.GROUND_Y;
-        Boss3 boss3 = new Boss3(spawnX, spawnY);
-
-        boss3.setTargetPlayer(player);
-
-        boss = boss3;
-        bossStage = 3;
-        currentState = GameState.STAGE_3_BOSS;
+    /** Enemies of the current wave that have not entered yet */
+    private int pendingSpawns() {
+        return waveIndex < 0 ? 0 : stage.getWaves().get(waveIndex).getSpawns().size() - spawnCursor;
     }
 
-    private void resetForBoss2FreshStart() {
-        explosions.clear();
-        soldiers.clear();
-        boss = null;
+    private void spawnBoss() {
+        StageDefinition.BossDefinition definition = stage.getBoss();
+        logger.info("Spawning {} for stage {}!", definition.getType().getKey(), bossStage);
+        boss = definition.getType().create(definition.getX(), definition.getY());
+        boss.setTargetPlayer(player);
+        currentState = bossState(bossStage);
+    }
 
-        int savedScore = player != null ? player.getScore() : 0;
-        player = new Player(100, Constants.GROUND_Y);
-        player.setScore(savedScore);
+    private static GameState wavesState(int stage) {
+        if (stage == 2) return GameState.STAGE_2_WAVES;
+        if (stage == 3) return GameState.STAGE_3_WAVES;
+        return GameState.STAGE_1_WAVES;
+    }
 
-        currentWave = 0;
-        minionsKilled = 0;
-        waveTimer = 0;
-        paused = false;
+    private static GameState bossState(int stage) {
+        if (stage == 2) return GameState.STAGE_2_BOSS;
+        if (stage == 3) return GameState.STAGE_3_BOSS;
+        return GameState.STAGE_1_BOSS;
+    }
 
-        bossStage = 2;
-        currentState = GameState.STAGE_2_WAVES;
-        setupStage2Waves();
+    /** Stage played after the current one's boss */
+    private String nextStageName() {
+        return stage.getNext() != null ? stage.getNext() : StageLoader.nameOf(bossStage + 1);
     }
 
-    private void resetForBoss3FreshStart() {
-        explosions.clear();
-        soldiers.clear();
+    /**
+     * Fresh player (score kept) at the waves of another stage
+     */
+    private void resetForStage(String name) {
+        recycleBullets();
+        clearSoldiers();
+        world.clear();
+        ParticleSystem.getInstance().clear();
         boss = null;
 
         int savedScore = player != null ? player.getScore() : 0;
         player = new Player(100, Constants.GROUND_Y);
         player.setScore(savedScore);
 
-        currentWave = 0;
         minionsKilled = 0;
-        waveTimer = 0;
         paused = false;
 
-        bossStage = 3;
-        currentState = GameState.STAGE_3_WAVES;
-        setupStage3Waves();
+        setupStage(name);
+        currentState = wavesState(bossStage);
     }
 
     public void update(double deltaTime) {
+        FrameProfiler profiler = FrameProfiler.getInstance();
+
+        // Apply key events queued since the last tick, then record what this tick sees
+        profiler.begin(Phase.INPUT);
+        InputHandler.getInstance().poll();
+        profiler.end(Phase.INPUT);
+
+        tick++;
+        if (recording != null) {
+            recording.addTick(InputHandler.getInstance().getKeyMask());
+        }
+
         // ✅ สำคัญมาก: เรียก handleInput() ก่อน เพื่อรับการกด P และ L
+        profiler.begin(Phase.INPUT);
         handleInput();
+        profiler.end(Phase.INPUT);
 
         // ✅ หลังจากนั้นค่อยเช็คว่า paused หรือไม่
         if (paused || currentState == GameState.MENU) {
             // ถ้า paused หรือ menu ให้ update input แล้วหยุด
+            profiler.begin(Phase.INPUT);
             InputHandler.getInstance().update();
+            profiler.end(Phase.INPUT);
             return;
         }
 
         try {
+            // Effects emitted this tick put their explosion sprites in our world
+            ParticleSystem.getInstance().setWorld(world);
+            savePreviousPositions();
+
             switch (currentState) {
                 case STAGE_1_WAVES:
-                    updateWaveLogic(deltaTime);
-                    break;
-                case STAGE_1_BOSS:
-                    updateBossFight(deltaTime);
-                    break;
                 case STAGE_2_WAVES:
-                    updateWaveLogic(deltaTime);
-                    break;
-                case STAGE_2_BOSS:
-                    updateBossFight(deltaTime);
-                    break;
                 case STAGE_3_WAVES:
+                    profiler.begin(Phase.WAVES);
                     updateWaveLogic(deltaTime);
+                    profiler.end(Phase.WAVES);
                     break;
+                case STAGE_1_BOSS:
+                case STAGE_2_BOSS:
                 case STAGE_3_BOSS:
+                    profiler.begin(Phase.BOSS_AI);
                     updateBossFight(deltaTime);
+                    profiler.end(Phase.BOSS_AI);
                     break;
                 case GAME_OVER:
                     updateGameOver(deltaTime);
@@ -244,13 +337,15 @@ public class GameController {
                     break;
             }
 
-            explosions.removeIf(e -> !e.isActive());
-            for (Explosion explosion : explosions) {
-                explosion.update(deltaTime);
-            }
+            profiler.begin(Phase.EXPLOSIONS);
+            updateEntities(deltaTime);
+            ParticleSystem.getInstance().update(deltaTime);
+            profiler.end(Phase.EXPLOSIONS);
 
             // ✅ อย่าลืม update InputHandler หลังใช้งานเสร็จ
+            profiler.begin(Phase.INPUT);
             InputHandler.getInstance().update();
+            profiler.end(Phase.INPUT);
 
         } catch (Exception e) {
             logger.error("Error in game update", e);
@@ -265,15 +360,11 @@ public class GameController {
             if (currentState == GameState.STAGE_2_TRANSITION) {
                 logger.info("Transition complete. Spawning Stage 2 Waves.");
                 currentState = GameState.STAGE_2_WAVES;
-                currentWave = 0;
-                waveTimer = 0;
-                setupStage2Waves();
+                setupStage(StageLoader.nameOf(2));
             } else if (currentState == GameState.STAGE_3_TRANSITION) {
                 logger.info("Transition complete. Spawning Stage 3 Waves.");
                 currentState = GameState.STAGE_3_WAVES;
-                currentWave = 0;
-                waveTimer = 0;
-                setupStage3Waves();
+                setupStage(StageLoader.nameOf(3));
             }
         }
     }
@@ -284,6 +375,12 @@ public class GameController {
     private void handleInput() {
         InputHandler input = InputHandler.getInstance();
 
+        // Start from the menu inside the tick (not the key event) so replays see it
+        if (currentState == GameState.MENU && input.isKeyJustPressed(javafx.scene.input.KeyCode.ENTER)) {
+            startGame();
+            logger.info("Game started from menu");
+        }
+
         // ✅ Pause with P key
         if (input.isKeyJustPressed(Constants.KEY_PAUSE)) {
             if (!paused) {
@@ -314,14 +411,14 @@ public class GameController {
                 intermissionAfterBoss1 = false;
                 currentState = GameState.STAGE_2_TRANSITION;
                 transitionTimer = 0;
-                resetForBoss2FreshStart();
+                resetForStage(nextStageName());
             }
             else if (intermissionAfterBoss2 && input.isKeyJustPressed(javafx.scene.input.KeyCode.ENTER)) {
                 logger.info("ENTER pressed – switching to Boss3 stage");
                 intermissionAfterBoss2 = false;
                 currentState = GameState.STAGE_3_TRANSITION;
                 transitionTimer = 0;
-                resetForBoss3FreshStart();
+                resetForStage(nextStageName());
             }
         }
     }
@@ -330,48 +427,76 @@ public class GameController {
         player.update(deltaTime);
         updateAllSoldiers(deltaTime);
 
-        if (soldiers.isEmpty()) {
+        if (pendingSpawns() > 0) {
+            waveClock += deltaTime;
+            spawnDueEnemies();
+        } else if (soldiers.isEmpty()) {
+            // Wave cleared: wait out the next wave's (or the boss's) delay
             waveTimer += deltaTime;
-            if (waveTimer > 2.0) {
-
-                if (!waveSpawnQueue.isEmpty()) {
-                    spawnNextEnemy();
-                    currentWave++;
+            int next = waveIndex + 1;
+            boolean bossNext = next >= stage.getWaves().size();
+            double delay = bossNext ? stage.getBoss().getDelay() : stage.getWaves().get(next).getDelay();
+            if (waveTimer > delay) {
+                if (bossNext) {
+                    logger.info("Stage {} Waves complete!", bossStage);
+                    spawnBoss();
                 } else {
-                    if (bossStage == 1) {
-                        logger.info("Stage 1 Waves complete!");
-                        spawnBoss1();
-                    } else if (bossStage == 2) {
-                        logger.info("Stage 2 Waves complete!");
-                        spawnBoss2();
-                    } else if (bossStage == 3) {
-                        logger.info("Stage 3 Waves complete!");
-                        spawnBoss3();
-                    }
+                    startWave(next);
                 }
             }
         }
         checkPlayerDeath();
     }
 
+    /**
+     * Three phases. First the soldier systems move every soldier and run its
+     * AI in linear passes over the ECS world. Then every soldier does its own
+     * work (animation, moving its bullets); that touches nothing shared, so
+     * big waves fan it out over the ForkJoin pool. Then, serially in list
+     * order, each soldier's BulletPool releases and requested shot are
+     * applied, followed by score, explosions and sounds. The merge gives the
+     * same result as the single-threaded path whatever order the workers
+     * finished in.
+     */
     private void updateAllSoldiers(double deltaTime) {
+        for (EntitySystem system : soldierSystems) {
+            system.update(world, deltaTime);
+        }
+
+        int count = soldiers.size();
+        if (count >= parallelThreshold) {
+            ForkJoinPool.commonPool().invoke(new SoldierUpdateTask(soldiers, 0, count, deltaTime));
+        } else {
+            for (int i = 0; i < count; i++) {
+                soldiers.get(i).update(deltaTime);
+            }
+        }
+
         for (Soldier soldier : soldiers) {
-            soldier.update(deltaTime);
+            soldier.commitBullets();
 
             // ✅ ใช้ shouldAwardScore() แทน - จะบวก score แค่ครั้งเดียว
             if (soldier.shouldAwardScore()) {
                 minionsKilled++;
                 player.addScore(soldier.getScoreValue());
-                addExplosion(soldier.getPosition().getX(), soldier.getPosition().getY());
+                addExplosion(soldier);
                 SoundManager.getInstance().playEnemyDeath(); // ✅ เล่นเสียงศัตรูตาย
             }
         }
 
-        // ✅ ลบ soldier ที่ไม่ active ออกหลังจาก loop
+        // ✅ ลบ soldier ที่ไม่ active ออกหลังจาก loop (คืนกระสุนเข้า pool ก่อน)
+        for (Soldier soldier : soldiers) {
+            if (!soldier.isActive()) {
+                BulletPool.getInstance().releaseAll(soldier.getBullets());
+                world.despawn(soldier.getEntity());
+            }
+        }
         soldiers.removeIf(s -> !s.isActive());
 
+        FrameProfiler.getInstance().begin(Phase.COLLISION);
         CollisionDetector.checkPlayerBulletsVsSoldiers(player.getBullets(), soldiers, player);
         CollisionDetector.checkSoldierBulletsVsPlayer(soldiers, player);
+        FrameProfiler.getInstance().end(Phase.COLLISION);
     }
 
     private void checkPlayerDeath() {
@@ -382,30 +507,51 @@ public class GameController {
         }
     }
 
+    /**
+     * Updates soldiers [from, to), splitting into PARALLEL_SOLDIER_BATCH-sized leaves
+     */
+    private static final class SoldierUpdateTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final List<Soldier> soldiers;
+        private final int from;
+        private final int to;
+        private final double deltaTime;
+
+        SoldierUpdateTask(List<Soldier> soldiers, int from, int to, double deltaTime) {
+            this.soldiers = soldiers;
+            this.from = from;
+            this.to = to;
+            this.deltaTime = deltaTime;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= Constants.PARALLEL_SOLDIER_BATCH) {
+                for (int i = from; i < to; i++) {
+                    soldiers.get(i).update(deltaTime);
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new SoldierUpdateTask(soldiers, from, middle, deltaTime),
+                    new SoldierUpdateTask(soldiers, middle, to, deltaTime));
+        }
+    }
+
     private void updateBossFight(double deltaTime) {
         player.update(deltaTime);
 
         if (boss != null && boss.isActive()) {
-            if (boss instanceof Boss3 b3) {
-                b3.setTarget(player.getPosition().getX(), player.getPosition().getY());
-            }
-
             boss.update(deltaTime);
+            updateBulletSystem(deltaTime);
 
-            if (boss instanceof Boss1 b1) {
-                CollisionDetector.checkPlayerBulletsVsBoss1(player.getBullets(), b1, player);
-                CollisionDetector.checkBossBulletsVsPlayer(b1, player);
-            } else if (boss instanceof Boss2 b2) {
-                CollisionDetector.checkPlayerBulletsVsBoss2(player.getBullets(), b2, player);
-                CollisionDetector.checkBossBulletsVsPlayer(b2, player);
-            } else if (boss instanceof Boss3 b3) {
-                CollisionDetector.checkPlayerBulletsVsBoss3(player.getBullets(), b3, player);
-                CollisionDetector.checkBossBulletsVsPlayer(b3, player);
-                CollisionDetector.checkBoss3GroundPoundVsPlayer(b3, player);
-            }
+            FrameProfiler.getInstance().begin(Phase.COLLISION);
+            boss.checkCollisions(player);
+            FrameProfiler.getInstance().end(Phase.COLLISION);
 
             if (boss.isBossDefeated()) {
-                addExplosion(boss.getPosition().getX() + 50, boss.getPosition().getY() + 50);
+                emitAtCentre(ParticleSystem.Preset.BOSS_DEFEAT, boss);
                 SoundManager.getInstance().playStageClear(); // ✅ เล่นเสียงชนะ
 
                 if (bossStage == 1) {
@@ -423,6 +569,8 @@ public class GameController {
                     logger.info("Boss 3 defeated! Victory! Final Score: {}", player.getScore());
                 }
 
+                boss.releaseBullets();
+                BulletSystem.getInstance().clear();
                 boss = null;
                 return;
             }
@@ -436,8 +584,187 @@ public class GameController {
     private void updateVictory(double deltaTime) {
     }
 
-    private void addExplosion(double x, double y) {
-        explosions.add(new Explosion(x, y));
+    /**
+     * Hand every live bullet back to the BulletPool before the owners are discarded
+     */
+    private void recycleBullets() {
+        BulletPool pool = BulletPool.getInstance();
+        if (player != null) {
+            pool.releaseAll(player.getBullets());
+        }
+        for (Soldier soldier : soldiers) {
+            pool.releaseAll(soldier.getBullets());
+        }
+        if (boss != null) {
+            boss.releaseBullets();
+        }
+        BulletSystem.getInstance().clear();
+        logger.info("{}", pool);
+    }
+
+    /**
+     * Snapshot where every moving object starts this step so GameView can
+     * interpolate between the last two simulation states
+     */
+    private void savePreviousPositions() {
+        if (player != null) {
+            player.savePreviousPosition();
+            savePreviousPositions(player.getBullets());
+        }
+        for (Soldier soldier : soldiers) {
+            soldier.savePreviousPosition();
+            savePreviousPositions(soldier.getBullets());
+        }
+        if (boss != null) {
+            boss.savePreviousPosition();
+            boss.forEachBullet(Bullet::savePreviousPosition);
+        }
+        BulletSystem.getInstance().savePreviousPositions();
+        ParticleSystem.getInstance().savePreviousPositions();
+        world.savePreviousPositions();
+    }
+
+    /**
+     * Move the structure-of-arrays bullets and test the enemy ones against the player
+     */
+    private void updateBulletSystem(double deltaTime) {
+        BulletSystem bulletSystem = BulletSystem.getInstance();
+        bulletSystem.update(deltaTime);
+        FrameProfiler.getInstance().begin(Phase.COLLISION);
+        CollisionDetector.checkBulletSystemVsPlayer(bulletSystem, player);
+        FrameProfiler.getInstance().end(Phase.COLLISION);
+    }
+
+    private void savePreviousPositions(List<Bullet> bullets) {
+        for (int i = 0; i < bullets.size(); i++) {
+            bullets.get(i).savePreviousPosition();
+        }
+    }
+
+    /**
+     * Run the per-tick ECS systems (soldier systems run in the wave update), then remove the entities they despawned
+     */
+    private void updateEntities(double deltaTime) {
+        for (EntitySystem system : systems) {
+            system.update(world, deltaTime);
+        }
+        world.flushDespawns();
+    }
+
+    private void addExplosion(GameObject target) {
+        emitAtCentre(ParticleSystem.Preset.KILL, target);
+    }
+
+    private static void emitAtCentre(ParticleSystem.Preset preset, GameObject target) {
+        Rectangle bounds = target.getBounds();
+        ParticleSystem.getInstance().emit(preset,
+                bounds.getX() + bounds.getWidth() / 2, bounds.getY() + bounds.getHeight() / 2);
+    }
+
+    // ==================== Record / replay ====================
+
+    /**
+     * Record every tick's input from now on. Only valid before the first tick,
+     * since a replay starts from a fresh GameController with the same seed.
+     */
+    public Replay startRecording() {
+        if (tick != 0) {
+            throw new GameException("Recording must start before the first tick",
+                    GameException.ErrorType.REPLAY_ERROR);
+        }
+        recording = new Replay(seed, Constants.FIXED_TIME_STEP);
+        logger.info("Recording input (seed {})", seed);
+        return recording;
+    }
+
+    /**
+     * Stop recording and stamp the replay with the current state checksum
+     */
+    public Replay stopRecording() {
+        Replay finished = recording;
+        if (finished != null) {
+            finished.setFinalChecksum(getStateChecksum());
+            recording = null;
+        }
+        return finished;
+    }
+
+    public boolean isRecording() { return recording != null; }
+    public long getSeed() { return seed; }
+    public long getTick() { return tick; }
+
+    /**
+     * Hash of the simulation state (positions, velocities, health, score,
+     * bullets, timers); two runs that match bit-for-bit give the same value
+     */
+    public long getStateChecksum() {
+        long h = mix(0x9E3779B97F4A7C15L, tick);
+        h = mix(h, currentState.ordinal());
+        h = mix(h, paused ? 1 : 0);
+        h = mix(h, bossStage);
+        h = mix(h, currentWave);
+        h = mix(h, spawnCursor);
+        h = mix(h, Double.doubleToLongBits(waveClock));
+        h = mix(h, minionsKilled);
+        h = mix(h, Double.doubleToLongBits(waveTimer));
+        h = mix(h, Double.doubleToLongBits(transitionTimer));
+        h = mix(h, world.getCount());
+
+        if (player != null) {
+            h = mixObject(h, player);
+            h = mix(h, player.getLives());
+            h = mix(h, player.getScore());
+            h = mixBullets(h, player.getBullets());
+        }
+        for (int i = 0; i < soldiers.size(); i++) {
+            Soldier soldier = soldiers.get(i);
+            h = mixObject(h, soldier);
+            h = mix(h, soldier.isDead() ? 1 : 0);
+            h = mixBullets(h, soldier.getBullets());
+        }
+        if (boss != null) {
+            h = mixObject(h, boss);
+            h = mix(h, Double.doubleToLongBits(boss.getHealthPercentage()));
+            for (int i = 0; i < boss.getBulletCount(); i++) {
+                h = mixObject(h, boss.getBullet(i));
+            }
+        }
+
+        BulletSystem bulletSystem = BulletSystem.getInstance();
+        for (int i = 0; i < bulletSystem.getCount(); i++) {
+            h = mix(h, Double.doubleToLongBits(bulletSystem.getX(i)));
+            h = mix(h, Double.doubleToLongBits(bulletSystem.getY(i)));
+        }
+        return h;
+    }
+
+    private static long mixBullets(long h, List<Bullet> bullets) {
+        for (int i = 0; i < bullets.size(); i++) {
+            h = mixObject(h, bullets.get(i));
+        }
+        return h;
+    }
+
+    private static long mixObject(long h, GameObject object) {
+        h = mix(h, Double.doubleToLongBits(object.getPosition().getX()));
+        h = mix(h, Double.doubleToLongBits(object.getPosition().getY()));
+        h = mix(h, Double.doubleToLongBits(object.getVelocity().getX()));
+        h = mix(h, Double.doubleToLongBits(object.getVelocity().getY()));
+        return mix(h, object.isActive() ? 1 : 0);
+    }
+
+    private static long mix(long h, long value) {
+        h ^= value;
+        h *= 0x100000001B3L;
+        return h ^ (h >>> 29);
+    }
+
+    /**
+     * Soldier count from which soldiers are updated in parallel
+     * (1 forces the parallel path, Integer.MAX_VALUE disables it)
+     */
+    public void setParallelThreshold(int parallelThreshold) {
+        this.parallelThreshold = Math.max(1, parallelThreshold);
     }
 
     public void togglePause() {
@@ -451,11 +778,36 @@ public class GameController {
     public List<Soldier> getSoldiers() { return soldiers; }
     public Boss getBoss() { return boss; }
     public int getBossStage() { return bossStage; }
-    public List<Explosion> getExplosions() { return explosions; }
+    public EntityWorld getWorld() { return world; }
     public boolean isPaused() { return paused; }
 
+    /**
+     * Live game objects (player, soldiers, boss, ECS entities), excluding bullets
+     */
+    public int getEntityCount() {
+        return (player != null ? 1 : 0) + soldiers.size() + (boss != null ? 1 : 0) + world.getCount();
+    }
+
+    /**
+     * Bullets from every owner plus the structure-of-arrays BulletSystem
+     */
+    public int getBulletCount() {
+        int count = BulletSystem.getInstance().getCount();
+        if (player != null) count += player.getBullets().size();
+        for (int i = 0; i < soldiers.size(); i++) {
+            count += soldiers.get(i).getBulletCount();
+        }
+        if (boss != null) count += boss.getBulletCount();
+        return count;
+    }
+
     public int getEnemiesRemaining() {
-        return waveSpawnQueue.size() + soldiers.size();
+        if (stage == null) return soldiers.size();
+        int remaining = pendingSpawns() + soldiers.size();
+        for (int i = waveIndex + 1; i < stage.getWaves().size(); i++) {
+            remaining += stage.getWaves().get(i).getSpawns().size();
+        }
+        return remaining;
     }
 
     public int getCurrentWave() {
@@ -463,10 +815,13 @@ public class GameController {
     }
 
     public int getTotalWaves() {
-        if (currentState == GameState.STAGE_1_WAVES) return 2;
-        if (currentState == GameState.STAGE_2_WAVES) return 2;
-        if (currentState == GameState.STAGE_3_WAVES) return 2;
-        return 0;
+        if (stage == null || currentState != wavesState(bossStage)) return 0;
+        return stage.getWaves().size();
+    }
+
+    /** Definition of the stage being played (null before the first game) */
+    public StageDefinition getStage() {
+        return stage;
     }
 
     public boolean isIntermissionAfterBoss1() {
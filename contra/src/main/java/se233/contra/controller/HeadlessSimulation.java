@@ -0,0 +1,150 @@
+package se233.contra.controller;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import se233.contra.exception.GameException;
+import se233.contra.util.Constants;
+import se233.contra.util.SoundManager;
+import se233.contra.view.SpriteLoader;
+
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * HeadlessSimulation - runs GameController without a window, sprites or sound
+ * Sprites resolve to blank placeholders and sounds to no-ops, so the game logic
+ * can be stepped as fast as the CPU allows (soak tests, balance sweeps, CI).
+ *
+ * Usage: java -cp contra-game.jar se233.contra.controller.HeadlessSimulation [ticks]
+ *        java -cp contra-game.jar se233.contra.controller.HeadlessSimulation --stage stress [ticks]
+ *        java -cp contra-game.jar se233.contra.controller.HeadlessSimulation --replay session.replay
+ */
+public class HeadlessSimulation {
+    private static final Logger logger = LoggerFactory.getLogger(HeadlessSimulation.class);
+
+    private final GameController gameController;
+    private long ticks;
+    private long elapsedNanos;
+
+    public HeadlessSimulation() {
+        initialize();
+        this.gameController = new GameController();
+    }
+
+    /**
+     * Simulation whose random streams all derive from the given seed
+     */
+    public HeadlessSimulation(long seed) {
+        initialize();
+        this.gameController = new GameController(seed);
+    }
+
+    /**
+     * Switch SpriteLoader and SoundManager to their no-op stand-ins
+     */
+    public static void initialize() {
+        SpriteLoader.initializeHeadless();
+        SoundManager.getInstance().initializeHeadless();
+    }
+
+    /**
+     * Start a new game (same as pressing ENTER on the menu)
+     */
+    public void startGame() {
+        gameController.startGame();
+    }
+
+    /**
+     * Advance the simulation by a number of fixed steps
+     * @return number of ticks actually run
+     */
+    public long run(long tickCount) {
+        long start = System.nanoTime();
+        for (long i = 0; i < tickCount; i++) {
+            gameController.update(Constants.FIXED_TIME_STEP);
+        }
+        elapsedNanos += System.nanoTime() - start;
+        ticks += tickCount;
+        return tickCount;
+    }
+
+    /**
+     * Re-run a recorded session as fast as possible, starting from the menu
+     * exactly as it was recorded (use a simulation built with the replay's seed)
+     * @return state checksum after the last tick; equals replay.getFinalChecksum()
+     *         when the run was reproduced bit-for-bit
+     */
+    public long replay(Replay replay) {
+        if (gameController.getTick() != 0 || gameController.getSeed() != replay.getSeed()) {
+            throw new GameException("Replay needs a fresh simulation with seed " + replay.getSeed(),
+                    GameException.ErrorType.REPLAY_ERROR);
+        }
+
+        InputHandler input = InputHandler.getInstance();
+        input.reset();
+
+        long start = System.nanoTime();
+        int tickCount = replay.getTickCount();
+        for (int i = 0; i < tickCount; i++) {
+            input.applyKeyMask(replay.getMask(i));
+            gameController.update(replay.getStep());
+        }
+        elapsedNanos += System.nanoTime() - start;
+        ticks += tickCount;
+        input.reset();
+
+        return gameController.getStateChecksum();
+    }
+
+    public GameController getGameController() { return gameController; }
+    public long getTicks() { return ticks; }
+
+    /** Simulated game time in seconds */
+    public double getSimulatedSeconds() {
+        return ticks * Constants.FIXED_TIME_STEP;
+    }
+
+    public double getTicksPerSecond() {
+        return elapsedNanos == 0 ? 0 : ticks / (elapsedNanos / 1_000_000_000.0);
+    }
+
+    public static void main(String[] args) {
+        if (args.length == 2 && args[0].equals("--replay")) {
+            Replay replay = Replay.read(Path.of(args[1]));
+            HeadlessSimulation simulation = new HeadlessSimulation(replay.getSeed());
+            long checksum = simulation.replay(replay);
+            boolean match = checksum == replay.getFinalChecksum();
+            logger.info("Replay {}: {} ticks at {} ticks/s, checksum {} ({})",
+                    args[1], simulation.getTicks(),
+                    String.format("%.0f", simulation.getTicksPerSecond()),
+                    Long.toHexString(checksum), match ? "MATCH" : "MISMATCH");
+            if (!match) {
+                System.exit(1);
+            }
+            return;
+        }
+
+        String stageName = null;
+        if (args.length >= 2 && args[0].equals("--stage")) {
+            stageName = args[1];
+            args = Arrays.copyOfRange(args, 2, args.length);
+        }
+        long tickCount = args.length > 0 ? Long.parseLong(args[0]) : 100_000;
+
+        HeadlessSimulation simulation = new HeadlessSimulation();
+        if (stageName != null) {
+            simulation.getGameController().startStage(stageName);
+        } else {
+            simulation.startGame();
+        }
+        simulation.run(tickCount);
+
+        GameController game = simulation.getGameController();
+        logger.info("Headless run: {} ticks ({} s game time) at {} ticks/s, state={}, score={}",
+                simulation.getTicks(),
+                String.format("%.1f", simulation.getSimulatedSeconds()),
+                String.format("%.0f", simulation.getTicksPerSecond()),
+                game.getCurrentState(),
+                game.getPlayer() != null ? game.getPlayer().getScore() : 0);
+    }
+}
@@ -3,24 +3,51 @@ package se233.contra.controller;
 import javafx.scene.input.KeyCode;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import se233.contra.util.Constants;
 
-import java.util.HashMap;
-import java.util.HashSet;
-import java.util.Map;
-import java.util.Set;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
 
+/**
+ * InputHandler - Singleton keyboard state for the simulation
+ * Key state is kept in long bitsets indexed by KeyCode.ordinal(), so queries
+ * are a shift and a mask with no boxing or hashing.
+ *
+ * keyPressed()/keyReleased() (the producer, normally the FX thread) only push
+ * an event into a lock-free single-producer/single-consumer ring. The
+ * simulation (the consumer) applies them all at the start of a tick with
+ * poll(), so input can later be sampled off the FX thread and a tick never
+ * sees the keys change halfway through. A press is latched until the next
+ * update(), so a key tapped and released between two ticks still counts as
+ * pressed for one tick.
+ */
 public class InputHandler {
     private static final Logger logger = LoggerFactory.getLogger(InputHandler.class);
     private static InputHandler instance;
 
-    private final Set<KeyCode> pressedKeys;
-    private final Map<KeyCode, Boolean> justPressedKeys;
-    private final Map<KeyCode, Boolean> previousFrameKeys;
+    // Keys the simulation reads; bit i of a key mask = TRACKED_KEYS[i] held (see Replay)
+    public static final KeyCode[] TRACKED_KEYS = {
+            Constants.KEY_LEFT, Constants.KEY_RIGHT, Constants.KEY_UP, Constants.KEY_DOWN,
+            Constants.KEY_JUMP, Constants.KEY_SHOOT, Constants.KEY_PAUSE, Constants.KEY_RESUME,
+            Constants.KEY_RESTART, KeyCode.ENTER, KeyCode.A, KeyCode.S
+    };
+
+    private static final int WORDS = (KeyCode.values().length + 63) >>> 6;
+
+    // Event ring: ordinal << 1 | 1 for press, | 0 for release. Size is a power of two.
+    private static final int RING_SIZE = 256;
+    private static final int RING_MASK = RING_SIZE - 1;
+    private final int[] ring = new int[RING_SIZE];
+    private final AtomicLong writeIndex = new AtomicLong(); // next slot the producer fills
+    private final AtomicLong readIndex = new AtomicLong();  // next slot the consumer reads
+    private final AtomicLong droppedEvents = new AtomicLong();
+
+    // Consumer-side state
+    private final long[] held = new long[WORDS];      // keys physically down after the last poll()
+    private final long[] tapped = new long[WORDS];    // pressed since the last update() (latched)
+    private final long[] previous = new long[WORDS];  // keys down during the previous tick
 
     private InputHandler() {
-        pressedKeys = new HashSet<>();
-        justPressedKeys = new HashMap<>();
-        previousFrameKeys = new HashMap<>();
     }
 
     public static InputHandler getInstance() {
@@ -30,45 +57,125 @@ public class InputHandler {
         return instance;
     }
 
+    // ==================== Producer (FX thread) ====================
+
     public void keyPressed(KeyCode key) {
-        if (!pressedKeys.contains(key)) {
-            pressedKeys.add(key);
-            justPressedKeys.put(key, true);
-            logger.trace("Key pressed: {}", key);
-        }
+        offer(key.ordinal() << 1 | 1);
+        logger.trace("Key pressed: {}", key);
     }
 
     public void keyReleased(KeyCode key) {
-        pressedKeys.remove(key);
-        justPressedKeys.put(key, false);
+        offer(key.ordinal() << 1);
         logger.trace("Key released: {}", key);
     }
 
+    /**
+     * Publish one event; drops it (and counts the drop) if the consumer is a full ring behind
+     */
+    boolean offer(int event) {
+        long write = writeIndex.get();
+        if (write - readIndex.getAcquire() >= RING_SIZE) {
+            droppedEvents.incrementAndGet();
+            return false;
+        }
+        ring[(int) (write & RING_MASK)] = event;
+        writeIndex.setRelease(write + 1);
+        return true;
+    }
+
+    // ==================== Consumer (simulation) ====================
+
+    /**
+     * Apply every queued key event; call once at the start of each tick
+     */
+    public void poll() {
+        long read = readIndex.get();
+        long write = writeIndex.getAcquire();
+        for (; read < write; read++) {
+            int event = ring[(int) (read & RING_MASK)];
+            int ordinal = event >>> 1;
+            int word = ordinal >>> 6;
+            long bit = 1L << ordinal;
+            if ((event & 1) != 0) {
+                if ((held[word] & bit) == 0) {
+                    tapped[word] |= bit; // new press (not auto-repeat): latch it
+                }
+                held[word] |= bit;
+            } else {
+                held[word] &= ~bit;
+            }
+        }
+        readIndex.setRelease(read);
+    }
+
+    private boolean isDown(int ordinal) {
+        int word = ordinal >>> 6;
+        return ((held[word] | tapped[word]) & (1L << ordinal)) != 0;
+    }
+
     public boolean isKeyPressed(KeyCode key) {
-        return pressedKeys.contains(key);
+        return isDown(key.ordinal());
     }
 
     public boolean isKeyJustPressed(KeyCode key) {
-        boolean currentlyPressed = pressedKeys.contains(key);
-        boolean wasPressed = previousFrameKeys.getOrDefault(key, false);
-        return currentlyPressed && !wasPressed;
+        int ordinal = key.ordinal();
+        return isDown(ordinal) && (previous[ordinal >>> 6] & (1L << ordinal)) == 0;
     }
 
+    /**
+     * End of tick: remember what was down and release the tap latches
+     */
     public void update() {
-        // Update previous frame state
-        previousFrameKeys.clear();
-        for (KeyCode key : pressedKeys) {
-            previousFrameKeys.put(key, true);
+        for (int i = 0; i < WORDS; i++) {
+            previous[i] = held[i] | tapped[i];
+            tapped[i] = 0;
+        }
+    }
+
+    /**
+     * Held game keys as a bitmask over TRACKED_KEYS
+     */
+    public int getKeyMask() {
+        int mask = 0;
+        for (int i = 0; i < TRACKED_KEYS.length; i++) {
+            if (isDown(TRACKED_KEYS[i].ordinal())) {
+                mask |= 1 << i;
+            }
         }
+        return mask;
+    }
+
+    /**
+     * Make exactly the keys in the mask held (replay); previous-frame state is
+     * left alone so isKeyJustPressed() behaves as it did when recorded
+     */
+    public void applyKeyMask(int mask) {
+        for (int i = 0; i < TRACKED_KEYS.length; i++) {
+            int ordinal = TRACKED_KEYS[i].ordinal();
+            int word = ordinal >>> 6;
+            long bit = 1L << ordinal;
+            tapped[word] &= ~bit;
+            if ((mask & (1 << i)) != 0) {
+                held[word] |= bit;
+            } else {
+                held[word] &= ~bit;
+            }
+        }
+    }
 
-        // Clear just pressed flags
-        justPressedKeys.clear();
+    /** Events lost because the ring was full */
+    public long getDroppedEvents() {
+        return droppedEvents.get();
     }
 
+    /**
+     * Forget all key state and discard queued events (consumer side)
+     */
     public void reset() {
-        pressedKeys.clear();
-        justPressedKeys.clear();
-        previousFrameKeys.clear();
+        readIndex.setRelease(writeIndex.getAcquire());
+        Arrays.fill(held, 0);
+        Arrays.fill(tapped, 0);
+        Arrays.fill(previous, 0);
         logger.debug("InputHandler reset");
     }
-}
\ No newline at end of file
+}
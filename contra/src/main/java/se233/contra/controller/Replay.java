@@ -0,0 +1,158 @@
+package se233.contra.controller;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import se233.contra.exception.GameException;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * Replay - master seed plus one input key mask per simulation tick
+ * Recorded by GameController from its first tick; played back by
+ * HeadlessSimulation.replay(), which reproduces the run exactly.
+ *
+ * File layout (big-endian):
+ *   int magic "CRPL", short version, long seed, double step,
+ *   int ticks, long final checksum, int runs,
+ *   then per run: short key mask, varint run length
+ * Held keys change rarely, so run-length encoding keeps a minute of play
+ * at a few hundred bytes.
+ */
+public class Replay {
+    private static final Logger logger = LoggerFactory.getLogger(Replay.class);
+
+    private static final int MAGIC = 0x4352504C; // "CRPL"
+    private static final short VERSION = 1;
+
+    private final long seed;
+    private final double step;
+    private short[] masks;
+    private int ticks;
+    private long finalChecksum;
+
+    public Replay(long seed, double step) {
+        this.seed = seed;
+        this.step = step;
+        this.masks = new short[1024];
+    }
+
+    /**
+     * Append the key mask seen by the next tick
+     */
+    public void addTick(int mask) {
+        if (ticks == masks.length) {
+            masks = Arrays.copyOf(masks, masks.length * 2);
+        }
+        masks[ticks++] = (short) mask;
+    }
+
+    public int getMask(int tick) {
+        return masks[tick] & 0xFFFF;
+    }
+
+    public int getTickCount() { return ticks; }
+    public long getSeed() { return seed; }
+    public double getStep() { return step; }
+
+    /** GameController.getStateChecksum() after the last recorded tick */
+    public long getFinalChecksum() { return finalChecksum; }
+    public void setFinalChecksum(long finalChecksum) { this.finalChecksum = finalChecksum; }
+
+    // ==================== File I/O ====================
+
+    public void write(Path file) {
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(file)))) {
+            out.writeInt(MAGIC);
+            out.writeShort(VERSION);
+            out.writeLong(seed);
+            out.writeDouble(step);
+            out.writeInt(ticks);
+            out.writeLong(finalChecksum);
+
+            out.writeInt(countRuns());
+            int i = 0;
+            while (i < ticks) {
+                int run = 1;
+                while (i + run < ticks && masks[i + run] == masks[i]) run++;
+                out.writeShort(masks[i]);
+                writeVarInt(out, run);
+                i += run;
+            }
+            logger.info("Replay saved to {} ({} ticks, seed {})", file, ticks, seed);
+        } catch (IOException e) {
+            throw new GameException("Failed to write replay " + file,
+                    GameException.ErrorType.REPLAY_ERROR, e);
+        }
+    }
+
+    public static Replay read(Path file) {
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC) {
+                throw new GameException("Not a replay file: " + file, GameException.ErrorType.REPLAY_ERROR);
+            }
+            short version = in.readShort();
+            if (version != VERSION) {
+                throw new GameException("Unsupported replay version " + version,
+                        GameException.ErrorType.REPLAY_ERROR);
+            }
+
+            Replay replay = new Replay(in.readLong(), in.readDouble());
+            int ticks = in.readInt();
+            replay.finalChecksum = in.readLong();
+            replay.masks = new short[Math.max(1, ticks)];
+
+            int runs = in.readInt();
+            for (int r = 0; r < runs; r++) {
+                short mask = in.readShort();
+                int run = readVarInt(in);
+                if (replay.ticks + run > ticks) {
+                    throw new GameException("Corrupt replay " + file, GameException.ErrorType.REPLAY_ERROR);
+                }
+                Arrays.fill(replay.masks, replay.ticks, replay.ticks + run, mask);
+                replay.ticks += run;
+            }
+            if (replay.ticks != ticks) {
+                throw new GameException("Truncated replay " + file, GameException.ErrorType.REPLAY_ERROR);
+            }
+            return replay;
+        } catch (IOException e) {
+            throw new GameException("Failed to read replay " + file,
+                    GameException.ErrorType.REPLAY_ERROR, e);
+        }
+    }
+
+    private int countRuns() {
+        int runs = 0;
+        for (int i = 0; i < ticks; i++) {
+            if (i == 0 || masks[i] != masks[i - 1]) runs++;
+        }
+        return runs;
+    }
+
+    private static void writeVarInt(DataOutputStream out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    private static int readVarInt(DataInputStream in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) return value;
+        }
+        throw new IOException("Malformed varint");
+    }
+}
@@ -0,0 +1,140 @@
+package se233.contra.controller;
+
+import se233.contra.util.Rectangle;
+
+import java.util.Arrays;
+
+/**
+ * Uniform spatial hash grid used as the collision broad phase
+ * Objects are inserted by integer id (usually their index in the owner's list)
+ * together with their bounds; query() returns the ids whose cells overlap a
+ * rectangle so the narrow phase (Rectangle.intersects) only runs on nearby pairs.
+ *
+ * The grid covers a fixed world area. Bounds outside of it are clamped to the
+ * edge cells, so off-screen objects are still found, just less selectively.
+ * All storage is reused between ticks: clear() + insert() + query() do not
+ * allocate once the arrays have grown to the working set.
+ */
+public class SpatialGrid {
+    private final double cellSize;
+    private final int cols;
+    private final int rows;
+
+    // cellHead[cell] -> first entry of that cell (-1 = empty), entries form linked lists
+    private final int[] cellHead;
+    private int[] entryNext;
+    private int[] entryId;
+    private int entryCount;
+
+    // De-duplicates ids that span several cells within one query
+    private int[] idStamp;
+    private int stamp;
+
+    private int[] results;
+    private int resultCount;
+
+    public SpatialGrid(double worldWidth, double worldHeight, double cellSize) {
+        this.cellSize = cellSize;
+        this.cols = Math.max(1, (int) Math.ceil(worldWidth / cellSize));
+        this.rows = Math.max(1, (int) Math.ceil(worldHeight / cellSize));
+        this.cellHead = new int[cols * rows];
+        this.entryNext = new int[256];
+        this.entryId = new int[256];
+        this.idStamp = new int[256];
+        this.results = new int[64];
+        clear();
+    }
+
+    /**
+     * Remove every entry (call once per tick before re-inserting)
+     */
+    public void clear() {
+        Arrays.fill(cellHead, -1);
+        entryCount = 0;
+    }
+
+    /**
+     * Insert an object into every cell its bounds touch
+     * @param id non-negative id returned by query()
+     */
+    public void insert(int id, Rectangle bounds) {
+        if (id >= idStamp.length) {
+            idStamp = Arrays.copyOf(idStamp, Math.max(id + 1, idStamp.length * 2));
+        }
+
+        int minCol = col(bounds.getLeft());
+        int maxCol = col(bounds.getRight());
+        int minRow = row(bounds.getTop());
+        int maxRow = row(bounds.getBottom());
+
+        for (int r = minRow; r <= maxRow; r++) {
+            for (int c = minCol; c <= maxCol; c++) {
+                if (entryCount == entryId.length) {
+                    entryId = Arrays.copyOf(entryId, entryCount * 2);
+                    entryNext = Arrays.copyOf(entryNext, entryCount * 2);
+                }
+                int cell = r * cols + c;
+                entryId[entryCount] = id;
+                entryNext[entryCount] = cellHead[cell];
+                cellHead[cell] = entryCount;
+                entryCount++;
+            }
+        }
+    }
+
+    /**
+     * Collect the ids of every object sharing at least one cell with the bounds.
+     * Candidates still need a narrow-phase intersects() check.
+     * @return number of candidates, read them back with {@link #getResult(int)}
+     */
+    public int query(Rectangle bounds) {
+        resultCount = 0;
+        if (++stamp == 0) {
+            // Stamp wrapped around: forget every previous mark
+            Arrays.fill(idStamp, 0);
+            stamp = 1;
+        }
+
+        int minCol = col(bounds.getLeft());
+        int maxCol = col(bounds.getRight());
+        int minRow = row(bounds.getTop());
+        int maxRow = row(bounds.getBottom());
+
+        for (int r = minRow; r <= maxRow; r++) {
+            for (int c = minCol; c <= maxCol; c++) {
+                for (int e = cellHead[r * cols + c]; e != -1; e = entryNext[e]) {
+                    int id = entryId[e];
+                    if (idStamp[id] == stamp) continue;
+                    idStamp[id] = stamp;
+
+                    if (resultCount == results.length) {
+                        results = Arrays.copyOf(results, resultCount * 2);
+                    }
+                    results[resultCount++] = id;
+                }
+            }
+        }
+        return resultCount;
+    }
+
+    public int getResult(int index) {
+        return results[index];
+    }
+
+    public int getEntryCount() {
+        return entryCount;
+    }
+
+    public int getColumns() { return cols; }
+    public int getRows() { return rows; }
+
+    private int col(double x) {
+        int c = (int) Math.floor(x / cellSize);
+        return c < 0 ? 0 : (c >= cols ? cols - 1 : c);
+    }
+
+    private int row(double y) {
+        int r = (int) Math.floor(y / cellSize);
+        return r < 0 ? 0 : (r >= rows ? rows - 1 : r);
+    }
+}
@@ -0,0 +1,278 @@
+package se233.contra.controller;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import se233.contra.exception.GameException;
+import se233.contra.model.StageDefinition;
+import se233.contra.model.StageDefinition.BossDefinition;
+import se233.contra.model.StageDefinition.BossType;
+import se233.contra.model.StageDefinition.EnemyType;
+import se233.contra.model.StageDefinition.Spawn;
+import se233.contra.model.StageDefinition.WaveDefinition;
+import se233.contra.util.Constants;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * StageLoader - Singleton that reads .stage files from /stages on the classpath
+ * Definitions are cached by name. prefetch() parses a stage on a background
+ * daemon thread, so GameController can ask for the next stage while the
+ * current one is being played and get() it later without touching the disk.
+ *
+ * Format: one directive per line, words separated by spaces, '#' starts a comment.
+ *   stage <number> [next=<name>]
+ *   wave [delay=<s>]
+ *   spawn <soldier|soldier2> [count=<n>] [interval=<s>] [at=<s>] [x=<px>] [y=<px>]
+ *   boss <boss1|boss2|boss3> [delay=<s>] [x=<px>] [y=<px>]
+ * A spawn line with count=n expands to n enemies, the first at "at" seconds
+ * into the wave and then one every "interval" seconds; enemies enter just off
+ * the right edge on the ground unless x/y are given. A spawn's y is where the
+ * soldier's feet are: above the ground it drops onto it.
+ */
+public class StageLoader {
+    private static final Logger logger = LoggerFactory.getLogger(StageLoader.class);
+    private static StageLoader instance;
+
+    private static final String STAGE_DIR = "/stages/";
+    private static final String EXTENSION = ".stage";
+    private static final double DEFAULT_SPAWN_X = Constants.SCREEN_WIDTH + 50;
+    private static final double DEFAULT_DELAY = 2.0;
+
+    private final Map<String, CompletableFuture<StageDefinition>> cache = new ConcurrentHashMap<>();
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "stage-loader");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private StageLoader() {
+    }
+
+    public static synchronized StageLoader getInstance() {
+        if (instance == null) {
+            instance = new StageLoader();
+        }
+        return instance;
+    }
+
+    /**
+     * Stage name for a stage slot: 1 -> "stage1"
+     */
+    public static String nameOf(int stage) {
+        return "stage" + stage;
+    }
+
+    /**
+     * Start parsing a stage in the background (no-op if already cached or loading)
+     */
+    public void prefetch(String name) {
+        cache.computeIfAbsent(name, key -> CompletableFuture.supplyAsync(() -> read(key), executor));
+    }
+
+    /**
+     * The parsed stage, waiting for a prefetch in flight or parsing it on this
+     * thread if nobody asked for it yet
+     */
+    public StageDefinition get(String name) {
+        CompletableFuture<StageDefinition> future = cache.get(name);
+        if (future == null) {
+            future = CompletableFuture.completedFuture(read(name));
+            CompletableFuture<StageDefinition> raced = cache.putIfAbsent(name, future);
+            if (raced != null) future = raced;
+        }
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            cache.remove(name, future); // let a later call retry
+            if (e.getCause() instanceof GameException) {
+                throw (GameException) e.getCause();
+            }
+            throw new GameException("Failed to load stage " + name,
+                    GameException.ErrorType.STAGE_LOAD_ERROR, e.getCause());
+        }
+    }
+
+    public boolean isLoaded(String name) {
+        CompletableFuture<StageDefinition> future = cache.get(name);
+        return future != null && future.isDone() && !future.isCompletedExceptionally();
+    }
+
+    public void clearCache() {
+        cache.clear();
+    }
+
+    private StageDefinition read(String name) {
+        long start = System.nanoTime();
+        try (InputStream in = StageLoader.class.getResourceAsStream(STAGE_DIR + name + EXTENSION)) {
+            if (in == null) {
+                throw new GameException("Stage not found: " + name,
+                        GameException.ErrorType.RESOURCE_NOT_FOUND);
+            }
+            StageDefinition stage = parse(name, new InputStreamReader(in, StandardCharsets.UTF_8));
+            logger.info("Loaded {} in {} µs", stage, (System.nanoTime() - start) / 1000);
+            return stage;
+        } catch (IOException e) {
+            throw new GameException("Failed to read stage " + name,
+                    GameException.ErrorType.STAGE_LOAD_ERROR, e);
+        }
+    }
+
+    // ==================== Parser ====================
+
+    /**
+     * Parse a stage line by line; only the current line is held in memory
+     */
+    public static StageDefinition parse(String name, Reader source) throws IOException {
+        BufferedReader reader = source instanceof BufferedReader
+                ? (BufferedReader) source : new BufferedReader(source);
+
+        int number = 0;
+        String next = null;
+        List<WaveDefinition> waves = new ArrayList<>();
+        BossDefinition boss = null;
+
+        double waveDelay = 0;
+        List<Spawn> waveSpawns = null;
+
+        String[] words = new String[16];
+        String line;
+        int lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            int comment = line.indexOf('#');
+            if (comment >= 0) line = line.substring(0, comment);
+            int count = split(line, words);
+            if (count == 0) continue;
+
+            String where = name + ":" + lineNumber;
+            switch (words[0]) {
+                case "stage":
+                    number = (int) number(where, count > 1 ? words[1] : null, "stage number");
+                    next = option(words, count, "next");
+                    break;
+                case "wave":
+                    if (waveSpawns != null) {
+                        waves.add(endWave(where, waveDelay, waveSpawns));
+                    }
+                    waveDelay = number(where, option(words, count, "delay"), DEFAULT_DELAY);
+                    waveSpawns = new ArrayList<>();
+                    break;
+                case "spawn":
+                    if (waveSpawns == null) {
+                        throw error(where, "spawn outside of a wave");
+                    }
+                    EnemyType type = EnemyType.fromKey(count > 1 ? words[1] : "");
+                    if (type == null) {
+                        throw error(where, "unknown enemy type");
+                    }
+                    int amount = (int) number(where, option(words, count, "count"), 1);
+                    double interval = number(where, option(words, count, "interval"), 0);
+                    double at = number(where, option(words, count, "at"), 0);
+                    double x = number(where, option(words, count, "x"), DEFAULT_SPAWN_X);
+                    double y = number(where, option(words, count, "y"), Constants.GROUND_Y);
+                    if (amount < 1 || interval < 0 || at < 0) {
+                        throw error(where, "count must be positive and times not negative");
+                    }
+                    for (int i = 0; i < amount; i++) {
+                        waveSpawns.add(new Spawn(type, at + i * interval, x, y));
+                    }
+                    break;
+                case "boss":
+                    BossType bossType = BossType.fromKey(count > 1 ? words[1] : "");
+                    if (bossType == null) {
+                        throw error(where, "unknown boss type");
+                    }
+                    boss = new BossDefinition(bossType,
+                            number(where, option(words, count, "x"), bossType.getDefaultX()),
+                            number(where, option(words, count, "y"), bossType.getDefaultY()),
+                            number(where, option(words, count, "delay"), DEFAULT_DELAY));
+                    break;
+                default:
+                    throw error(where, "unknown directive '" + words[0] + "'");
+            }
+        }
+
+        if (waveSpawns != null) {
+            waves.add(endWave(name, waveDelay, waveSpawns));
+        }
+        if (number < 1 || number > 3) {
+            throw error(name, "missing or invalid 'stage <1-3>' line");
+        }
+        if (waves.isEmpty() || boss == null) {
+            throw error(name, "a stage needs at least one wave and a boss");
+        }
+        return new StageDefinition(name, number, next, waves, boss);
+    }
+
+    private static WaveDefinition endWave(String where, double delay, List<Spawn> spawns) {
+        if (spawns.isEmpty()) {
+            throw error(where, "empty wave");
+        }
+        return new WaveDefinition(delay, spawns);
+    }
+
+    /**
+     * Split on spaces/tabs into a reused array; returns the word count
+     */
+    private static int split(String line, String[] words) {
+        int count = 0;
+        int length = line.length();
+        int i = 0;
+        while (i < length && count < words.length) {
+            while (i < length && Character.isWhitespace(line.charAt(i))) i++;
+            if (i == length) break;
+            int start = i;
+            while (i < length && !Character.isWhitespace(line.charAt(i))) i++;
+            words[count++] = line.substring(start, i);
+        }
+        return count;
+    }
+
+    /**
+     * Value of a key=value word after the directive, or null if absent
+     */
+    private static String option(String[] words, int count, String key) {
+        for (int i = 1; i < count; i++) {
+            String word = words[i];
+            if (word.length() > key.length() && word.charAt(key.length()) == '='
+                    && word.startsWith(key)) {
+                return word.substring(key.length() + 1);
+            }
+        }
+        return null;
+    }
+
+    private static double number(String where, String value, double fallback) {
+        if (value == null) return fallback;
+        try {
+            return Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            throw error(where, "not a number: " + value);
+        }
+    }
+
+    private static double number(String where, String value, String what) {
+        if (value == null) {
+            throw error(where, "missing " + what);
+        }
+        return number(where, value, 0);
+    }
+
+    private static GameException error(String where, String message) {
+        return new GameException("Bad stage file " + where + ": " + message,
+                GameException.ErrorType.STAGE_LOAD_ERROR);
+    }
+}
@@ -0,0 +1,42 @@
+package se233.contra.ecs;
+
+/**
+ * AnimationSystem - advances Sprite frames (same timing as GameObject.advanceClip)
+ * One-shot sprites stop on their last frame; those flagged
+ * SPRITE_DESPAWN_WHEN_DONE are removed on the update after that.
+ */
+public class AnimationSystem implements EntitySystem {
+
+    @Override
+    public void update(EntityWorld world, double deltaTime) {
+        int count = world.slotCount();
+        int[] flags = world.spriteFlags;
+        for (int i = 0; i < count; i++) {
+            if ((world.maskAt(i) & EntityWorld.SPRITE) == 0) continue;
+
+            if ((flags[i] & EntityWorld.SPRITE_FINISHED) != 0) {
+                if ((flags[i] & EntityWorld.SPRITE_DESPAWN_WHEN_DONE) != 0) {
+                    world.despawnLater(world.idAt(i));
+                }
+                continue;
+            }
+
+            double time = world.frameTime[i] + deltaTime;
+            if (time >= world.frameDuration[i]) {
+                time -= world.frameDuration[i];
+                int frame = world.frameIndex[i] + 1;
+                int frameCount = world.frames[i].size();
+                if (frame >= frameCount) {
+                    if ((flags[i] & EntityWorld.SPRITE_LOOP) != 0) {
+                        frame = 0;
+                    } else {
+                        frame = frameCount - 1;
+                        flags[i] |= EntityWorld.SPRITE_FINISHED;
+                    }
+                }
+                world.frameIndex[i] = frame;
+            }
+            world.frameTime[i] = time;
+        }
+    }
+}
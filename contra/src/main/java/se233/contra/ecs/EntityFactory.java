@@ -0,0 +1,65 @@
+package se233.contra.ecs;
+
+import se233.contra.util.Constants;
+import se233.contra.view.SpriteLoader;
+
+/**
+ * EntityFactory - component recipes for the entities that live in an EntityWorld
+ */
+public final class EntityFactory {
+
+    private EntityFactory() {
+    }
+
+    /**
+     * One-shot explosion (replaces the old Explosion GameObject): plays the
+     * shared explosion frames once and removes itself
+     */
+    public static int createExplosion(EntityWorld world, double x, double y) {
+        return createExplosion(world, x, y, Constants.EXPLOSION_ANIMATION_SPEED, 0);
+    }
+
+    /**
+     * Explosion with its own frame time that stays hidden for delay seconds
+     * (ParticleSystem presets: quick bullet impacts, staggered boss death)
+     */
+    public static int createExplosion(EntityWorld world, double x, double y,
+                                      double secondsPerFrame, double delay) {
+        int id = world.spawn();
+        world.setTransform(id, x, y)
+                .setCollider(id, Constants.EXPLOSION_SIZE, Constants.EXPLOSION_SIZE)
+                .setSprite(id, SpriteLoader.getExplosion(), secondsPerFrame,
+                        EntityWorld.SPRITE_DESPAWN_WHEN_DONE)
+                .delaySprite(id, delay);
+        return id;
+    }
+
+    /**
+     * Foot soldier walking left (see SoldierAiSystem). One whose feet are above
+     * the ground falls onto it; below the ground means standing on it.
+     * @param footY y of the soldier's feet (Constants.GROUND_Y to start on the ground)
+     * @param seed start of its private random stream for patrol targets
+     */
+    public static int createSoldier(EntityWorld world, double x, double footY, double width, double height,
+                                    int health, double speed, double targetX, double shootTimer, long seed) {
+        double feet = Math.min(footY, Constants.GROUND_Y);
+        int id = world.spawn();
+        world.setTransform(id, x, feet - height)
+                .setVelocity(id, -speed, 0)
+                .setCollider(id, width, height)
+                .setHealth(id, health)
+                .setAi(id, SoldierAiSystem.TYPE)
+                .setPatrol(id, speed, targetX, shootTimer, seed)
+                // Soldier sprites face LEFT: moving left and facing left means AI_FACING_RIGHT
+                .setAiFlag(id, EntityWorld.AI_FACING_RIGHT, true)
+                .setAiFlag(id, EntityWorld.AI_ON_GROUND, feet >= Constants.GROUND_Y);
+        return id;
+    }
+
+    /**
+     * Systems that move soldiers, in the order they must run
+     */
+    public static EntitySystem[] soldierSystems() {
+        return new EntitySystem[] { new SoldierAiSystem(), new MovementSystem(), new SoldierGroundSystem() };
+    }
+}
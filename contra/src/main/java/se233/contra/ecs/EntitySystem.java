@@ -0,0 +1,11 @@
+package se233.contra.ecs;
+
+/**
+ * EntitySystem - one pass of game logic over the entities that have the
+ * components it needs. Systems hold no per-entity state; it all lives in the
+ * EntityWorld columns.
+ */
+public interface EntitySystem {
+
+    void update(EntityWorld world, double deltaTime);
+}
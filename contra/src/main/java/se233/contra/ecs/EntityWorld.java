@@ -0,0 +1,462 @@
+package se233.contra.ecs;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import se233.contra.view.SpriteFrame;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * EntityWorld - dense component storage for entity-component-system entities
+ * Every live entity occupies one slot in [0, count) of parallel component
+ * columns, and a bit mask says which components it has. Systems walk the
+ * columns linearly, so an update is a tight loop over primitive arrays with
+ * no virtual calls or pointer chasing, and splitting a system's range across
+ * threads is straightforward.
+ *
+ * Entities are referred to by id. Despawning swap-removes the slot (the last
+ * entity moves into it), so slot indices are only stable within one system
+ * pass; ids stay valid until the entity is despawned. Ids are reused.
+ */
+public class EntityWorld {
+    private static final Logger logger = LoggerFactory.getLogger(EntityWorld.class);
+
+    // Component bits
+    public static final int TRANSFORM = 1;
+    public static final int VELOCITY = 1 << 1;
+    public static final int COLLIDER = 1 << 2;
+    public static final int HEALTH = 1 << 3;
+    public static final int SPRITE = 1 << 4;
+    public static final int AI = 1 << 5;
+
+    // Sprite flag bits
+    public static final int SPRITE_LOOP = 1;
+    public static final int SPRITE_MIRRORED = 1 << 1;
+    public static final int SPRITE_DESPAWN_WHEN_DONE = 1 << 2;
+    static final int SPRITE_FINISHED = 1 << 3;
+
+    // AI flag bits
+    public static final int AI_FACING_RIGHT = 1;
+    public static final int AI_ON_GROUND = 1 << 1;
+    public static final int AI_FIRE = 1 << 2;       // the AI wants its owner to shoot this tick
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    // Slot <-> id
+    private int[] idOfSlot;
+    private int[] slotOfId;     // -1 when the id is free
+    private int[] freeIds;
+    private int freeCount;
+    private int nextId;
+    private int count;
+
+    private int[] mask;
+
+    // Transform
+    double[] x;
+    double[] y;
+    double[] previousX;
+    double[] previousY;
+    // Velocity
+    double[] vx;
+    double[] vy;
+    // Collider
+    double[] width;
+    double[] height;
+    // Health
+    int[] health;
+    int[] maxHealth;
+    // Sprite: shared frame list, seconds per frame, clock, frame index, flags
+    List<SpriteFrame>[] frames;
+    double[] frameDuration;
+    double[] frameTime;
+    int[] frameIndex;
+    int[] spriteFlags;
+    // AI: behaviour id and state (both owned by whichever system reads them),
+    // a timer and a cooldown, patrol speed and target, a private random stream, flags
+    int[] aiType;
+    int[] aiState;
+    double[] aiTimer;
+    double[] aiCooldown;
+    double[] aiSpeed;
+    double[] aiTarget;
+    long[] aiSeed;
+    int[] aiFlags;
+
+    // Despawns requested while a system is iterating
+    private int[] pendingDespawn = new int[16];
+    private int pendingCount;
+
+    public EntityWorld() {
+        this(INITIAL_CAPACITY);
+    }
+
+    /**
+     * @param capacity initial slots (the world still grows past it)
+     */
+    public EntityWorld(int capacity) {
+        allocate(Math.max(1, capacity));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void allocate(int capacity) {
+        idOfSlot = new int[capacity];
+        slotOfId = new int[capacity];
+        Arrays.fill(slotOfId, -1);
+        freeIds = new int[capacity];
+        mask = new int[capacity];
+        x = new double[capacity];
+        y = new double[capacity];
+        previousX = new double[capacity];
+        previousY = new double[capacity];
+        vx = new double[capacity];
+        vy = new double[capacity];
+        width = new double[capacity];
+        height = new double[capacity];
+        health = new int[capacity];
+        maxHealth = new int[capacity];
+        frames = (List<SpriteFrame>[]) new List<?>[capacity];
+        frameDuration = new double[capacity];
+        frameTime = new double[capacity];
+        frameIndex = new int[capacity];
+        spriteFlags = new int[capacity];
+        aiType = new int[capacity];
+        aiState = new int[capacity];
+        aiTimer = new double[capacity];
+        aiCooldown = new double[capacity];
+        aiSpeed = new double[capacity];
+        aiTarget = new double[capacity];
+        aiSeed = new long[capacity];
+        aiFlags = new int[capacity];
+    }
+
+    private void grow() {
+        int capacity = idOfSlot.length * 2;
+        int oldCapacity = slotOfId.length;
+        idOfSlot = Arrays.copyOf(idOfSlot, capacity);
+        slotOfId = Arrays.copyOf(slotOfId, capacity);
+        Arrays.fill(slotOfId, oldCapacity, capacity, -1);
+        freeIds = Arrays.copyOf(freeIds, capacity);
+        mask = Arrays.copyOf(mask, capacity);
+        x = Arrays.copyOf(x, capacity);
+        y = Arrays.copyOf(y, capacity);
+        previousX = Arrays.copyOf(previousX, capacity);
+        previousY = Arrays.copyOf(previousY, capacity);
+        vx = Arrays.copyOf(vx, capacity);
+        vy = Arrays.copyOf(vy, capacity);
+        width = Arrays.copyOf(width, capacity);
+        height = Arrays.copyOf(height, capacity);
+        health = Arrays.copyOf(health, capacity);
+        maxHealth = Arrays.copyOf(maxHealth, capacity);
+        frames = Arrays.copyOf(frames, capacity);
+        frameDuration = Arrays.copyOf(frameDuration, capacity);
+        frameTime = Arrays.copyOf(frameTime, capacity);
+        frameIndex = Arrays.copyOf(frameIndex, capacity);
+        spriteFlags = Arrays.copyOf(spriteFlags, capacity);
+        aiType = Arrays.copyOf(aiType, capacity);
+        aiState = Arrays.copyOf(aiState, capacity);
+        aiTimer = Arrays.copyOf(aiTimer, capacity);
+        aiCooldown = Arrays.copyOf(aiCooldown, capacity);
+        aiSpeed = Arrays.copyOf(aiSpeed, capacity);
+        aiTarget = Arrays.copyOf(aiTarget, capacity);
+        aiSeed = Arrays.copyOf(aiSeed, capacity);
+        aiFlags = Arrays.copyOf(aiFlags, capacity);
+        logger.debug("EntityWorld grown to {} slots", capacity);
+    }
+
+    // ==================== Entities ====================
+
+    /**
+     * Create an entity with no components
+     * @return its id
+     */
+    public int spawn() {
+        if (count == idOfSlot.length) {
+            grow();
+        }
+        int id = freeCount > 0 ? freeIds[--freeCount] : nextId++;
+        int slot = count++;
+        idOfSlot[slot] = id;
+        slotOfId[id] = slot;
+        mask[slot] = 0;
+        return id;
+    }
+
+    /**
+     * Remove an entity now. Do not call while iterating slots; use
+     * despawnLater() from inside a system instead.
+     */
+    public void despawn(int id) {
+        int slot = slotOf(id);
+        int last = --count;
+        if (slot != last) {
+            moveSlot(last, slot);
+        }
+        frames[last] = null;
+        slotOfId[id] = -1;
+        freeIds[freeCount++] = id;
+    }
+
+    /**
+     * Queue an entity for removal at the next flushDespawns()
+     */
+    public void despawnLater(int id) {
+        if (pendingCount == pendingDespawn.length) {
+            pendingDespawn = Arrays.copyOf(pendingDespawn, pendingCount * 2);
+        }
+        pendingDespawn[pendingCount++] = id;
+    }
+
+    public void flushDespawns() {
+        for (int i = 0; i < pendingCount; i++) {
+            if (isAlive(pendingDespawn[i])) {
+                despawn(pendingDespawn[i]);
+            }
+        }
+        pendingCount = 0;
+    }
+
+    private void moveSlot(int from, int to) {
+        int id = idOfSlot[from];
+        idOfSlot[to] = id;
+        slotOfId[id] = to;
+        mask[to] = mask[from];
+        x[to] = x[from];
+        y[to] = y[from];
+        previousX[to] = previousX[from];
+        previousY[to] = previousY[from];
+        vx[to] = vx[from];
+        vy[to] = vy[from];
+        width[to] = width[from];
+        height[to] = height[from];
+        health[to] = health[from];
+        maxHealth[to] = maxHealth[from];
+        frames[to] = frames[from];
+        frameDuration[to] = frameDuration[from];
+        frameTime[to] = frameTime[from];
+        frameIndex[to] = frameIndex[from];
+        spriteFlags[to] = spriteFlags[from];
+        aiType[to] = aiType[from];
+        aiState[to] = aiState[from];
+        aiTimer[to] = aiTimer[from];
+        aiCooldown[to] = aiCooldown[from];
+        aiSpeed[to] = aiSpeed[from];
+        aiTarget[to] = aiTarget[from];
+        aiSeed[to] = aiSeed[from];
+        aiFlags[to] = aiFlags[from];
+    }
+
+    public boolean isAlive(int id) {
+        return id >= 0 && id < slotOfId.length && slotOfId[id] >= 0;
+    }
+
+    private int slotOf(int id) {
+        if (!isAlive(id)) {
+            throw new IllegalArgumentException("No live entity " + id);
+        }
+        return slotOfId[id];
+    }
+
+    /** Drop every entity; capacity is kept */
+    public void clear() {
+        Arrays.fill(frames, 0, count, null);
+        Arrays.fill(slotOfId, -1);
+        count = 0;
+        freeCount = 0;
+        nextId = 0;
+        pendingCount = 0;
+    }
+
+    // ==================== Components ====================
+
+    public EntityWorld setTransform(int id, double posX, double posY) {
+        int slot = slotOf(id);
+        mask[slot] |= TRANSFORM;
+        x[slot] = posX;
+        y[slot] = posY;
+        previousX[slot] = posX;
+        previousY[slot] = posY;
+        return this;
+    }
+
+    public EntityWorld setVelocity(int id, double velocityX, double velocityY) {
+        int slot = slotOf(id);
+        mask[slot] |= VELOCITY;
+        vx[slot] = velocityX;
+        vy[slot] = velocityY;
+        return this;
+    }
+
+    public EntityWorld setCollider(int id, double w, double h) {
+        int slot = slotOf(id);
+        mask[slot] |= COLLIDER;
+        width[slot] = w;
+        height[slot] = h;
+        return this;
+    }
+
+    public EntityWorld setHealth(int id, int hp) {
+        int slot = slotOf(id);
+        mask[slot] |= HEALTH;
+        health[slot] = hp;
+        maxHealth[slot] = hp;
+        return this;
+    }
+
+    /**
+     * @param spriteFrames shared frame list (not copied)
+     * @param flags SPRITE_LOOP, SPRITE_MIRRORED, SPRITE_DESPAWN_WHEN_DONE
+     */
+    public EntityWorld setSprite(int id, List<SpriteFrame> spriteFrames, double secondsPerFrame, int flags) {
+        int slot = slotOf(id);
+        mask[slot] |= SPRITE;
+        frames[slot] = spriteFrames;
+        frameDuration[slot] = secondsPerFrame;
+        frameTime[slot] = 0;
+        frameIndex[slot] = 0;
+        spriteFlags[slot] = flags & ~SPRITE_FINISHED;
+        return this;
+    }
+
+    /**
+     * Hold a sprite on a negative clock for the given seconds: it is not drawn
+     * until the clock reaches zero (staggered explosions)
+     */
+    public EntityWorld delaySprite(int id, double seconds) {
+        frameTime[slotOf(id)] = -seconds;
+        return this;
+    }
+
+    public EntityWorld setAi(int id, int type) {
+        int slot = slotOf(id);
+        mask[slot] |= AI;
+        aiType[slot] = type;
+        aiState[slot] = 0;
+        aiTimer[slot] = 0;
+        aiCooldown[slot] = 0;
+        aiSpeed[slot] = 0;
+        aiTarget[slot] = 0;
+        aiSeed[slot] = 0;
+        aiFlags[slot] = 0;
+        return this;
+    }
+
+    /**
+     * Patrol data of an AI entity
+     * @param seed start of the entity's own random stream (see nextAiRandom)
+     */
+    public EntityWorld setPatrol(int id, double speed, double targetX, double timer, long seed) {
+        int slot = slotOf(id);
+        aiSpeed[slot] = speed;
+        aiTarget[slot] = targetX;
+        aiTimer[slot] = timer;
+        aiSeed[slot] = seed;
+        return this;
+    }
+
+    public EntityWorld setAiSpeed(int id, double speed) {
+        aiSpeed[slotOf(id)] = speed;
+        return this;
+    }
+
+    public EntityWorld setAiState(int id, int state) {
+        aiState[slotOf(id)] = state;
+        return this;
+    }
+
+    public EntityWorld setAiFlag(int id, int flag, boolean on) {
+        int slot = slotOf(id);
+        aiFlags[slot] = on ? aiFlags[slot] | flag : aiFlags[slot] & ~flag;
+        return this;
+    }
+
+    public boolean has(int id, int components) {
+        return (mask[slotOf(id)] & components) == components;
+    }
+
+    // ==================== Queries ====================
+
+    public int getCount() { return count; }
+    public int getCapacity() { return idOfSlot.length; }
+
+    /** Number of live entities that have all the given components */
+    public int count(int components) {
+        int matches = 0;
+        for (int i = 0; i < count; i++) {
+            if ((mask[i] & components) == components) matches++;
+        }
+        return matches;
+    }
+
+    public int getMask(int id) { return mask[slotOf(id)]; }
+    public double getX(int id) { return x[slotOf(id)]; }
+    public double getY(int id) { return y[slotOf(id)]; }
+    public double getVelocityX(int id) { return vx[slotOf(id)]; }
+    public double getVelocityY(int id) { return vy[slotOf(id)]; }
+    public int getHealth(int id) { return health[slotOf(id)]; }
+    public int getFrameIndex(int id) { return frameIndex[slotOf(id)]; }
+    public int getAiState(int id) { return aiState[slotOf(id)]; }
+    public double getAiTimer(int id) { return aiTimer[slotOf(id)]; }
+    public double getAiSpeed(int id) { return aiSpeed[slotOf(id)]; }
+    public boolean hasAiFlag(int id, int flag) { return (aiFlags[slotOf(id)] & flag) != 0; }
+
+    /**
+     * Clear an AI flag, returning whether it was set (e.g. AI_FIRE once per shot).
+     * Only touches the entity's own slot, so owners may call it from parallel workers.
+     */
+    public boolean consumeAiFlag(int id, int flag) {
+        int slot = slotOf(id);
+        boolean set = (aiFlags[slot] & flag) != 0;
+        aiFlags[slot] &= ~flag;
+        return set;
+    }
+
+    public boolean isSpriteStarted(int id) {
+        return frameTime[slotOf(id)] >= 0;
+    }
+
+    public boolean isSpriteFinished(int id) {
+        return (spriteFlags[slotOf(id)] & SPRITE_FINISHED) != 0;
+    }
+
+    // Slot-level access for systems in this package
+    int slotCount() { return count; }
+    int maskAt(int slot) { return mask[slot]; }
+    int idAt(int slot) { return idOfSlot[slot]; }
+
+    /**
+     * Next value in [0, 1) of the entity's own random stream (SplitMix64), so an
+     * AI system draws the same numbers whatever order or thread it runs in
+     */
+    double nextAiRandom(int slot) {
+        long z = aiSeed[slot] += 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        z ^= z >>> 31;
+        return (z >>> 11) * 0x1.0p-53;
+    }
+
+    /**
+     * Apply damage; returns true if it brought the entity to 0 HP
+     */
+    public boolean damage(int id, int amount) {
+        int slot = slotOf(id);
+        if ((mask[slot] & HEALTH) == 0 || health[slot] <= 0) return false;
+        health[slot] = Math.max(0, health[slot] - amount);
+        return health[slot] == 0;
+    }
+
+    /**
+     * Snapshot positions for render interpolation (see GameObject.savePreviousPosition)
+     */
+    public void savePreviousPositions() {
+        System.arraycopy(x, 0, previousX, 0, count);
+        System.arraycopy(y, 0, previousY, 0, count);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("EntityWorld[count=%d, capacity=%d]", count, idOfSlot.length);
+    }
+}
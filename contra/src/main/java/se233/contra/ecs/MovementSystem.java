@@ -0,0 +1,22 @@
+package se233.contra.ecs;
+
+/**
+ * MovementSystem - integrates Velocity into Transform
+ */
+public class MovementSystem implements EntitySystem {
+    private static final int REQUIRED = EntityWorld.TRANSFORM | EntityWorld.VELOCITY;
+
+    @Override
+    public void update(EntityWorld world, double deltaTime) {
+        int count = world.slotCount();
+        double[] x = world.x;
+        double[] y = world.y;
+        double[] vx = world.vx;
+        double[] vy = world.vy;
+        for (int i = 0; i < count; i++) {
+            if ((world.maskAt(i) & REQUIRED) != REQUIRED) continue;
+            x[i] += vx[i] * deltaTime;
+            y[i] += vy[i] * deltaTime;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package se233.contra.ecs;
+
+import se233.contra.util.Constants;
+
+/**
+ * SoldierAiSystem - patrol-and-shoot behaviour of foot soldiers, plus gravity
+ * Runs before MovementSystem. Soldiers walk towards a random target, turn
+ * round when they pass it and stop to shoot every SHOOT_INTERVAL seconds.
+ * Shooting itself needs the soldier's bullet list, so the system only raises
+ * AI_FIRE and the Soldier object fires when it next updates.
+ *
+ * Soldier sheets face LEFT, so AI_FACING_RIGHT (the flipped sprite) walks left.
+ */
+public class SoldierAiSystem implements EntitySystem {
+    private static final int REQUIRED = EntityWorld.TRANSFORM | EntityWorld.VELOCITY | EntityWorld.AI;
+
+    /** aiType of foot soldiers */
+    public static final int TYPE = 1;
+
+    // aiState values (same order as Soldier.State)
+    public static final int RUNNING = 0;
+    public static final int SHOOTING = 1;
+    public static final int DEAD = 2;
+
+    public static final double SHOOT_INTERVAL = 2.0;
+    public static final double SHOOT_DURATION = 0.5;
+    private static final double MAX_FALL_SPEED = 600;
+
+    @Override
+    public void update(EntityWorld world, double deltaTime) {
+        int count = world.slotCount();
+        double[] x = world.x;
+        double[] vx = world.vx;
+        double[] vy = world.vy;
+        int[] state = world.aiState;
+        double[] timer = world.aiTimer;
+        double[] cooldown = world.aiCooldown;
+        double[] speed = world.aiSpeed;
+        double[] target = world.aiTarget;
+        int[] flags = world.aiFlags;
+
+        for (int i = 0; i < count; i++) {
+            if ((world.maskAt(i) & REQUIRED) != REQUIRED || world.aiType[i] != TYPE || state[i] == DEAD) continue;
+
+            timer[i] += deltaTime;
+            boolean facingRight = (flags[i] & EntityWorld.AI_FACING_RIGHT) != 0;
+
+            if (state[i] == SHOOTING) {
+                vx[i] = 0;
+                cooldown[i] -= deltaTime;
+                if (cooldown[i] <= 0) {
+                    state[i] = RUNNING;
+                    vx[i] = facingRight ? -speed[i] : speed[i];
+                }
+            } else {
+                if (facingRight && x[i] <= target[i]) {
+                    flags[i] &= ~EntityWorld.AI_FACING_RIGHT;
+                    vx[i] = speed[i];
+                    target[i] = world.nextAiRandom(i) * 200 + 300;
+                } else if (!facingRight && x[i] >= target[i]) {
+                    flags[i] |= EntityWorld.AI_FACING_RIGHT;
+                    vx[i] = -speed[i];
+                    target[i] = world.nextAiRandom(i) * 200;
+                }
+
+                if (timer[i] >= SHOOT_INTERVAL) {
+                    state[i] = SHOOTING;
+                    cooldown[i] = SHOOT_DURATION;
+                    timer[i] = 0;
+                    flags[i] |= EntityWorld.AI_FIRE;
+                }
+            }
+
+            if ((flags[i] & EntityWorld.AI_ON_GROUND) == 0) {
+                vy[i] = Math.min(vy[i] + Constants.GRAVITY * deltaTime, MAX_FALL_SPEED);
+            }
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package se233.contra.ecs;
+
+import se233.contra.util.Constants;
+
+/**
+ * SoldierGroundSystem - keeps soldiers on the ground and inside the screen
+ * Runs after MovementSystem. A soldier pushed against a screen edge turns
+ * round and picks a new patrol target.
+ */
+public class SoldierGroundSystem implements EntitySystem {
+    private static final int REQUIRED = EntityWorld.TRANSFORM | EntityWorld.COLLIDER | EntityWorld.AI;
+
+    @Override
+    public void update(EntityWorld world, double deltaTime) {
+        int count = world.slotCount();
+        double[] x = world.x;
+        double[] y = world.y;
+        double[] vx = world.vx;
+        double[] vy = world.vy;
+        double[] width = world.width;
+        double[] height = world.height;
+        double[] speed = world.aiSpeed;
+        double[] target = world.aiTarget;
+        int[] flags = world.aiFlags;
+
+        for (int i = 0; i < count; i++) {
+            if ((world.maskAt(i) & REQUIRED) != REQUIRED || world.aiType[i] != SoldierAiSystem.TYPE
+                    || world.aiState[i] == SoldierAiSystem.DEAD) continue;
+
+            if (y[i] + height[i] >= Constants.GROUND_Y) {
+                y[i] = Constants.GROUND_Y - height[i];
+                vy[i] = 0;
+                flags[i] |= EntityWorld.AI_ON_GROUND;
+            } else {
+                flags[i] &= ~EntityWorld.AI_ON_GROUND;
+            }
+
+            if (x[i] < 0) {
+                x[i] = 0;
+                if ((flags[i] & EntityWorld.AI_FACING_RIGHT) != 0) {
+                    flags[i] &= ~EntityWorld.AI_FACING_RIGHT;
+                    target[i] = world.nextAiRandom(i) * 200 + 300;
+                    vx[i] = speed[i];
+                }
+            }
+            if (x[i] + width[i] > Constants.SCREEN_WIDTH) {
+                x[i] = Constants.SCREEN_WIDTH - width[i];
+                if ((flags[i] & EntityWorld.AI_FACING_RIGHT) == 0) {
+                    flags[i] |= EntityWorld.AI_FACING_RIGHT;
+                    target[i] = world.nextAiRandom(i) * 200;
+                    vx[i] = -speed[i];
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package se233.contra.ecs;
+
+import javafx.scene.canvas.GraphicsContext;
+import se233.contra.model.GameObject;
+import se233.contra.view.SpriteFrame;
+
+import java.util.List;
+
+/**
+ * SpriteRenderer - draws every entity with a Transform and a started Sprite at
+ * its interpolated position (see GameObject.getRenderAlpha)
+ */
+public class SpriteRenderer {
+    private static final int REQUIRED = EntityWorld.TRANSFORM | EntityWorld.SPRITE;
+
+    public void render(EntityWorld world, GraphicsContext gc) {
+        double alpha = GameObject.getRenderAlpha();
+        int count = world.slotCount();
+        for (int i = 0; i < count; i++) {
+            if ((world.maskAt(i) & REQUIRED) != REQUIRED) continue;
+            // Negative clock: delayed sprite that has not started yet
+            if (world.frameTime[i] < 0) continue;
+
+            List<SpriteFrame> frames = world.frames[i];
+            if (frames.isEmpty()) continue;
+            SpriteFrame frame = frames.get(world.frameIndex[i]);
+            if ((world.spriteFlags[i] & EntityWorld.SPRITE_MIRRORED) != 0) {
+                frame = frame.mirrored();
+            }
+            frame.draw(gc,
+                    world.previousX[i] + (world.x[i] - world.previousX[i]) * alpha,
+                    world.previousY[i] + (world.y[i] - world.previousY[i]) * alpha);
+        }
+    }
+}
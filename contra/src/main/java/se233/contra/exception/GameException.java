@@ -8,7 +8,9 @@ public class GameException extends RuntimeException {
         SOUND_LOAD_ERROR,
         INVALID_GAME_STATE,
         COLLISION_ERROR,
-        RESOURCE_NOT_FOUND
+        RESOURCE_NOT_FOUND,
+        REPLAY_ERROR,
+        STAGE_LOAD_ERROR
     }
 
     public GameException(String message, ErrorType errorType) {
@@ -66,6 +66,29 @@ public abstract class Boss extends GameObject implements Enemy {
     @Override
     public abstract List<Bullet> getBullets();
 
+    /**
+     * Hand every bullet back to the BulletPool (boss defeated or stage reset).
+     * Bosses whose getBullets() is a read-only view override this.
+     */
+    public void releaseBullets() {
+        BulletPool.getInstance().releaseAll(getBullets());
+    }
+
+    /** Name shown above the boss health bar */
+    public abstract String getDisplayName();
+
+    /**
+     * Resolve this frame's hits: player bullets against the boss's weak
+     * points, and the boss's attacks against the player
+     */
+    public abstract void checkCollisions(Player player);
+
+    /**
+     * Player the boss aims at. Bosses that do not track the player ignore it.
+     */
+    public void setTargetPlayer(Player player) {
+    }
+
     public double getHealthPercentage() {
         if (maxHealth == 0) return 0;
         return (double) health / maxHealth;
@@ -3,8 +3,10 @@ package se233.contra.model;
 import javafx.scene.canvas.GraphicsContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import se233.contra.controller.CollisionDetector;
 import se233.contra.util.Constants;
 
+import java.util.AbstractList;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -36,6 +38,19 @@ public class Boss1 extends Boss {
     private Boss1Cannon rightCannon;
     private List<Boss1Core> cores;
 
+    // Read-only view over both cannons' bullets, handed out by getBullets()
+    private final List<Bullet> bulletView = new AbstractList<>() {
+        @Override
+        public Bullet get(int index) {
+            return getBullet(index);
+        }
+
+        @Override
+        public int size() {
+            return getBulletCount();
+        }
+    };
+
     public Boss1(double x, double y) {
         // W=200, H=236. HP ถูกผูกไว้กับ Core/Door
         super(x, y, 200, 236, Constants.BOSS1_DOOR_HP);
@@ -198,16 +213,45 @@ public class Boss1 extends Boss {
         // ... (Render Boss hitbox/health bar if needed)
     }
 
+    /**
+     * Read-only view over both cannons' bullets (no merged copy per call)
+     */
     @Override
     public List<Bullet> getBullets() {
-        List<Bullet> allBullets = new ArrayList<>();
-        allBullets.addAll(leftCannon.getBullets());
-        allBullets.addAll(rightCannon.getBullets());
-        return allBullets;
+        return bulletView;
+    }
+
+    @Override
+    public int getBulletCount() {
+        return leftCannon.getBullets().size() + rightCannon.getBullets().size();
+    }
+
+    @Override
+    public Bullet getBullet(int index) {
+        List<Bullet> left = leftCannon.getBullets();
+        return index < left.size() ? left.get(index) : rightCannon.getBullets().get(index - left.size());
+    }
+
+    @Override
+    public void releaseBullets() {
+        BulletPool pool = BulletPool.getInstance();
+        pool.releaseAll(leftCannon.getBullets());
+        pool.releaseAll(rightCannon.getBullets());
     }
 
     public State getCurrentState() { return currentState; }
     public Boss1Door getDoor() { return door; }
     public Boss1Cannon getLeftCannon() { return leftCannon; }
     public Boss1Cannon getRightCannon() { return rightCannon; }
-}
\ No newline at end of file
+
+    @Override
+    public String getDisplayName() {
+        return "BOSS 1 - DEFENSE WALL";
+    }
+
+    @Override
+    public void checkCollisions(Player player) {
+        CollisionDetector.checkPlayerBulletsVsBoss1(player.getBullets(), this, player);
+        CollisionDetector.checkBossBulletsVsPlayer(this, player);
+    }
+}
@@ -1,16 +1,16 @@
 package se233.contra.model;
 
 import javafx.scene.canvas.GraphicsContext;
-import javafx.scene.image.Image;
 import se233.contra.util.Constants;
 import se233.contra.util.Vector2D;
+import se233.contra.view.SpriteFrame;
 import se233.contra.view.SpriteLoader;
 
 import java.util.ArrayList;
 import java.util.List;
 
 public class Boss1Cannon extends GameObject implements Enemy {
-    private final Image cannonSprite;
+    private final SpriteFrame cannonSprite;
     private final boolean isLeft;
     private int health;
     private double shootTimer;
@@ -37,13 +37,11 @@ public class Boss1Cannon extends GameObject implements Enemy {
     }
 
     private void shoot() {
-        Vector2D bulletPos = new Vector2D(
-                position.getX() + (facingRight ? bounds.getWidth() : -8),
-                position.getY() + bounds.getHeight() / 2
-        );
+        double bulletX = position.getX() + (facingRight ? bounds.getWidth() : -8);
+        double bulletY = position.getY() + bounds.getHeight() / 2;
 
-        Vector2D direction = new Vector2D(facingRight ? -1 : 1, 0);
-        Bullet bullet = new Bullet(bulletPos.getX(), bulletPos.getY(), direction, false);
+        Vector2D direction = Vector2D.scratch(facingRight ? -1 : 1, 0);
+        Bullet bullet = BulletPool.getInstance().acquire(bulletX, bulletY, direction, false);
         bullets.add(bullet);
     }
 
@@ -80,7 +78,7 @@ public class Boss1Cannon extends GameObject implements Enemy {
 
     @Override
     public void update(double deltaTime) {
-        bullets.removeIf(b -> !b.isActive());
+        BulletPool.getInstance().releaseInactive(bullets);
         for (Bullet bullet : bullets) {
             bullet.update(deltaTime);
         }
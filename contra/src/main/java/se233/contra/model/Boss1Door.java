@@ -1,12 +1,12 @@
 package se233.contra.model;
 
 import javafx.scene.canvas.GraphicsContext;
-import javafx.scene.image.Image;
 import se233.contra.util.Rectangle;
+import se233.contra.view.SpriteFrame;
 import se233.contra.view.SpriteLoader;
 
 public class Boss1Door extends GameObject {
-    private final Image doorSprite;
+    private final SpriteFrame doorSprite;
     private boolean isOpen;
 
     public Boss1Door(double x, double y) {
@@ -35,7 +35,7 @@ public class Boss1Door extends GameObject {
     @Override
     public void render(GraphicsContext gc) {
         if (!active) return;
-        gc.drawImage(doorSprite, position.getX(), position.getY());
+        doorSprite.draw(gc, position.getX(), position.getY());
     }
 
     public Rectangle getHitbox() {
@@ -1,23 +1,23 @@
 package se233.contra.model;
 
 import javafx.scene.canvas.GraphicsContext;
-import javafx.scene.image.Image;
 import javafx.scene.paint.Color;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import se233.contra.controller.CollisionDetector;
 import se233.contra.util.Constants;
-import se233.contra.util.Vector2D;
+import se233.contra.util.GameRandom;
+import se233.contra.view.SpriteFrame;
+import se233.contra.view.SpriteLoader;
 
 import java.util.ArrayList;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Random;
 
 public class Boss2 extends Boss {
     private static final Logger logger = LoggerFactory.getLogger(Boss2.class);
 
-    private javafx.scene.image.Image spriteSheet;
-    private javafx.scene.image.Image[] frames;
+    private List<SpriteFrame> frames;
     private int frameIndex = 0;
     private double frameTimer = 0.0;
     private double frameDuration = 0.12;
@@ -36,8 +36,9 @@ public class Boss2 extends Boss {
     private Phase phase = Phase.INTRO;
     private double phaseTimer = 0;
     private double attackCooldown = 0;
-    private final Random rng = new Random();
+    private final Random rng = GameRandom.newStream();
 
+    // Fan bullets live in BulletSystem; this list stays empty (Boss contract)
     private final List<Bullet> bullets = new ArrayList<>();
 
     public Boss2(double x, double y) {
@@ -46,34 +47,8 @@ public class Boss2 extends Boss {
         this.bottomBound = Constants.GROUND_Y - Constants.BOSS2_FRAME_H;
         this.facingRight = false;
 
-        this.spriteSheet = new Image(getClass().getResourceAsStream(Constants.BOSS2_SPRITE));
-
-        final int fw = Constants.BOSS2_FRAME_W;
-        final int fh = Constants.BOSS2_FRAME_H;
-
-        frames = new Image[Constants.BOSS2_COLS];
-        javafx.scene.image.PixelReader pr = spriteSheet.getPixelReader();
-
-        final int keyR = 0, keyG = 61, keyB = 8, tol = 4;
-
-        for (int i = 0; i < Constants.BOSS2_COLS; i++) {
-            javafx.scene.image.WritableImage out = new javafx.scene.image.WritableImage(fw, fh);
-            javafx.scene.image.PixelWriter pw = out.getPixelWriter();
-            for (int yPix = 0; yPix < fh; yPix++) {
-                for (int xPix = 0; xPix < fw; xPix++) {
-                    int sx = i * fw + xPix;
-                    int sy = yPix;
-                    int argb = pr.getArgb(sx, sy);
-                    int r = (argb >> 16) & 0xFF, g = (argb >> 8) & 0xFF, b = argb & 0xFF;
-                    if (Math.abs(r - keyR) <= tol && Math.abs(g - keyG) <= tol && Math.abs(b - keyB) <= tol) {
-                        pw.setArgb(xPix, yPix, 0x00000000);
-                    } else {
-                        pw.setArgb(xPix, yPix, argb);
-                    }
-                }
-            }
-            frames[i] = out;
-        }
+        // Keyed frames are built once by SpriteLoader and shared by every spawn
+        frames = SpriteLoader.getBoss2Frames();
 
         this.facingRight = false;
         logger.info("Boss2 spawned at ({}, {})", x, y);
@@ -155,32 +130,24 @@ public class Boss2 extends Boss {
             double t = rng.nextDouble();
             double angleDeg = startDeg + t * totalSpreadDeg;
             double rad = Math.toRadians(angleDeg);
-            Vector2D dir = new Vector2D(Math.cos(rad), Math.sin(rad) * 0.65);
-
-            bullets.add(new Bullet(spawnX, spawnY, dir, false));
+            BulletSystem.getInstance().spawn(spawnX, spawnY, Math.cos(rad), Math.sin(rad) * 0.65,
+                    BulletSystem.OWNER_BOSS, Constants.BOSS_BULLET_DAMAGE);
         }
 
-        frameIndex = (frameIndex + 1) % frames.length;
+        frameIndex = (frameIndex + 1) % frames.size();
     }
 
     @Override
     protected void updateComponents(double dt) {
-        position.add(new Vector2D(velocity.getX() * dt, 0));
+        position.addLocal(velocity.getX() * dt, 0);
         bounds.setX(position.getX());
         bounds.setY(position.getY());
 
-        Iterator<Bullet> it = bullets.iterator();
-        while (it.hasNext()) {
-            Bullet b = it.next();
-            b.update(dt);
-            if (!b.isActive()) it.remove();
-        }
-
         if (phase == Phase.ARC) {
             frameTimer += dt;
             if (frameTimer >= frameDuration) {
                 frameTimer -= frameDuration;
-                frameIndex = (frameIndex + 1) % frames.length;
+                frameIndex = (frameIndex + 1) % frames.size();
             }
         } else {
             frameIndex = 0;
@@ -191,16 +158,13 @@ public class Boss2 extends Boss {
     public void render(GraphicsContext gc) {
         if (!active) return;
 
-        Image frame = frames[frameIndex];
+        SpriteFrame frame = frames.get(frameIndex);
         double dw = Constants.BOSS2_FRAME_W;
         double dh = Constants.BOSS2_FRAME_H;
-        double dx = position.getX();
-        double dy = position.getY();
+        double dx = renderX();
+        double dy = renderY();
 
-        gc.drawImage(frame, dx, dy, dw, dh);
-
-        for (Bullet b : bullets)
-            if (b.isActive()) b.render(gc);
+        frame.draw(gc, dx, dy, dw, dh);
     }
 
     @Override
@@ -235,4 +199,15 @@ public class Boss2 extends Boss {
             vDir = -1;
         }
     }
-}
\ No newline at end of file
+
+    @Override
+    public String getDisplayName() {
+        return "BOSS 2 - JAVA";
+    }
+
+    @Override
+    public void checkCollisions(Player player) {
+        CollisionDetector.checkPlayerBulletsVsBoss2(player.getBullets(), this, player);
+        CollisionDetector.checkBossBulletsVsPlayer(this, player);
+    }
+}
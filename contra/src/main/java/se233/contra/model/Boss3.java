@@ -1,16 +1,19 @@
 package se233.contra.model;
 
 import javafx.scene.canvas.GraphicsContext;
-import javafx.scene.image.Image;
 import javafx.scene.paint.Color;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import se233.contra.controller.CollisionDetector;
 import se233.contra.util.Constants;
+import se233.contra.util.GameRandom;
 import se233.contra.util.Vector2D;
-import se233.contra.view.Animation;
+import se233.contra.view.AnimationClip;
+import se233.contra.view.SpriteFrame;
 import se233.contra.view.SpriteLoader;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -44,8 +47,7 @@ public class Boss3 extends Boss {
     private double invincibleTimer;
     private static final double INVINCIBLE_DURATION = 0.5;
 
-    private Map<State, Animation> animations;
-    private Animation currentAnimation;
+    private Map<State, AnimationClip> animations;
 
     private static final double WALK_SPEED = 60.0;
     private static final double ATTACK_RANGE = 200.0;
@@ -65,6 +67,7 @@ public class Boss3 extends Boss {
     private boolean groundPoundHasHit; // 💡 เพิ่มตัวแปรนี้เพื่อป้องกันโดนซ้ำ
 
     private List<Bullet> bullets;
+    private List<Bullet> bulletView;
     private double attackCooldown;
     private static final double ATTACK_COOLDOWN_TIME = 3.0;
     private static final double CHARGE_DURATION = 1.0;
@@ -83,7 +86,9 @@ public class Boss3 extends Boss {
     private int bulletsFired;
     private double rapidFireTimer;
     private static final double RAPID_FIRE_DELAY = 0.15;
-    private se233.contra.util.Vector2D rapidFireDirection;
+    // Reused for every rapid-fire burst (set in place, never reallocated)
+    private final se233.contra.util.Vector2D rapidFireDirection = new se233.contra.util.Vector2D();
+    private boolean hasRapidFireDirection;
 
     // 💡 เพิ่ม Player reference สำหรับ tracking
     private Player targetPlayer;
@@ -103,8 +108,9 @@ public class Boss3 extends Boss {
         this.invincibleTimer = 0;
 
         this.bullets = new ArrayList<>();
+        this.bulletView = Collections.unmodifiableList(bullets);
         this.attackCooldown = 0;
-        this.random = new Random();
+        this.random = GameRandom.newStream();
         this.nextAttackType = 1;
         this.nextJumpType = 1;
         this.groundPoundActive = false;
@@ -127,18 +133,18 @@ public class Boss3 extends Boss {
     private void loadAnimations() {
         animations = new HashMap<>();
         try {
-            animations.put(State.IDLE, new Animation(SpriteLoader.getBoss3Idle(), 0.2, true));
-            animations.put(State.CHARGE1, new Animation(SpriteLoader.getBoss3Charge1(), CHARGE_DURATION, false));
-            animations.put(State.ATTACK1, new Animation(SpriteLoader.getBoss3Attack1(), 0.4, true));
-            animations.put(State.CHARGE2, new Animation(SpriteLoader.getBoss3Charge2(), CHARGE_DURATION, false));
-            animations.put(State.ATTACK2, new Animation(SpriteLoader.getBoss3Attack2(), 0.4, true));
-            animations.put(State.JUMP1, new Animation(SpriteLoader.getBoss3Jump1(), 0.25, true));
-            animations.put(State.JUMP2, new Animation(SpriteLoader.getBoss3Jump2(), 0.25, true));
-            animations.put(State.DOWN1, new Animation(SpriteLoader.getBoss3Down1(), 0.25, false));
-            animations.put(State.DOWN2, new Animation(SpriteLoader.getBoss3Down2(), 0.25, false));
-            animations.put(State.HURT, new Animation(SpriteLoader.getBoss3Hurt(), 0.3, false));
-            animations.put(State.DEFEATED, new Animation(SpriteLoader.getBoss3Defeated(), 0.2, false));
-            currentAnimation = animations.get(State.IDLE);
+            animations.put(State.IDLE, AnimationClip.of(SpriteLoader.getBoss3Idle(), 0.2, true));
+            animations.put(State.CHARGE1, AnimationClip.of(SpriteLoader.getBoss3Charge1(), CHARGE_DURATION, false));
+            animations.put(State.ATTACK1, AnimationClip.of(SpriteLoader.getBoss3Attack1(), 0.4, true));
+            animations.put(State.CHARGE2, AnimationClip.of(SpriteLoader.getBoss3Charge2(), CHARGE_DURATION, false));
+            animations.put(State.ATTACK2, AnimationClip.of(SpriteLoader.getBoss3Attack2(), 0.4, true));
+            animations.put(State.JUMP1, AnimationClip.of(SpriteLoader.getBoss3Jump1(), 0.25, true));
+            animations.put(State.JUMP2, AnimationClip.of(SpriteLoader.getBoss3Jump2(), 0.25, true));
+            animations.put(State.DOWN1, AnimationClip.of(SpriteLoader.getBoss3Down1(), 0.25, false));
+            animations.put(State.DOWN2, AnimationClip.of(SpriteLoader.getBoss3Down2(), 0.25, false));
+            animations.put(State.HURT, AnimationClip.of(SpriteLoader.getBoss3Hurt(), 0.3, false));
+            animations.put(State.DEFEATED, AnimationClip.of(SpriteLoader.getBoss3Defeated(), 0.2, false));
+            play(animations.get(State.IDLE));
         } catch (Exception e) {
             logger.error("Failed to load Boss3 animations", e);
             throw new RuntimeException("Failed to load Boss3 animations", e);
@@ -147,6 +153,10 @@ public class Boss3 extends Boss {
 
     @Override
     protected void updateBehavior(double deltaTime) {
+        // Aim at where the player is this frame
+        if (targetPlayer != null) {
+            setTarget(targetPlayer.getPosition().getX(), targetPlayer.getPosition().getY());
+        }
 
         if (isInvincible) {
             invincibleTimer -= deltaTime;
@@ -155,9 +165,7 @@ public class Boss3 extends Boss {
             }
         }
         attackCooldown -= deltaTime;
-        if (currentAnimation != null) {
-            currentAnimation.update(deltaTime);
-        }
+        advanceClip(deltaTime);
         if (!isGrounded) {
             velocityY += GRAVITY * deltaTime;
         }
@@ -238,14 +246,14 @@ public class Boss3 extends Boss {
             case CHARGE1 -> {
                 velocityX = 0;
                 facingRight = (targetX > position.getX());
-                if (currentAnimation.isFinished()) {
+                if (isClipFinished()) {
                     changeState(State.ATTACK1);
                 }
             }
             case CHARGE2 -> {
                 velocityX = 0;
                 facingRight = (targetX > position.getX());
-                if (currentAnimation.isFinished()) {
+                if (isClipFinished()) {
                     changeState(State.ATTACK2);
                 }
             }
@@ -294,7 +302,7 @@ public class Boss3 extends Boss {
             }
             case HURT -> {
                 velocityX = 0;
-                if (currentAnimation.isFinished()) {
+                if (isClipFinished()) {
                     changeState(nextAttackType == 1 ? State.CHARGE1 : State.CHARGE2);
                 }
             }
@@ -329,6 +337,9 @@ public class Boss3 extends Boss {
     private void onGroundPoundLand() {
         logger.info("Boss 3 ground pound landed at ({}, {})", position.getX(), position.getY());
         groundPoundActive = false;
+        // Dust thrown up both ways from under the boss's feet
+        ParticleSystem.getInstance().emit(ParticleSystem.Preset.GROUND_POUND,
+                position.getX() + bounds.getWidth() / 2, position.getY() + bounds.getHeight());
     }
 
     // 💡 แก้ไข executeAttack1 ให้ยิงตามตำแหน่ง Player แบบเรียลไทม์
@@ -351,13 +362,15 @@ public class Boss3 extends Boss {
         double dirX = playerCenterX - bulletX;
         double dirY = playerCenterY - bulletY;
 
-        se233.contra.util.Vector2D direction = new se233.contra.util.Vector2D(dirX, dirY);
+        se233.contra.util.Vector2D direction = se233.contra.util.Vector2D.scratch(dirX, dirY);
 
-        List<Image> frames = SpriteLoader.getBoss3BulletAnimation(this.facingRight);
-        Bullet bullet = new Bullet(bulletX, bulletY, direction, false, frames);
+        List<SpriteFrame> frames = SpriteLoader.getBoss3BulletAnimation(this.facingRight);
+        Bullet bullet = BulletPool.getInstance().acquire(bulletX, bulletY, direction, false, frames);
         bullets.add(bullet);
 
-        logger.debug("Boss 3 executed Attack 1 (aimed fireball) targeting ({}, {})", playerCenterX, playerCenterY);
+        if (logger.isDebugEnabled()) {
+            logger.debug("Boss 3 executed Attack 1 (aimed fireball) targeting ({}, {})", playerCenterX, playerCenterY);
+        }
     }
 
     // 💡 แก้ไข startRapidFire ให้ยิงตามตำแหน่ง Player แบบเรียลไทม์
@@ -385,9 +398,12 @@ public class Boss3 extends Boss {
         double dirX = playerCenterX - bulletX;
         double dirY = playerCenterY - bulletY;
 
-        this.rapidFireDirection = new se233.contra.util.Vector2D(dirX, dirY);
-        logger.debug("Boss 3 starting rapid fire: {} bullets targeting ({}, {})",
-                bulletsToFire, playerCenterX, playerCenterY);
+        this.rapidFireDirection.set(dirX, dirY);
+        hasRapidFireDirection = true;
+        if (logger.isDebugEnabled()) {
+            logger.debug("Boss 3 starting rapid fire: {} bullets targeting ({}, {})",
+                    bulletsToFire, playerCenterX, playerCenterY);
+        }
     }
 
     // 💡 แก้ไข fireRapidBullet ให้อัพเดททิศทางทุกครั้งที่ยิง (ตาม Player แบบเรียลไทม์)
@@ -405,20 +421,23 @@ public class Boss3 extends Boss {
             double dirX = playerCenterX - bulletX;
             double dirY = playerCenterY - bulletY;
 
-            this.rapidFireDirection = new se233.contra.util.Vector2D(dirX, dirY);
+            this.rapidFireDirection.set(dirX, dirY);
+            hasRapidFireDirection = true;
         }
 
-        if (this.rapidFireDirection != null) {
-            List<Image> frames = SpriteLoader.getBoss3BulletAnimation(this.facingRight);
-            Bullet bullet = new Bullet(bulletX, bulletY, this.rapidFireDirection, false, frames);
+        if (hasRapidFireDirection) {
+            List<SpriteFrame> frames = SpriteLoader.getBoss3BulletAnimation(this.facingRight);
+            Bullet bullet = BulletPool.getInstance().acquire(bulletX, bulletY, this.rapidFireDirection, false, frames);
             bullets.add(bullet);
-            logger.debug("Boss 3 fired rapid bullet {}/{}", bulletsFired + 1, bulletsToFire);
+            if (logger.isDebugEnabled()) {
+                logger.debug("Boss 3 fired rapid bullet {}/{}", bulletsFired + 1, bulletsToFire);
+            }
         }
     }
 
     @Override
     protected void updateComponents(double deltaTime) {
-        bullets.removeIf(bullet -> !bullet.isActive());
+        BulletPool.getInstance().releaseInactive(bullets);
         for (Bullet bullet : bullets) {
             bullet.update(deltaTime);
         }
@@ -429,9 +448,17 @@ public class Boss3 extends Boss {
         // Handled in executeAttack1/2
     }
 
+    /**
+     * Read-only view of the live bullets (no copy per call)
+     */
     @Override
     public List<Bullet> getBullets() {
-        return new ArrayList<>(bullets);
+        return bulletView;
+    }
+
+    @Override
+    public void releaseBullets() {
+        BulletPool.getInstance().releaseAll(bullets);
     }
 
     @Override
@@ -466,10 +493,10 @@ public class Boss3 extends Boss {
         stateTimer = 0;
         isMultiFiring = false;
         isRapidFiring = false;
-        Animation newAnimation = animations.get(newState);
-        if (newAnimation != null) {
-            newAnimation.reset();
-            currentAnimation = newAnimation;
+        AnimationClip next = animations.get(newState);
+        if (next != null) {
+            clip = next;
+            restartClip();
         }
     }
 
@@ -480,6 +507,7 @@ public class Boss3 extends Boss {
     }
 
     // 💡 เพิ่มเมธอดใหม่สำหรับ set Player reference
+    @Override
     public void setTargetPlayer(Player player) {
         this.targetPlayer = player;
         if (player != null) {
@@ -491,27 +519,19 @@ public class Boss3 extends Boss {
 
     @Override
     public void render(GraphicsContext gc) {
-        if (currentAnimation != null) {
-            Image frame = currentAnimation.getCurrentFrame();
+        if (clip != null) {
+            // Sheet faces LEFT: facing right draws the pre-mirrored frame
+            SpriteFrame frame = clip.getFrame(clipFrame, facingRight);
             if (frame != null) {
-                gc.save();
-                double drawX = position.getX();
-                double drawY = position.getY();
-                double width = bounds.getWidth();
-                double height = bounds.getHeight();
-
                 if(isInvincible) {
                     gc.setGlobalAlpha(0.6 + (Math.sin(invincibleTimer * 50) * 0.4));
                 }
 
-                if (facingRight) {
-                    gc.translate(drawX + width, drawY);
-                    gc.scale(-1, 1);
-                    gc.drawImage(frame, 0, 0, width, height);
-                } else {
-                    gc.drawImage(frame, drawX, drawY, width, height);
+                frame.draw(gc, renderX(), renderY(), bounds.getWidth(), bounds.getHeight());
+
+                if(isInvincible) {
+                    gc.setGlobalAlpha(1.0);
                 }
-                gc.restore();
             } else {
                 renderFallback(gc);
             }
@@ -568,4 +588,16 @@ public class Boss3 extends Boss {
     public double getY() { return position.getY(); }
     public boolean isGroundPoundActive() { return groundPoundActive; }
     public boolean isGrounded() { return isGrounded; }
-}
\ No newline at end of file
+
+    @Override
+    public String getDisplayName() {
+        return "BOSS 3 - MAGMA DRAGOON";
+    }
+
+    @Override
+    public void checkCollisions(Player player) {
+        CollisionDetector.checkPlayerBulletsVsBoss3(player.getBullets(), this, player);
+        CollisionDetector.checkBossBulletsVsPlayer(this, player);
+        CollisionDetector.checkBoss3GroundPoundVsPlayer(this, player);
+    }
+}
@@ -1,27 +1,29 @@
 package se233.contra.model;
 
 import javafx.scene.canvas.GraphicsContext;
-import javafx.scene.image.Image;
 import javafx.scene.paint.Color;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import se233.contra.util.Constants;
 import se233.contra.util.Vector2D;
-import se233.contra.view.Animation;
+import se233.contra.view.AnimationClip;
+import se233.contra.view.SpriteFrame;
 import se233.contra.view.SpriteLoader;
 import java.util.List;
 
 public class Bullet extends GameObject {
     private static final Logger logger = LoggerFactory.getLogger(Bullet.class);
 
-    private final boolean isPlayerBullet;
-    private final Image sprite;
-    private final int damage;
+    private boolean isPlayerBullet;
+    private SpriteFrame sprite;
+    private int damage;
 
-    // Hit animation
+    // Flying animation (see GameObject); the hit explosion is a ParticleSystem burst
     private boolean isHit;
-    private Animation hitAnimation;
-    private Animation flyingAnimation;
+    private List<SpriteFrame> flyingFrames; // null for plain (non-animated) bullets
+
+    // Pool bookkeeping (see BulletPool)
+    boolean pooled;
 
     // âœ… Constructor #1: Default (damage = 1)
     public Bullet(double x, double y, Vector2D direction, boolean isPlayerBullet) {
@@ -31,75 +33,88 @@ public class Bullet extends GameObject {
     // âœ… Constructor #2: With custom damage
     public Bullet(double x, double y, Vector2D direction, boolean isPlayerBullet, int damage) {
         super(x, y, Constants.BULLET_SIZE, Constants.BULLET_SIZE);
-        this.isPlayerBullet = isPlayerBullet;
-        this.damage = damage; // âœ… Use provided damage value
-        this.sprite = SpriteLoader.getBullet();
-        this.isHit = false;
+        init(x, y, direction, isPlayerBullet, null, damage);
+
+        if (logger.isDebugEnabled()) {
+            logger.debug("Bullet created at ({}, {}) direction: {} player: {} damage: {}",
+                    x, y, direction, isPlayerBullet, damage);
+        }
+    }
+
+    // âœ… Constructor #3: Animated bullet with custom damage
+    public Bullet(double x, double y, Vector2D direction, boolean isPlayerBullet, List<SpriteFrame> flyingFrames, int damage) {
+        super(x, y, animatedWidth(flyingFrames), animatedHeight(flyingFrames));
+        init(x, y, direction, isPlayerBullet, flyingFrames, damage);
 
-        this.flyingAnimation = null;
+        if (logger.isDebugEnabled()) {
+            logger.debug("Animated Bullet created at ({}, {}) damage: {}", x, y, damage);
+        }
+    }
 
-        this.hitAnimation = new Animation(
-                SpriteLoader.getExplosion(),
-                0.05,
-                false
-        );
+    // âœ… Constructor #4: Animated bullet with default damage (for backward compatibility)
+    public Bullet(double x, double y, Vector2D direction, boolean isPlayerBullet, List<SpriteFrame> flyingFrames) {
+        this(x, y, direction, isPlayerBullet, flyingFrames, 1); // Delegate with default damage
+    }
 
-        Vector2D normalized = direction.normalize();
-        double speed = Constants.BULLET_SPEED;
-        velocity.set(normalized.getX() * speed, normalized.getY() * speed);
+    private static double animatedWidth(List<SpriteFrame> flyingFrames) {
+        return (flyingFrames != null && !flyingFrames.isEmpty()) ? flyingFrames.get(0).getWidth() : 64;
+    }
 
-        logger.debug("Bullet created at ({}, {}) direction: {} player: {} damage: {}",
-                x, y, direction, isPlayerBullet, damage);
+    private static double animatedHeight(List<SpriteFrame> flyingFrames) {
+        return (flyingFrames != null && !flyingFrames.isEmpty()) ? flyingFrames.get(0).getHeight() : 64;
     }
 
-    // âœ… Constructor #3: Animated bullet with custom damage
-    public Bullet(double x, double y, Vector2D direction, boolean isPlayerBullet, List<Image> flyingFrames, int damage) {
-        super(x, y,
-                (flyingFrames != null && !flyingFrames.isEmpty()) ? flyingFrames.get(0).getWidth() : 64,
-                (flyingFrames != null && !flyingFrames.isEmpty()) ? flyingFrames.get(0).getHeight() : 64);
+    /**
+     * Re-initialise a recycled bullet as if it had been built with constructor #2.
+     */
+    void reset(double x, double y, Vector2D direction, boolean isPlayerBullet, int damage) {
+        bounds.setSize(Constants.BULLET_SIZE, Constants.BULLET_SIZE);
+        init(x, y, direction, isPlayerBullet, null, damage);
+    }
 
+    /**
+     * Re-initialise a recycled bullet as if it had been built with constructor #3.
+     */
+    void reset(double x, double y, Vector2D direction, boolean isPlayerBullet, List<SpriteFrame> flyingFrames, int damage) {
+        bounds.setSize(animatedWidth(flyingFrames), animatedHeight(flyingFrames));
+        init(x, y, direction, isPlayerBullet, flyingFrames, damage);
+    }
+
+    // Shared by the constructors and reset(): everything except the hitbox size
+    private void init(double x, double y, Vector2D direction, boolean isPlayerBullet,
+                      List<SpriteFrame> flyingFrames, int damage) {
         this.isPlayerBullet = isPlayerBullet;
-        this.damage = damage; // âœ… Use provided damage value
+        this.damage = damage;
         this.isHit = false;
+        this.active = true;
+        this.facingRight = true;
+        position.set(x, y);
+        updateBounds();
+        savePreviousPosition();
 
         if (flyingFrames != null && !flyingFrames.isEmpty()) {
-            this.flyingAnimation = new Animation(flyingFrames, 0.08, true);
+            this.flyingFrames = flyingFrames;
             this.sprite = null;
+            this.clip = AnimationClip.of(flyingFrames, 0.08, true);
         } else {
-            this.flyingAnimation = null;
+            this.flyingFrames = null;
             this.sprite = SpriteLoader.getBullet();
+            this.clip = null;
         }
+        restartClip();
 
-        this.hitAnimation = new Animation(
-                SpriteLoader.getExplosion(), 0.05, false
-        );
-
-        Vector2D normalized = direction.normalize();
-        double speed = Constants.BULLET_SPEED;
-        velocity.set(normalized.getX() * speed, normalized.getY() * speed);
-
-        logger.debug("Animated Bullet created at ({}, {}) damage: {}", x, y, damage);
-    }
-
-    // âœ… Constructor #4: Animated bullet with default damage (for backward compatibility)
-    public Bullet(double x, double y, Vector2D direction, boolean isPlayerBullet, List<Image> flyingFrames) {
-        this(x, y, direction, isPlayerBullet, flyingFrames, 1); // Delegate with default damage
+        // velocity = normalize(direction) * speed, without a temporary vector
+        velocity.set(direction).normalizeLocal().scaleLocal(Constants.BULLET_SPEED);
     }
 
     @Override
     public void update(double deltaTime) {
-        if (isHit) {
-            hitAnimation.update(deltaTime);
-            if (hitAnimation.isFinished()) {
-                active = false;
-            }
-            return;
-        }
+        if (isHit) return;
 
         updatePosition(deltaTime);
 
-        if (flyingAnimation != null) {
-            flyingAnimation.update(deltaTime);
+        if (flyingFrames != null) {
+            advanceClip(deltaTime);
         }
 
         if (position.getX() < -50 || position.getX() > Constants.SCREEN_WIDTH + 50 ||
@@ -112,22 +127,14 @@ public class Bullet extends GameObject {
     public void render(GraphicsContext gc) {
         if (!active) return;
 
-        if (isHit) {
-            Image frame = hitAnimation.getCurrentFrame();
+        if (flyingFrames != null) {
+            SpriteFrame frame = currentClipFrame();
             if (frame != null) {
-                double explosionX = position.getX() - 12;
-                double explosionY = position.getY() - 12;
-                gc.drawImage(frame, explosionX, explosionY);
-            }
-        }
-        else if (flyingAnimation != null) {
-            Image frame = flyingAnimation.getCurrentFrame();
-            if (frame != null) {
-                gc.drawImage(frame, position.getX(), position.getY());
+                frame.draw(gc, renderX(), renderY());
             }
         }
         else if (sprite != null) {
-            gc.drawImage(sprite, position.getX(), position.getY());
+            sprite.draw(gc, renderX(), renderY());
         }
     }
 
@@ -143,13 +150,20 @@ public class Bullet extends GameObject {
         return isHit;
     }
 
+    /**
+     * Stop the bullet and hand its explosion to the ParticleSystem (impact
+     * sprite in the ECS world, sparks in the pool); the bullet itself is finished and goes back to the pool on its owner's next update.
+     */
     public void onHit() {
         if (isHit) return;
 
         isHit = true;
+        active = false;
         velocity.set(0, 0);
-        hitAnimation.reset();
-        logger.debug("Bullet hit target at ({}, {}), playing explosion",
-                position.getX(), position.getY());
+        ParticleSystem.getInstance().emit(ParticleSystem.Preset.BULLET_IMPACT,
+                position.getX() + bounds.getWidth() / 2, position.getY() + bounds.getHeight() / 2);
+        if (logger.isDebugEnabled()) {
+            logger.debug("Bullet hit target at ({}, {})", position.getX(), position.getY());
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,178 @@
+package se233.contra.model;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import se233.contra.util.Vector2D;
+import se233.contra.view.SpriteFrame;
+
+import java.util.ArrayDeque;
+import java.util.List;
+
+/**
+ * BulletPool - Singleton free-list of recycled Bullet objects
+ * Firing sites acquire() bullets here and owners hand them back with
+ * release()/releaseInactive() instead of dropping them for the GC,
+ * so steady-state combat allocates no new bullets.
+ * Game thread only: soldiers updated in parallel leave their acquire and
+ * release calls to GameController's serial merge (see Soldier.commitBullets).
+ */
+public class BulletPool {
+    private static final Logger logger = LoggerFactory.getLogger(BulletPool.class);
+    private static BulletPool instance;
+
+    // Upper bound on idle bullets kept around after a big burst
+    private static final int MAX_POOLED = 1024;
+
+    private final ArrayDeque<Bullet> free;
+    private long hits;
+    private long misses;
+    private long released;
+
+    private BulletPool() {
+        this.free = new ArrayDeque<>(256);
+    }
+
+    public static BulletPool getInstance() {
+        if (instance == null) {
+            instance = new BulletPool();
+        }
+        return instance;
+    }
+
+    // ==================== Acquire ====================
+
+    /**
+     * Plain bullet with damage 1 (same as {@code new Bullet(x, y, direction, isPlayerBullet)})
+     */
+    public Bullet acquire(double x, double y, Vector2D direction, boolean isPlayerBullet) {
+        return acquire(x, y, direction, isPlayerBullet, 1);
+    }
+
+    /**
+     * Plain bullet with custom damage
+     */
+    public Bullet acquire(double x, double y, Vector2D direction, boolean isPlayerBullet, int damage) {
+        Bullet bullet = free.pollFirst();
+        if (bullet == null) {
+            misses++;
+            return new Bullet(x, y, direction, isPlayerBullet, damage);
+        }
+        hits++;
+        bullet.pooled = false;
+        bullet.reset(x, y, direction, isPlayerBullet, damage);
+        return bullet;
+    }
+
+    /**
+     * Animated bullet with damage 1
+     */
+    public Bullet acquire(double x, double y, Vector2D direction, boolean isPlayerBullet,
+                          List<SpriteFrame> flyingFrames) {
+        return acquire(x, y, direction, isPlayerBullet, flyingFrames, 1);
+    }
+
+    /**
+     * Animated bullet with custom damage
+     */
+    public Bullet acquire(double x, double y, Vector2D direction, boolean isPlayerBullet,
+                          List<SpriteFrame> flyingFrames, int damage) {
+        Bullet bullet = free.pollFirst();
+        if (bullet == null) {
+            misses++;
+            return new Bullet(x, y, direction, isPlayerBullet, flyingFrames, damage);
+        }
+        hits++;
+        bullet.pooled = false;
+        bullet.reset(x, y, direction, isPlayerBullet, flyingFrames, damage);
+        return bullet;
+    }
+
+    // ==================== Release ====================
+
+    /**
+     * Return a bullet to the pool. The caller must drop every reference to it.
+     */
+    public void release(Bullet bullet) {
+        if (bullet == null || bullet.pooled) return;
+
+        bullet.setActive(false);
+        bullet.pooled = true;
+        released++;
+        if (free.size() < MAX_POOLED) {
+            free.addFirst(bullet);
+        }
+    }
+
+    /**
+     * Drop inactive bullets from an owner's list and recycle them.
+     * Replaces {@code bullets.removeIf(b -> !b.isActive())}: keeps the order of
+     * the surviving bullets and does not allocate.
+     */
+    public void releaseInactive(List<Bullet> bullets) {
+        int write = 0;
+        int size = bullets.size();
+        for (int read = 0; read < size; read++) {
+            Bullet bullet = bullets.get(read);
+            if (bullet.isActive()) {
+                if (write != read) {
+                    bullets.set(write, bullet);
+                }
+                write++;
+            } else {
+                release(bullet);
+            }
+        }
+        for (int i = size - 1; i >= write; i--) {
+            bullets.remove(i);
+        }
+    }
+
+    /**
+     * Recycle every bullet in the list and empty it (stage reset, owner removed, ...)
+     */
+    public void releaseAll(List<Bullet> bullets) {
+        for (int i = 0; i < bullets.size(); i++) {
+            release(bullets.get(i));
+        }
+        bullets.clear();
+    }
+
+    // ==================== Stats ====================
+
+    /** Number of acquire() calls served from the pool */
+    public long getHits() { return hits; }
+
+    /** Number of acquire() calls that had to allocate a new Bullet */
+    public long getMisses() { return misses; }
+
+    /** Number of bullets handed back through release() */
+    public long getReleased() { return released; }
+
+    /** Bullets currently idle in the pool */
+    public int getAvailable() { return free.size(); }
+
+    public double getHitRate() {
+        long total = hits + misses;
+        return total == 0 ? 0 : (double) hits / total;
+    }
+
+    public void resetStats() {
+        hits = 0;
+        misses = 0;
+        released = 0;
+    }
+
+    /**
+     * Drop all idle bullets (e.g. after SpriteLoader reload)
+     */
+    public void clear() {
+        free.clear();
+        logger.debug("BulletPool cleared");
+    }
+
+    @Override
+    public String toString() {
+        return String.format("BulletPool[hits=%d, misses=%d, released=%d, available=%d, hitRate=%.1f%%]",
+                hits, misses, released, free.size(), getHitRate() * 100);
+    }
+}
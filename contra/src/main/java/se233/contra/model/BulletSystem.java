@@ -0,0 +1,286 @@
+package se233.contra.model;
+
+import javafx.scene.canvas.GraphicsContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import se233.contra.util.Constants;
+import se233.contra.util.Rectangle;
+import se233.contra.view.SpriteFrame;
+import se233.contra.view.SpriteLoader;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * BulletSystem - Singleton structure-of-arrays store for plain bullets
+ * Each bullet is one index into parallel primitive columns instead of a
+ * Bullet object, so bullet-hell patterns (Boss 2 fans, stress stages) cost a
+ * tight loop over double[]s: no per-bullet objects, lists or Animations.
+ * Live bullets are always packed into [0, count); dead ones are swap-removed,
+ * so indices are only valid until the next update() or clear().
+ */
+public class BulletSystem {
+    private static final Logger logger = LoggerFactory.getLogger(BulletSystem.class);
+    private static BulletSystem instance;
+
+    // Owner column values
+    public static final int OWNER_PLAYER = 0;
+    public static final int OWNER_SOLDIER = 1;
+    public static final int OWNER_BOSS = 2;
+
+    // Flag bits
+    private static final int FLAG_HIT = 1;
+
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final double HIT_FRAME_TIME = 0.05;  // same as Bullet's hit animation
+    private static final double HIT_OFFSET = 12;        // explosion is drawn centred on the bullet
+    private static final double CULL_MARGIN = 50;
+
+    // Columns
+    private double[] x;
+    private double[] y;
+    private double[] previousX;
+    private double[] previousY;
+    private double[] vx;
+    private double[] vy;
+    private double[] hitTime;
+    private int[] owner;
+    private int[] damage;
+    private int[] frame;
+    private int[] flags;
+
+    private int count;
+    private int peakCount;
+    private int hitFrameCount;
+
+    private BulletSystem() {
+        allocate(INITIAL_CAPACITY);
+    }
+
+    public static BulletSystem getInstance() {
+        if (instance == null) {
+            instance = new BulletSystem();
+        }
+        return instance;
+    }
+
+    private void allocate(int capacity) {
+        x = new double[capacity];
+        y = new double[capacity];
+        previousX = new double[capacity];
+        previousY = new double[capacity];
+        vx = new double[capacity];
+        vy = new double[capacity];
+        hitTime = new double[capacity];
+        owner = new int[capacity];
+        damage = new int[capacity];
+        frame = new int[capacity];
+        flags = new int[capacity];
+    }
+
+    private void grow() {
+        int capacity = x.length * 2;
+        x = Arrays.copyOf(x, capacity);
+        y = Arrays.copyOf(y, capacity);
+        previousX = Arrays.copyOf(previousX, capacity);
+        previousY = Arrays.copyOf(previousY, capacity);
+        vx = Arrays.copyOf(vx, capacity);
+        vy = Arrays.copyOf(vy, capacity);
+        hitTime = Arrays.copyOf(hitTime, capacity);
+        owner = Arrays.copyOf(owner, capacity);
+        damage = Arrays.copyOf(damage, capacity);
+        frame = Arrays.copyOf(frame, capacity);
+        flags = Arrays.copyOf(flags, capacity);
+        logger.debug("BulletSystem grown to {} slots", capacity);
+    }
+
+    // ==================== Spawn ====================
+
+    /**
+     * Spawn a plain bullet moving along (dirX, dirY) at Constants.BULLET_SPEED
+     * (same hitbox, speed and culling as {@code new Bullet(x, y, direction, ...)})
+     * @return index of the new bullet (valid until the next update)
+     */
+    public int spawn(double spawnX, double spawnY, double dirX, double dirY, int ownerId, int bulletDamage) {
+        if (count == x.length) {
+            grow();
+        }
+        if (hitFrameCount == 0) {
+            hitFrameCount = Math.max(1, SpriteLoader.getExplosion().size());
+        }
+
+        double length = Math.sqrt(dirX * dirX + dirY * dirY);
+        double scale = length == 0 ? 0 : Constants.BULLET_SPEED / length;
+
+        int i = count++;
+        x[i] = spawnX;
+        y[i] = spawnY;
+        previousX[i] = spawnX;
+        previousY[i] = spawnY;
+        vx[i] = dirX * scale;
+        vy[i] = dirY * scale;
+        hitTime[i] = 0;
+        owner[i] = ownerId;
+        damage[i] = bulletDamage;
+        frame[i] = 0;
+        flags[i] = 0;
+
+        if (count > peakCount) {
+            peakCount = count;
+        }
+        return i;
+    }
+
+    // ==================== Simulation ====================
+
+    /**
+     * Integrate every bullet, advance hit explosions and swap-remove the dead ones
+     * in a single pass. Hit bullets have zero velocity, so the move needs no branch.
+     */
+    public void update(double deltaTime) {
+        double minX = -CULL_MARGIN;
+        double maxX = Constants.SCREEN_WIDTH + CULL_MARGIN;
+        double minY = -CULL_MARGIN;
+        double maxY = Constants.SCREEN_HEIGHT + CULL_MARGIN;
+        double hitDuration = hitFrameCount * HIT_FRAME_TIME;
+
+        int i = 0;
+        while (i < count) {
+            double px = x[i] + vx[i] * deltaTime;
+            double py = y[i] + vy[i] * deltaTime;
+            x[i] = px;
+            y[i] = py;
+
+            int hit = flags[i] & FLAG_HIT;
+            double t = hitTime[i] + deltaTime * hit;
+            hitTime[i] = t;
+            frame[i] = (int) (t / HIT_FRAME_TIME);
+
+            boolean dead = px < minX | px > maxX | py < minY | py > maxY
+                    | (hit != 0 & t >= hitDuration);
+            if (dead) {
+                // The last bullet moves into this slot and is processed next
+                removeAt(i);
+            } else {
+                i++;
+            }
+        }
+    }
+
+    private void removeAt(int i) {
+        int last = --count;
+        if (i == last) return;
+        x[i] = x[last];
+        y[i] = y[last];
+        previousX[i] = previousX[last];
+        previousY[i] = previousY[last];
+        vx[i] = vx[last];
+        vy[i] = vy[last];
+        hitTime[i] = hitTime[last];
+        owner[i] = owner[last];
+        damage[i] = damage[last];
+        frame[i] = frame[last];
+        flags[i] = flags[last];
+    }
+
+    /**
+     * Snapshot positions for render interpolation (see GameObject.savePreviousPosition)
+     */
+    public void savePreviousPositions() {
+        System.arraycopy(x, 0, previousX, 0, count);
+        System.arraycopy(y, 0, previousY, 0, count);
+    }
+
+    // ==================== Collision ====================
+
+    /**
+     * First live (not yet hit) bullet overlapping the target, in spawn-slot order
+     * @param playerBullets true to test player bullets, false for enemy bullets
+     * @return bullet index, or -1 if none
+     */
+    public int findHit(Rectangle target, boolean playerBullets) {
+        double left = target.getLeft();
+        double right = target.getRight();
+        double top = target.getTop();
+        double bottom = target.getBottom();
+        double size = Constants.BULLET_SIZE;
+
+        for (int i = 0; i < count; i++) {
+            if ((flags[i] & FLAG_HIT) != 0 || (owner[i] == OWNER_PLAYER) != playerBullets) continue;
+            if (x[i] < right && x[i] + size > left && y[i] < bottom && y[i] + size > top) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Stop the bullet and start its explosion (same as Bullet.onHit)
+     */
+    public void onHit(int index) {
+        if ((flags[index] & FLAG_HIT) != 0) return;
+        flags[index] |= FLAG_HIT;
+        vx[index] = 0;
+        vy[index] = 0;
+        hitTime[index] = 0;
+        frame[index] = 0;
+    }
+
+    // ==================== Rendering ====================
+
+    /**
+     * Draw all flying bullets, then all explosions, so each batch keeps one image
+     */
+    public void render(GraphicsContext gc) {
+        if (count == 0) return;
+
+        double alpha = GameObject.getRenderAlpha();
+        SpriteFrame sprite = SpriteLoader.getBullet();
+        for (int i = 0; i < count; i++) {
+            if ((flags[i] & FLAG_HIT) != 0) continue;
+            sprite.draw(gc,
+                    previousX[i] + (x[i] - previousX[i]) * alpha,
+                    previousY[i] + (y[i] - previousY[i]) * alpha);
+        }
+
+        List<SpriteFrame> explosion = SpriteLoader.getExplosion();
+        int last = explosion.size() - 1;
+        for (int i = 0; i < count; i++) {
+            if ((flags[i] & FLAG_HIT) == 0) continue;
+            explosion.get(Math.min(frame[i], last)).draw(gc, x[i] - HIT_OFFSET, y[i] - HIT_OFFSET);
+        }
+    }
+
+    // ==================== Accessors ====================
+
+    public int getCount() { return count; }
+
+    /** Highest number of simultaneous bullets since the last clear() */
+    public int getPeakCount() { return peakCount; }
+
+    public int getCapacity() { return x.length; }
+
+    public double getX(int index) { return x[index]; }
+    public double getY(int index) { return y[index]; }
+    public double getVelocityX(int index) { return vx[index]; }
+    public double getVelocityY(int index) { return vy[index]; }
+    public int getOwner(int index) { return owner[index]; }
+    public int getDamage(int index) { return damage[index]; }
+    public boolean hasHit(int index) { return (flags[index] & FLAG_HIT) != 0; }
+
+    /**
+     * Drop every bullet (stage reset, boss defeated, ...). Capacity is kept.
+     */
+    public void clear() {
+        if (count > 0) {
+            logger.debug("BulletSystem cleared {} bullets (peak {})", count, peakCount);
+        }
+        count = 0;
+        peakCount = 0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("BulletSystem[count=%d, peak=%d, capacity=%d]", count, peakCount, x.length);
+    }
+}
@@ -1,6 +1,7 @@
 package se233.contra.model;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Interface for all enemies in the game
@@ -26,6 +27,35 @@ public interface Enemy {
      */
     List<Bullet> getBullets();
 
+    /**
+     * Number of live bullets; with getBullet(int) this walks the bullets
+     * without building a list (override when getBullets() has to copy/merge)
+     * @return Bullet count
+     */
+    default int getBulletCount() {
+        return getBullets().size();
+    }
+
+    /**
+     * @param index 0 .. getBulletCount() - 1
+     * @return Bullet at that index
+     */
+    default Bullet getBullet(int index) {
+        return getBullets().get(index);
+    }
+
+    /**
+     * Visit every bullet without copying (pass a method reference or a
+     * non-capturing lambda to keep the per-frame walk allocation-free)
+     * @param action Called once per bullet
+     */
+    default void forEachBullet(Consumer<Bullet> action) {
+        int count = getBulletCount();
+        for (int i = 0; i < count; i++) {
+            action.accept(getBullet(i));
+        }
+    }
+
     /**
      * Get score value awarded when this enemy is defeated
      * @return Score points
@@ -1,10 +1,10 @@
 package se233.contra.model;
 
 import javafx.scene.canvas.GraphicsContext;
-import javafx.scene.image.Image;
 import se233.contra.util.Rectangle;
 import se233.contra.util.Vector2D;
-import se233.contra.view.Animation;
+import se233.contra.view.AnimationClip;
+import se233.contra.view.SpriteFrame;
 
 public abstract class GameObject {
     protected Vector2D position;
@@ -13,13 +13,24 @@ public abstract class GameObject {
     protected boolean active;
     protected boolean facingRight;
 
-    // Animation
-    protected Animation currentAnimation;
+    // Position at the start of the current fixed simulation step (render interpolation)
+    protected double previousX;
+    protected double previousY;
+
+    // Fraction of a step elapsed since the last update, shared by every object
+    private static double renderAlpha = 1.0;
+
+    // Animation: the shared clip plus this object's position in it (no per-object frame lists)
+    protected AnimationClip clip;
+    protected double clipTime;
+    protected int clipFrame;
 
     public GameObject(double x, double y, double width, double height) {
         this.position = new Vector2D(x, y);
         this.velocity = new Vector2D(0, 0);
         this.bounds = new Rectangle(x, y, width, height);
+        this.previousX = x;
+        this.previousY = y;
         this.active = true;
         this.facingRight = true;
     }
@@ -55,6 +66,8 @@ public abstract class GameObject {
     public void setPosition(double x, double y) {
         position.set(x, y);
         updateBounds();
+        // Teleports (spawn, respawn) should not be smeared across a frame
+        savePreviousPosition();
     }
 
     public void setVelocity(double vx, double vy) {
@@ -69,24 +82,93 @@ public abstract class GameObject {
         this.facingRight = facingRight;
     }
 
+    // ==================== Render interpolation ====================
+
+    /**
+     * Remember the current position as the start of the next simulation step.
+     * GameController calls this for every moving object before each fixed step.
+     */
+    public void savePreviousPosition() {
+        previousX = position.getX();
+        previousY = position.getY();
+    }
+
+    /**
+     * @param alpha 0 = previous step, 1 = latest step (GameLoop accumulator remainder)
+     */
+    public static void setRenderAlpha(double alpha) {
+        renderAlpha = Math.max(0.0, Math.min(1.0, alpha));
+    }
+
+    public static double getRenderAlpha() { return renderAlpha; }
+
+    /** X to draw at, interpolated between the previous and current step */
+    protected double renderX() {
+        return previousX + (position.getX() - previousX) * renderAlpha;
+    }
+
+    /** Y to draw at, interpolated between the previous and current step */
+    protected double renderY() {
+        return previousY + (position.getY() - previousY) * renderAlpha;
+    }
+
     // Helper method for rendering with flip
-    protected void renderSprite(GraphicsContext gc, Image sprite) {
+    // Left-facing objects draw the mirrored twin of the frame: no canvas save/scale/restore
+    protected void renderSprite(GraphicsContext gc, SpriteFrame sprite) {
         if (sprite == null) return;
 
-        if (facingRight) {
-            // Normal rendering when facing RIGHT
-            gc.drawImage(sprite, position.getX(), position.getY());
-        } else {
-            // Flip horizontally when facing LEFT
-            gc.save();
-            gc.scale(-1, 1);
-            gc.drawImage(sprite,
-                    -position.getX() - sprite.getWidth(),
-                    position.getY());
-            gc.restore();
+        SpriteFrame frame = facingRight ? sprite : sprite.mirrored();
+        frame.draw(gc, renderX(), renderY());
+    }
+
+    // Same as renderSprite for the current frame of the clip (mirrored list lookup)
+    protected void renderClip(GraphicsContext gc) {
+        if (clip == null) return;
+
+        SpriteFrame frame = clip.getFrame(clipFrame, !facingRight);
+        if (frame != null) {
+            frame.draw(gc, renderX(), renderY());
         }
     }
 
+    // ==================== Animation playback ====================
+
+    /**
+     * Switch to a clip; starts it from the first frame unless it is already playing
+     */
+    protected void play(AnimationClip next) {
+        if (clip != next) {
+            clip = next;
+            restartClip();
+        }
+    }
+
+    protected void restartClip() {
+        clipTime = 0;
+        clipFrame = 0;
+    }
+
+    /**
+     * Advance the current clip by one update (at most one frame per call)
+     */
+    protected void advanceClip(double deltaTime) {
+        if (clip == null || clip.isFinished(clipFrame)) return;
+
+        clipTime += deltaTime;
+        if (clipTime >= clip.getFrameDuration()) {
+            clipTime -= clip.getFrameDuration();
+            clipFrame = clip.nextFrame(clipFrame);
+        }
+    }
+
+    protected boolean isClipFinished() {
+        return clip != null && clip.isFinished(clipFrame);
+    }
+
+    protected SpriteFrame currentClipFrame() {
+        return clip != null ? clip.getFrame(clipFrame) : null;
+    }
+
     public void takeDamage(int damage) {
         // Default implementation - subclasses can override
         if (this instanceof Enemy) {
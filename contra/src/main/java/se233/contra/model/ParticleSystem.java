@@ -0,0 +1,338 @@
+package se233.contra.model;
+
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.paint.Color;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import se233.contra.ecs.EntityFactory;
+import se233.contra.ecs.EntityWorld;
+import se233.contra.util.Constants;
+
+/**
+ * ParticleSystem - Singleton emitter for visual effects plus a fixed-capacity spark pool
+ * An effect (kill, bullet impact, boss death, ground-pound dust, muzzle flash)
+ * is a burst of explosion sprites and sparks. The explosion sprites are ECS
+ * entities (EntityFactory.createExplosion) in the world GameController binds
+ * with setWorld(); the sparks and dust live here in parallel primitive columns
+ * (same layout as BulletSystem), so they cost a few array writes each. The
+ * pool is allocated once at Constants.PARTICLE_CAPACITY and never grows:
+ * when it is full, new sparks are dropped (and counted) rather than
+ * allocating in the middle of a boss death.
+ *
+ * Placement and sparks use their own random generator, never GameRandom,
+ * so effects cannot change a replay. Game thread only.
+ */
+public class ParticleSystem {
+    private static final Logger logger = LoggerFactory.getLogger(ParticleSystem.class);
+    private static ParticleSystem instance;
+
+    // Spark colours, indexed by the colour column
+    private static final int FIRE_WHITE = 0;
+    private static final int FIRE_YELLOW = 1;
+    private static final int FIRE_ORANGE = 2;
+    private static final int FIRE_RED = 3;
+    private static final int DUST_LIGHT = 4;
+    private static final int DUST_DARK = 5;
+    private static final Color[] PALETTE = {
+            Color.rgb(255, 255, 230),
+            Color.rgb(255, 220, 60),
+            Color.rgb(255, 140, 20),
+            Color.rgb(220, 50, 20),
+            Color.rgb(190, 170, 140),
+            Color.rgb(120, 100, 80)
+    };
+
+    private static final long SEED = 0x9E3779B97F4A7C15L;
+    private static final double CULL_MARGIN = 50;
+
+    /**
+     * Emitter presets. Each burst is some explosion sprites (optionally
+     * staggered in time and scattered around the origin) plus some sparks
+     * fired in a cone. Angles are in degrees, 0 = right, 90 = down.
+     * Explosion frame times are seconds per frame.
+     */
+    public enum Preset {
+        //             expl  frame  radius stagger  sparks  speed      angle spread  life        size  gravity  colours
+        KILL(          1,    0.15,  0,     0,       10,     60, 160,   -90,  360,    0.25, 0.5,  3,    300,     FIRE_YELLOW, FIRE_ORANGE, FIRE_RED),
+        BULLET_IMPACT( 1,    0.05,  0,     0,       4,      40, 120,   -90,  360,    0.1,  0.2,  2,    0,       FIRE_WHITE, FIRE_YELLOW),
+        BOSS_DEFEAT(   14,   0.12,  70,    1.5,     60,     80, 260,   -90,  360,    0.4,  1.0,  4,    250,     FIRE_WHITE, FIRE_YELLOW, FIRE_ORANGE, FIRE_RED),
+        GROUND_POUND(  0,    0,     0,     0,       28,     120, 280,  -90,  150,    0.3,  0.6,  4,    600,     DUST_LIGHT, DUST_DARK),
+        MUZZLE_FLASH(  0,    0,     0,     0,       3,      80, 160,   0,    40,     0.05, 0.1,  2,    0,       FIRE_WHITE, FIRE_YELLOW);
+
+        final int explosions;
+        final double explosionFrameTime;
+        final double explosionRadius;
+        final double explosionStagger;
+        final int sparks;
+        final double minSpeed;
+        final double maxSpeed;
+        final double angle;
+        final double spread;
+        final double minLife;
+        final double maxLife;
+        final double size;
+        final double gravity;
+        final int[] colours;
+
+        Preset(int explosions, double explosionFrameTime, double explosionRadius, double explosionStagger,
+               int sparks, double minSpeed, double maxSpeed, double angle, double spread,
+               double minLife, double maxLife, double size, double gravity, int... colours) {
+            this.explosions = explosions;
+            this.explosionFrameTime = explosionFrameTime;
+            this.explosionRadius = explosionRadius;
+            this.explosionStagger = explosionStagger;
+            this.sparks = sparks;
+            this.minSpeed = minSpeed;
+            this.maxSpeed = maxSpeed;
+            this.angle = Math.toRadians(angle);
+            this.spread = Math.toRadians(spread);
+            this.minLife = minLife;
+            this.maxLife = maxLife;
+            this.size = size;
+            this.gravity = gravity;
+            this.colours = colours;
+        }
+
+        /** Sparks one burst adds to the pool */
+        public int getParticleCount() { return sparks; }
+
+        /** Explosion entities one burst adds to the bound world */
+        public int getExplosionCount() { return explosions; }
+    }
+
+    // Columns (x, y are the particle centre)
+    private final double[] x;
+    private final double[] y;
+    private final double[] previousX;
+    private final double[] previousY;
+    private final double[] vx;
+    private final double[] vy;
+    private final double[] age;
+    private final double[] life;
+    private final double[] size;
+    private final double[] gravity;
+    private final int[] colour;
+
+    // Where explosion sprites go (null: sparks only)
+    private EntityWorld world;
+
+    private int count;
+    private int peakCount;
+    private long dropped;
+    private long randomState = SEED;
+
+    private ParticleSystem() {
+        int capacity = Constants.PARTICLE_CAPACITY;
+        x = new double[capacity];
+        y = new double[capacity];
+        previousX = new double[capacity];
+        previousY = new double[capacity];
+        vx = new double[capacity];
+        vy = new double[capacity];
+        age = new double[capacity];
+        life = new double[capacity];
+        size = new double[capacity];
+        gravity = new double[capacity];
+        colour = new int[capacity];
+    }
+
+    public static ParticleSystem getInstance() {
+        if (instance == null) {
+            instance = new ParticleSystem();
+        }
+        return instance;
+    }
+
+    /**
+     * World that receives the explosion sprites of every burst from now on
+     * (GameController binds its own before each tick); null drops them
+     */
+    public void setWorld(EntityWorld world) {
+        this.world = world;
+    }
+
+    // ==================== Emit ====================
+
+    /**
+     * Burst of the preset centred on (originX, originY)
+     */
+    public void emit(Preset preset, double originX, double originY) {
+        emit(preset, originX, originY, true);
+    }
+
+    /**
+     * Burst of the preset; facingRight false mirrors its cone (muzzle flash to the left)
+     */
+    public void emit(Preset preset, double originX, double originY, boolean facingRight) {
+        double half = Constants.EXPLOSION_SIZE / 2.0;
+        for (int n = 0; n < preset.explosions; n++) {
+            double r = preset.explosionRadius * Math.sqrt(nextDouble());
+            double a = nextDouble() * Math.PI * 2;
+            // The first one always starts at once, the rest are spread over the stagger window
+            double delay = n == 0 ? 0 : nextDouble() * preset.explosionStagger;
+            if (world != null) {
+                EntityFactory.createExplosion(world, originX + Math.cos(a) * r - half,
+                        originY + Math.sin(a) * r - half, preset.explosionFrameTime, delay);
+            }
+        }
+
+        double baseAngle = facingRight ? preset.angle : Math.PI - preset.angle;
+        for (int n = 0; n < preset.sparks; n++) {
+            double a = baseAngle + (nextDouble() - 0.5) * preset.spread;
+            double speed = preset.minSpeed + nextDouble() * (preset.maxSpeed - preset.minSpeed);
+            double sparkLife = preset.minLife + nextDouble() * (preset.maxLife - preset.minLife);
+            int c = preset.colours[(int) (nextDouble() * preset.colours.length)];
+            add(originX, originY, Math.cos(a) * speed, Math.sin(a) * speed,
+                    sparkLife, preset.size, preset.gravity, c);
+        }
+    }
+
+    private void add(double px, double py, double velocityX, double velocityY,
+                     double lifetime, double particleSize, double g, int c) {
+        if (count == x.length) {
+            dropped++;
+            return;
+        }
+        int i = count++;
+        x[i] = px;
+        y[i] = py;
+        previousX[i] = px;
+        previousY[i] = py;
+        vx[i] = velocityX;
+        vy[i] = velocityY;
+        age[i] = 0;
+        life[i] = lifetime;
+        size[i] = particleSize;
+        gravity[i] = g;
+        colour[i] = c;
+
+        if (count > peakCount) {
+            peakCount = count;
+        }
+    }
+
+    // xorshift64*: cosmetic randomness that never touches the GameRandom streams
+    private double nextDouble() {
+        long s = randomState;
+        s ^= s >>> 12;
+        s ^= s << 25;
+        s ^= s >>> 27;
+        randomState = s;
+        return ((s * 0x2545F4914F6CDD1DL) >>> 11) * 0x1.0p-53;
+    }
+
+    // ==================== Simulation ====================
+
+    /**
+     * Age, move and swap-remove particles in a single pass
+     */
+    public void update(double deltaTime) {
+        double minX = -CULL_MARGIN;
+        double maxX = Constants.SCREEN_WIDTH + CULL_MARGIN;
+        double maxY = Constants.SCREEN_HEIGHT + CULL_MARGIN;
+
+        int i = 0;
+        while (i < count) {
+            double t = age[i] + deltaTime;
+            age[i] = t;
+            double v = vy[i] + gravity[i] * deltaTime;
+            vy[i] = v;
+            x[i] += vx[i] * deltaTime;
+            y[i] += v * deltaTime;
+
+            boolean dead = t >= life[i] | x[i] < minX | x[i] > maxX | y[i] > maxY;
+            if (dead) {
+                // The last particle moves into this slot and is processed next
+                removeAt(i);
+            } else {
+                i++;
+            }
+        }
+    }
+
+    private void removeAt(int i) {
+        int last = --count;
+        if (i == last) return;
+        x[i] = x[last];
+        y[i] = y[last];
+        previousX[i] = previousX[last];
+        previousY[i] = previousY[last];
+        vx[i] = vx[last];
+        vy[i] = vy[last];
+        age[i] = age[last];
+        life[i] = life[last];
+        size[i] = size[last];
+        gravity[i] = gravity[last];
+        colour[i] = colour[last];
+    }
+
+    /**
+     * Snapshot positions for render interpolation (see GameObject.savePreviousPosition)
+     */
+    public void savePreviousPositions() {
+        System.arraycopy(x, 0, previousX, 0, count);
+        System.arraycopy(y, 0, previousY, 0, count);
+    }
+
+    // ==================== Rendering ====================
+
+    /**
+     * Draw the sparks one colour at a time, so the whole pool costs one fill
+     * change per palette colour (explosion sprites are drawn with the other
+     * ECS entities). Sparks shrink as they age instead of fading, which keeps
+     * the global alpha untouched.
+     */
+    public void render(GraphicsContext gc) {
+        if (count == 0) return;
+
+        double alpha = GameObject.getRenderAlpha();
+        for (int c = 0; c < PALETTE.length; c++) {
+            boolean filled = false;
+            for (int i = 0; i < count; i++) {
+                if (colour[i] != c) continue;
+                if (!filled) {
+                    gc.setFill(PALETTE[c]);
+                    filled = true;
+                }
+                double s = size[i] * (1 - age[i] / life[i]);
+                gc.fillRect(previousX[i] + (x[i] - previousX[i]) * alpha - s / 2,
+                        previousY[i] + (y[i] - previousY[i]) * alpha - s / 2, s, s);
+            }
+        }
+    }
+
+    // ==================== Accessors ====================
+
+    public int getCount() { return count; }
+
+    /** Highest number of simultaneous particles since the last clear() */
+    public int getPeakCount() { return peakCount; }
+
+    /** Particles not emitted because the pool was full, since the last clear() */
+    public long getDropped() { return dropped; }
+
+    public int getCapacity() { return x.length; }
+
+    public double getX(int index) { return x[index]; }
+    public double getY(int index) { return y[index]; }
+
+    /**
+     * Drop every particle (new game, stage reset) and restart the random
+     * sequence, so the same run always shows the same effects.
+     */
+    public void clear() {
+        if (count > 0 || dropped > 0) {
+            logger.debug("ParticleSystem cleared {} particles (peak {}, dropped {})", count, peakCount, dropped);
+        }
+        count = 0;
+        peakCount = 0;
+        dropped = 0;
+        randomState = SEED;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ParticleSystem[count=%d, peak=%d, dropped=%d, capacity=%d]",
+                count, peakCount, dropped, x.length);
+    }
+}
@@ -12,7 +12,7 @@ import se233.contra.util.Constants;
 import se233.contra.util.Rectangle;
 import se233.contra.util.Vector2D;
 import se233.contra.util.SoundManager;
-import se233.contra.view.Animation;
+import se233.contra.view.AnimationClip;
 import se233.contra.view.SpriteLoader;
 
 import java.util.ArrayList;
@@ -55,12 +55,12 @@ public class Player extends GameObject {
     private double invincibleTimer;
 
     // ---- Animations ----
-    private Animation idleAnim;
-    private Animation runAnim;
-    private Animation jumpAnim;
-    private Animation proneAnim;
-    private Animation shootAnim;
-    private Animation deadAnim;
+    private AnimationClip idleAnim;
+    private AnimationClip runAnim;
+    private AnimationClip jumpAnim;
+    private AnimationClip proneAnim;
+    private AnimationClip shootAnim;
+    private AnimationClip deadAnim;
 
     // ------------------------------------------------------------------------
     // Constructor
@@ -79,7 +79,7 @@ public class Player extends GameObject {
         this.invincibleTimer = 0;
 
         initializeAnimations();
-        currentAnimation = idleAnim;
+        play(idleAnim);
 
         logger.info("Player created at ({}, {}) with Rifle",
                 position.getX(), position.getY());
@@ -89,12 +89,12 @@ public class Player extends GameObject {
     // Initialization
     // ------------------------------------------------------------------------
     private void initializeAnimations() {
-        idleAnim = new Animation(SpriteLoader.getPlayerIdle(), Constants.IDLE_ANIMATION_SPEED);
-        runAnim = new Animation(SpriteLoader.getPlayerRun(), Constants.RUN_ANIMATION_SPEED);
-        jumpAnim = new Animation(SpriteLoader.getPlayerJump(), 0.1);
-        proneAnim = new Animation(SpriteLoader.getPlayerProne(), 0.1);
-        shootAnim = new Animation(SpriteLoader.getPlayerShoot(), Constants.SHOOT_ANIMATION_SPEED);
-        deadAnim = new Animation(SpriteLoader.getExplosion(), 0.1, false);
+        idleAnim = AnimationClip.of(SpriteLoader.getPlayerIdle(), Constants.IDLE_ANIMATION_SPEED);
+        runAnim = AnimationClip.of(SpriteLoader.getPlayerRun(), Constants.RUN_ANIMATION_SPEED);
+        jumpAnim = AnimationClip.of(SpriteLoader.getPlayerJump(), 0.1);
+        proneAnim = AnimationClip.of(SpriteLoader.getPlayerProne(), 0.1);
+        shootAnim = AnimationClip.of(SpriteLoader.getPlayerShoot(), Constants.SHOOT_ANIMATION_SPEED);
+        deadAnim = AnimationClip.of(SpriteLoader.getExplosion(), 0.1, false);
     }
 
     // ------------------------------------------------------------------------
@@ -103,8 +103,8 @@ public class Player extends GameObject {
     @Override
     public void update(double deltaTime) {
         if (currentState == State.DEAD) {
-            deadAnim.update(deltaTime);
-            if (deadAnim.isFinished()) {
+            advanceClip(deltaTime);
+            if (isClipFinished()) {
                 active = false;
             }
             return;
@@ -246,7 +246,9 @@ public class Player extends GameObject {
         position.setY(position.getY() + heightDiff);
         bounds = new Rectangle(position.getX(), position.getY(), PRONE_WIDTH, PRONE_HEIGHT);
 
-        logger.debug("Enter PRONE - Y: {} (shifted down by {})", position.getY(), heightDiff);
+        if (logger.isDebugEnabled()) {
+            logger.debug("Enter PRONE - Y: {} (shifted down by {})", position.getY(), heightDiff);
+        }
     }
 
     private void exitProne() {
@@ -260,7 +262,9 @@ public class Player extends GameObject {
             currentState = Math.abs(velocity.getX()) > 1 ? State.RUNNING : State.IDLE;
         }
 
-        logger.debug("Exit PRONE - Y: {} (shifted up by {})", position.getY(), heightDiff);
+        if (logger.isDebugEnabled()) {
+            logger.debug("Exit PRONE - Y: {} (shifted up by {})", position.getY(), heightDiff);
+        }
     }
 
     // ------------------------------------------------------------------------
@@ -332,9 +336,10 @@ public class Player extends GameObject {
         }
 
         // ✅ ใช้ Weapon System
-        Vector2D direction = new Vector2D(facingRight ? 1 : -1, 0);
-        List<Bullet> newBullets = currentWeapon.fire(muzzleX, muzzleY, direction);
-        bullets.addAll(newBullets);
+        Vector2D direction = Vector2D.scratch(facingRight ? 1 : -1, 0);
+        int fired = currentWeapon.fire(muzzleX, muzzleY, direction, bullets);
+        ParticleSystem.getInstance().emit(ParticleSystem.Preset.MUZZLE_FLASH,
+                muzzleX, muzzleY + Constants.BULLET_SIZE / 2.0, facingRight);
 
         // ✅ เพิ่ม: เล่นเสียงยิงปืนตามประเภทอาวุธ
         if (currentWeapon instanceof Rifle) {
@@ -343,8 +348,10 @@ public class Player extends GameObject {
             SoundManager.getInstance().playSpreadGunShot();
         }
 
-        logger.debug("Player shot {} bullet(s) with {}",
-                newBullets.size(), currentWeapon.getClass().getSimpleName());
+        if (logger.isDebugEnabled()) {
+            logger.debug("Player shot {} bullet(s) with {}",
+                    fired, currentWeapon.getClass().getSimpleName());
+        }
     }
 
     private void switchWeapon(Weapon newWeapon) {
@@ -353,7 +360,7 @@ public class Player extends GameObject {
     }
 
     private void updateBullets(double deltaTime) {
-        bullets.removeIf(bullet -> !bullet.isActive());
+        BulletPool.getInstance().releaseInactive(bullets);
         for (Bullet bullet : bullets) {
             bullet.update(deltaTime);
         }
@@ -365,7 +372,7 @@ public class Player extends GameObject {
     // ------------------------------------------------------------------------
 
     private void updateAnimation(double deltaTime) {
-        Animation targetAnimation = switch (currentState) {
+        AnimationClip target = switch (currentState) {
             case IDLE -> idleAnim;
             case RUNNING -> runAnim;
             case JUMPING, FALLING -> jumpAnim;
@@ -374,12 +381,8 @@ public class Player extends GameObject {
             case DEAD -> deadAnim;
         };
 
-        if (currentAnimation != targetAnimation) {
-            currentAnimation = targetAnimation;
-            currentAnimation.reset();
-        }
-
-        currentAnimation.update(deltaTime);
+        play(target);
+        advanceClip(deltaTime);
     }
 
     // ------------------------------------------------------------------------
@@ -403,7 +406,7 @@ public class Player extends GameObject {
         }
 
         // Render player sprite
-        renderSprite(gc, currentAnimation.getCurrentFrame());
+        renderClip(gc);
 
         // ✅ รีเซ็ต alpha กลับเป็นปกติ
         if (invincible) {
@@ -445,8 +448,8 @@ public class Player extends GameObject {
     private void die() {
         currentState = State.DEAD;
         velocity.set(0, 0);
-        currentAnimation = deadAnim;
-        deadAnim.reset();
+        clip = deadAnim;
+        restartClip();
 
         // ✅ เพิ่ม: เล่นเสียงตาย
         SoundManager.getInstance().playPlayerDeath();
@@ -480,7 +483,9 @@ public class Player extends GameObject {
 
     public void addScore(int points) {
         score += points;
-        logger.debug("Score +{} = {}", points, score);
+        if (logger.isDebugEnabled()) {
+            logger.debug("Score +{} = {}", points, score);
+        }
     }
 
     /**
@@ -1,13 +1,17 @@
 package se233.contra.model;
 
 import javafx.scene.canvas.GraphicsContext;
-import javafx.scene.image.Image;
 import javafx.scene.paint.Color;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import se233.contra.ecs.EntityFactory;
+import se233.contra.ecs.EntitySystem;
+import se233.contra.ecs.EntityWorld;
+import se233.contra.ecs.SoldierAiSystem;
 import se233.contra.util.Constants;
+import se233.contra.util.GameRandom;
 import se233.contra.util.Vector2D;
-import se233.contra.view.Animation;
+import se233.contra.view.AnimationClip;
 import se233.contra.view.SpriteLoader;
 
 import java.util.ArrayList;
@@ -23,132 +27,137 @@ public class Soldier extends GameObject implements Enemy {
         DEAD
     }
 
-    protected State currentState;
-    protected int health;
-    protected boolean onGround;
-    protected double shootTimer;
-    protected double shootCooldown;
-    protected static final double SHOOT_INTERVAL = 2.0;
-    protected static final double SHOOT_DURATION = 0.5;
-    protected double patrolSpeed;
-    protected double targetX;
-    protected static final Random random = new Random();
-    protected Animation runAnim;
-    protected Animation shootAnim;
-    protected Animation deathAnim;
+    // aiState -> State (SoldierAiSystem uses the same order)
+    private static final State[] STATES = State.values();
+
+    // Systems for a soldier that owns its world (standalone soldiers, tests)
+    private static final EntitySystem[] OWN_WORLD_SYSTEMS = EntityFactory.soldierSystems();
+
+    // Position, velocity, hitbox, health and AI live in the ECS world and are
+    // advanced there by the soldier systems; this object keeps what is per
+    // soldier only (animation, bullets) and mirrors the world for collision and rendering
+    protected final EntityWorld world;
+    protected final int entity;
+    private final boolean ownsWorld;
+
+    protected AnimationClip runAnim;
+    protected AnimationClip shootAnim;
+    protected AnimationClip deathAnim;
     protected final List<Bullet> bullets;
     protected boolean scoreAwarded = false; // ✅ เพิ่ม flag เพื่อเช็คว่าบวก score ไปแล้ว
 
+    /**
+     * Standalone soldier with a world of its own; update() runs the soldier systems itself
+     */
     public Soldier(double x, double y) {
-        super(x, Constants.GROUND_Y - Constants.SOLDIER_HEIGHT,
-                Constants.SOLDIER_WIDTH, Constants.SOLDIER_HEIGHT);
-
-        this.health = Constants.SOLDIER_TIER1_HP;
-        this.currentState = State.RUNNING;
-        this.onGround = true;
-        this.shootTimer = random.nextDouble() * SHOOT_INTERVAL;
-        this.shootCooldown = 0;
-        this.patrolSpeed = 50 + random.nextDouble() * 30;
-        this.targetX = random.nextDouble() * 400 + 100;
-        this.bullets = new ArrayList<>();
-        this.scoreAwarded = false; // ✅ เพิ่มบรรทัดนี้
+        this(new EntityWorld(1), true, x, y);
+    }
 
-        initializeAnimations();
+    /**
+     * Soldier living in a shared world; its owner runs EntityFactory.soldierSystems()
+     * over that world before calling update()
+     */
+    public Soldier(EntityWorld world, double x, double y) {
+        this(world, false, x, y);
+    }
+
+    private Soldier(EntityWorld world, boolean ownsWorld, double x, double y) {
+        this(world, ownsWorld, x, y, Constants.SOLDIER_WIDTH, Constants.SOLDIER_HEIGHT, Constants.SOLDIER_TIER1_HP);
 
-        // Soldier sprite faces LEFT by default
-        // We want to move LEFT and face LEFT, so facingRight = true (will flip to RIGHT visually)
-        facingRight = true;  // Will flip sprite to show RIGHT
-        velocity.setX(-patrolSpeed);  // But move LEFT
+        initializeAnimations();
 
-        logger.debug("Soldier created at ({}, {}) with HP {}",
-                position.getX(), position.getY(), this.health);
+        if (logger.isDebugEnabled()) {
+            logger.debug("Soldier created at ({}, {}) with HP {}",
+                    position.getX(), position.getY(), getHealth());
+        }
     }
 
-    // Constructor for subclasses (SoldierTier2)
-    public Soldier(double x, double y, double width, double height, int health) {
-        super(x, Constants.GROUND_Y - height, width, height);
-        this.health = health;
-        this.currentState = State.RUNNING;
-        this.onGround = true;
-        this.shootTimer = random.nextDouble() * SHOOT_INTERVAL;
-        this.shootCooldown = 0;
-        this.patrolSpeed = 50 + random.nextDouble() * 30;
-        this.targetX = random.nextDouble() * 400 + 100;
+    // Constructor for subclasses (SoldierTier2); y is where the feet are (see EntityFactory.createSoldier)
+    protected Soldier(EntityWorld world, boolean ownsWorld, double x, double y,
+                      double width, double height, int health) {
+        super(x, Math.min(y, Constants.GROUND_Y) - height, width, height);
+        this.world = world;
+        this.ownsWorld = ownsWorld;
         this.bullets = new ArrayList<>();
         this.scoreAwarded = false; // ✅ เพิ่มบรรทัดนี้
 
-        // Same: flip sprite to show right, but move left
-        this.facingRight = true;
-        this.velocity.setX(-patrolSpeed);
+        // Per-soldier stream from the session seed (replays stay deterministic)
+        Random random = GameRandom.newStream();
+        double shootTimer = random.nextDouble() * SoldierAiSystem.SHOOT_INTERVAL;
+        double patrolSpeed = 50 + random.nextDouble() * 30;
+        double targetX = random.nextDouble() * 400 + 100;
+        this.entity = EntityFactory.createSoldier(world, x, y, width, height, health,
+                patrolSpeed, targetX, shootTimer, random.nextLong());
+
+        syncFromWorld();
     }
 
     protected void initializeAnimations() {
-        runAnim = new Animation(SpriteLoader.getSoldierRun(), 0.15);
-        shootAnim = new Animation(SpriteLoader.getSoldierShoot(), 0.2);
-        deathAnim = new Animation(SpriteLoader.getExplosion(), 0.15, false);
-        currentAnimation = runAnim;
+        runAnim = AnimationClip.of(SpriteLoader.getSoldierRun(), 0.15);
+        shootAnim = AnimationClip.of(SpriteLoader.getSoldierShoot(), 0.2);
+        deathAnim = AnimationClip.of(SpriteLoader.getExplosion(), 0.15, false);
+        play(runAnim);
     }
 
+    /**
+     * Work that touches only this soldier (animation, its bullets), so
+     * GameController may run it on ForkJoin workers. Anything on shared state
+     * waits for commitBullets(), which a soldier in a shared world leaves to
+     * its owner's serial merge; a standalone soldier runs it itself.
+     */
     @Override
     public void update(double deltaTime) {
-        if (currentState == State.DEAD) {
-            updateDeath(deltaTime);
-            return;
+        if (ownsWorld) {
+            for (EntitySystem system : OWN_WORLD_SYSTEMS) {
+                system.update(world, deltaTime);
+            }
         }
+        syncFromWorld();
 
-        updateAI(deltaTime);
-        applyGravity(deltaTime);
-        updatePosition(deltaTime);
-        checkGroundCollision();
-        updateAnimation(deltaTime);
-        updateBullets(deltaTime);
+        if (isDead()) {
+            updateDeath(deltaTime);
+        } else {
+            updateAnimation(deltaTime);
+            updateBullets(deltaTime);
 
-        if (position.getX() < -100 || position.getX() > Constants.SCREEN_WIDTH + 100) {
-            active = false;
+            if (position.getX() < -100 || position.getX() > Constants.SCREEN_WIDTH + 100) {
+                active = false;
+            }
         }
-    }
-
-    protected void updateAI(double deltaTime) {
-        shootTimer += deltaTime;
-
-        if (currentState == State.SHOOTING) {
-            velocity.setX(0);
-            shootCooldown -= deltaTime;
 
-            if (shootCooldown <= 0) {
-                currentState = State.RUNNING;
-                velocity.setX(facingRight ? -patrolSpeed : patrolSpeed);
-            }
-        } else {
-            // Patrol behavior - adjusted for inverted logic
-            if (facingRight && position.getX() <= targetX) {
-                facingRight = false;
-                velocity.setX(patrolSpeed);
-                targetX = random.nextDouble() * 200 + 300;
-            } else if (!facingRight && position.getX() >= targetX) {
-                facingRight = true;
-                velocity.setX(-patrolSpeed);
-                targetX = random.nextDouble() * 200;
-            }
+        if (ownsWorld) {
+            commitBullets();
+        }
+    }
 
-            // Shoot periodically
-            if (shootTimer >= SHOOT_INTERVAL) {
-                currentState = State.SHOOTING;
-                shootCooldown = SHOOT_DURATION;
-                shootTimer = 0;
-                shoot();
-            }
+    /**
+     * Serial half of the update: hand finished bullets back to the BulletPool
+     * and fire the shot the AI asked for (AI_FIRE). Game thread only.
+     */
+    public void commitBullets() {
+        BulletPool.getInstance().releaseInactive(bullets);
+        if (world.consumeAiFlag(entity, EntityWorld.AI_FIRE) && !isDead()) {
+            shoot();
         }
     }
 
+    /**
+     * Copy what the soldier systems computed into this object (collision and
+     * rendering read position, velocity, bounds and facing from here)
+     */
+    protected void syncFromWorld() {
+        position.set(world.getX(entity), world.getY(entity));
+        velocity.set(world.getVelocityX(entity), world.getVelocityY(entity));
+        facingRight = world.hasAiFlag(entity, EntityWorld.AI_FACING_RIGHT);
+        updateBounds();
+    }
+
     protected void shoot() {
-        Vector2D bulletPos = new Vector2D(
-                position.getX() + (facingRight ? -8 : bounds.getWidth()),
-                position.getY() + bounds.getHeight() / 2
-        );
+        double bulletX = position.getX() + (facingRight ? -8 : bounds.getWidth());
+        double bulletY = position.getY() + bounds.getHeight() / 2;
 
-        Vector2D direction = new Vector2D(facingRight ? -1 : 1, 0);
-        Bullet bullet = new Bullet(bulletPos.getX(), bulletPos.getY(), direction, false);
+        Vector2D direction = Vector2D.scratch(facingRight ? -1 : 1, 0);
+        Bullet bullet = BulletPool.getInstance().acquire(bulletX, bulletY, direction, false);
         bullets.add(bullet);
 
         logger.trace("Soldier shot bullet");
@@ -159,74 +168,35 @@ public class Soldier extends GameObject implements Enemy {
         return position.getY() + bounds.getHeight() / 2;
     }
 
-    protected void applyGravity(double deltaTime) {
-        if (!onGround) {
-            velocity.setY(velocity.getY() + Constants.GRAVITY * deltaTime);
-            if (velocity.getY() > 600) {
-                velocity.setY(600);
-            }
-        }
-    }
-
-    protected void checkGroundCollision() {
-        double soldierBottom = position.getY() + bounds.getHeight();
-
-        if (soldierBottom >= Constants.GROUND_Y) {
-            position.setY(Constants.GROUND_Y - bounds.getHeight());
-            velocity.setY(0);
-            onGround = true;
-        } else {
-            onGround = false;
-        }
-
-        checkScreenBoundaries();
-        updateBounds();
-    }
-
-    protected void checkScreenBoundaries() {
-        if (position.getX() < 0) {
-            position.setX(0);
-            if (facingRight) {
-                facingRight = false;
-                targetX = random.nextDouble() * 200 + 300;
-                velocity.setX(patrolSpeed);
-            }
-        }
-        if (position.getX() + bounds.getWidth() > Constants.SCREEN_WIDTH) {
-            position.setX(Constants.SCREEN_WIDTH - bounds.getWidth());
-            if (!facingRight) {
-                facingRight = true;
-                targetX = random.nextDouble() * 200;
-                velocity.setX(-patrolSpeed);
-            }
-        }
+    /**
+     * Walking speed; also restarts the walk at that speed in the current direction
+     */
+    protected void setPatrolSpeed(double speed) {
+        world.setAiSpeed(entity, speed);
+        world.setVelocity(entity, facingRight ? -speed : speed, velocity.getY());
+        syncFromWorld();
     }
 
     protected void updateBullets(double deltaTime) {
-        bullets.removeIf(bullet -> !bullet.isActive());
         for (Bullet bullet : bullets) {
             bullet.update(deltaTime);
         }
     }
 
     protected void updateAnimation(double deltaTime) {
-        Animation targetAnimation = switch (currentState) {
+        AnimationClip target = switch (getState()) {
             case RUNNING -> runAnim;
             case SHOOTING -> shootAnim;
             case DEAD -> deathAnim;
         };
 
-        if (currentAnimation != targetAnimation) {
-            currentAnimation = targetAnimation;
-            currentAnimation.reset();
-        }
-
-        currentAnimation.update(deltaTime);
+        play(target);
+        advanceClip(deltaTime);
     }
 
     protected void updateDeath(double deltaTime) {
-        deathAnim.update(deltaTime);
-        if (deathAnim.isFinished()) {
+        advanceClip(deltaTime);
+        if (isClipFinished()) {
             active = false;
         }
     }
@@ -239,19 +209,34 @@ public class Soldier extends GameObject implements Enemy {
 
     @Override
     public void hit(int damage) {
-        if (currentState == State.DEAD) return;
+        if (isDead()) return;
 
-        health -= damage;
-        logger.debug("Soldier hit! Damage: {}, HP remaining: {}", damage, health);
+        boolean killed = world.damage(entity, damage);
+        if (logger.isDebugEnabled()) {
+            logger.debug("Soldier hit! Damage: {}, HP remaining: {}", damage, getHealth());
+        }
 
-        if (health <= 0) {
+        if (killed) {
             die();
         }
     }
 
     @Override
     public boolean isDead() {
-        return currentState == State.DEAD;
+        return getState() == State.DEAD;
+    }
+
+    public State getState() {
+        return STATES[world.getAiState(entity)];
+    }
+
+    public int getHealth() {
+        return world.getHealth(entity);
+    }
+
+    /** Id of this soldier's entity in its EntityWorld */
+    public int getEntity() {
+        return entity;
     }
 
     @Override
@@ -274,11 +259,34 @@ public class Soldier extends GameObject implements Enemy {
     }
 
     protected void die() {
-        currentState = State.DEAD;
-        currentAnimation = deathAnim;
-        deathAnim.reset();
+        world.setAiState(entity, SoldierAiSystem.DEAD);
+        world.setVelocity(entity, 0, 0);
+        clip = deathAnim;
+        restartClip();
         velocity.set(0, 0);
-        logger.debug("Soldier killed at ({}, {})", position.getX(), position.getY());
+        if (logger.isDebugEnabled()) {
+            logger.debug("Soldier killed at ({}, {})", position.getX(), position.getY());
+        }
+    }
+
+    // Moves go through the world, which is where the soldier systems read them
+
+    @Override
+    public void setPosition(double x, double y) {
+        world.setTransform(entity, x, y);
+        super.setPosition(x, y);
+    }
+
+    @Override
+    public void setVelocity(double vx, double vy) {
+        world.setVelocity(entity, vx, vy);
+        super.setVelocity(vx, vy);
+    }
+
+    @Override
+    public void setFacingRight(boolean facingRight) {
+        world.setAiFlag(entity, EntityWorld.AI_FACING_RIGHT, facingRight);
+        super.setFacingRight(facingRight);
     }
 
     @Override
@@ -287,8 +295,8 @@ public class Soldier extends GameObject implements Enemy {
             bullet.render(gc);
         }
 
-        // Custom render for Soldier - sprites face LEFT by default
-        renderSoldierSprite(gc, currentAnimation.getCurrentFrame());
+        // Soldier sheets face LEFT: the mirrored frame (facingRight = false) faces right
+        renderClip(gc);
 
         if (false) {
             gc.setStroke(Color.YELLOW);
@@ -296,22 +304,4 @@ public class Soldier extends GameObject implements Enemy {
                     bounds.getWidth(), bounds.getHeight());
         }
     }
-
-    // Custom render method for Soldier (sprite faces LEFT by default)
-    protected void renderSoldierSprite(GraphicsContext gc, Image sprite) {
-        if (sprite == null) return;
-
-        if (!facingRight) {
-            // Flip to face RIGHT (when facingRight = false)
-            gc.save();
-            gc.scale(-1, 1);
-            gc.drawImage(sprite,
-                    -position.getX() - sprite.getWidth(),
-                    position.getY());
-            gc.restore();
-        } else {
-            // Normal - face LEFT (when facingRight = true)
-            gc.drawImage(sprite, position.getX(), position.getY());
-        }
-    }
-}
\ No newline at end of file
+}
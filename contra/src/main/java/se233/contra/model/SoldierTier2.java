@@ -3,9 +3,10 @@ package se233.contra.model;
 import javafx.scene.image.Image;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import se233.contra.ecs.EntityWorld;
 import se233.contra.util.Constants;
 import se233.contra.util.Vector2D;
-import se233.contra.view.Animation;
+import se233.contra.view.AnimationClip;
 import se233.contra.view.SpriteLoader;
 
 import java.util.List;
@@ -13,21 +14,35 @@ import java.util.List;
 public class SoldierTier2 extends Soldier {
     private static final Logger logger = LoggerFactory.getLogger(SoldierTier2.class);
 
+    /**
+     * Standalone tier-2 soldier with a world of its own (see Soldier)
+     */
     public SoldierTier2(double x, double y) {
+        this(new EntityWorld(1), true, x, y);
+    }
+
+    /**
+     * Tier-2 soldier living in a shared world (see Soldier)
+     */
+    public SoldierTier2(EntityWorld world, double x, double y) {
+        this(world, false, x, y);
+    }
+
+    private SoldierTier2(EntityWorld world, boolean ownsWorld, double x, double y) {
         // Use public constants from Constants.java
         // (Assuming 64x64 is the correct size from SpriteLoader)
-        super(x, y, 64, 64, Constants.SOLDIER_TIER2_HEALTH);
-
-        this.patrolSpeed = Constants.SOLDIER_TIER2_PATROL_SPEED;
+        super(world, ownsWorld, x, y, 64, 64, Constants.SOLDIER_TIER2_HEALTH);
 
-        this.velocity.setX(facingRight ? -patrolSpeed : patrolSpeed);
+        setPatrolSpeed(Constants.SOLDIER_TIER2_PATROL_SPEED);
 
         initializeAnimations(); // Calls the @Override method below
 
-        this.currentAnimation = runAnim; // Set initial animation
+        play(runAnim); // Set initial animation
 
-        logger.debug("SoldierTier2 spawned at ({}, {}) with HP {}",
-                position.getX(), position.getY(), this.health);
+        if (logger.isDebugEnabled()) {
+            logger.debug("SoldierTier2 spawned at ({}, {}) with HP {}",
+                    position.getX(), position.getY(), getHealth());
+        }
     }
 
     /**
@@ -37,9 +52,9 @@ public class SoldierTier2 extends Soldier {
     protected void initializeAnimations() {
         try {
             // Load run and shoot animations
-            runAnim = new Animation(SpriteLoader.getSoldierTier2Run(), 0.15);
-            shootAnim = new Animation(SpriteLoader.getSoldierTier2Shoot(), 0.2);
-            deathAnim = new Animation(SpriteLoader.getExplosion(), 0.15, false);
+            runAnim = AnimationClip.of(SpriteLoader.getSoldierTier2Run(), 0.15);
+            shootAnim = AnimationClip.of(SpriteLoader.getSoldierTier2Shoot(), 0.2);
+            deathAnim = AnimationClip.of(SpriteLoader.getExplosion(), 0.15, false);
         } catch (Exception e) {
             logger.error("Failed to load SoldierTier2 animations. Using fallback.", e);
             super.initializeAnimations(); // Fallback to Soldier 1 animations if something else fails
@@ -54,16 +69,15 @@ public class SoldierTier2 extends Soldier {
         // Shoot at upper third of sprite (higher than center)
         double bulletY = position.getY() + bounds.getHeight() * 0.35; // 35% from top instead of 50%
 
-        Vector2D bulletPos = new Vector2D(
-                position.getX() + (facingRight ? -8 : bounds.getWidth()),
-                bulletY
-        );
+        double bulletX = position.getX() + (facingRight ? -8 : bounds.getWidth());
 
-        Vector2D direction = new Vector2D(facingRight ? -1 : 1, 0);
-        Bullet bullet = new Bullet(bulletPos.getX(), bulletPos.getY(), direction, false);
+        Vector2D direction = Vector2D.scratch(facingRight ? -1 : 1, 0);
+        Bullet bullet = BulletPool.getInstance().acquire(bulletX, bulletY, direction, false);
         bullets.add(bullet);
 
-        logger.trace("SoldierTier2 shot bullet at higher position: y={}", bulletY);
+        if (logger.isTraceEnabled()) {
+            logger.trace("SoldierTier2 shot bullet at higher position: y={}", bulletY);
+        }
     }
 
     /**
@@ -81,10 +95,12 @@ public class SoldierTier2 extends Soldier {
     public void hit(int damage) {
         if (isDead()) return;
 
-        health -= damage;
-        logger.trace("SoldierTier2 hit. HP remaining: {}", health);
+        boolean killed = world.damage(entity, damage);
+        if (logger.isTraceEnabled()) {
+            logger.trace("SoldierTier2 hit. HP remaining: {}", getHealth());
+        }
 
-        if (health <= 0) {
+        if (killed) {
             die();
         }
     }
@@ -0,0 +1,182 @@
+package se233.contra.model;
+
+import se233.contra.ecs.EntityWorld;
+import se233.contra.util.Constants;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * StageDefinition - immutable description of one stage: its waves of enemies
+ * and the boss that follows them. Built by StageLoader from a .stage file and
+ * played by GameController, which only creates an enemy when it is due.
+ */
+public class StageDefinition {
+
+    public enum EnemyType {
+        SOLDIER("soldier"),
+        SOLDIER_TIER2("soldier2");
+
+        private final String key;
+
+        EnemyType(String key) {
+            this.key = key;
+        }
+
+        public String getKey() { return key; }
+
+        /**
+         * @param world ECS world the soldier's movement and AI live in
+         */
+        public Soldier create(EntityWorld world, double x, double y) {
+            return this == SOLDIER ? new Soldier(world, x, y) : new SoldierTier2(world, x, y);
+        }
+
+        public static EnemyType fromKey(String key) {
+            for (EnemyType type : values()) {
+                if (type.key.equals(key)) return type;
+            }
+            return null;
+        }
+    }
+
+    public enum BossType {
+        BOSS1("boss1", Constants.BOSS1_X, Constants.BOSS1_Y),
+        BOSS2("boss2", 880, Constants.GROUND_Y - Constants.BOSS2_FRAME_H),
+        BOSS3("boss3", Constants.SCREEN_WIDTH - 150, Constants.GROUND_Y);
+
+        private final String key;
+        private final double defaultX;
+        private final double defaultY;
+
+        BossType(String key, double defaultX, double defaultY) {
+            this.key = key;
+            this.defaultX = defaultX;
+            this.defaultY = defaultY;
+        }
+
+        public String getKey() { return key; }
+        public double getDefaultX() { return defaultX; }
+        public double getDefaultY() { return defaultY; }
+
+        public Boss create(double x, double y) {
+            switch (this) {
+                case BOSS1: return new Boss1(x, y);
+                case BOSS2: return new Boss2(x, y);
+                default: return new Boss3(x, y);
+            }
+        }
+
+        public static BossType fromKey(String key) {
+            for (BossType type : values()) {
+                if (type.key.equals(key)) return type;
+            }
+            return null;
+        }
+    }
+
+    /**
+     * One enemy of a wave, due a number of seconds after the wave starts
+     */
+    public static final class Spawn {
+        private final EnemyType type;
+        private final double time;
+        private final double x;
+        private final double y;
+
+        public Spawn(EnemyType type, double time, double x, double y) {
+            this.type = type;
+            this.time = time;
+            this.x = x;
+            this.y = y;
+        }
+
+        public EnemyType getType() { return type; }
+        public double getTime() { return time; }
+        public double getX() { return x; }
+        public double getY() { return y; }
+    }
+
+    /**
+     * A wave starts once the field has been clear of soldiers for its delay,
+     * and ends when all of its spawns are out and dead
+     */
+    public static final class WaveDefinition {
+        private final double delay;
+        private final List<Spawn> spawns;
+
+        public WaveDefinition(double delay, List<Spawn> spawns) {
+            List<Spawn> sorted = new ArrayList<>(spawns);
+            sorted.sort(Comparator.comparingDouble(Spawn::getTime)); // stable: file order breaks ties
+            this.delay = delay;
+            this.spawns = Collections.unmodifiableList(sorted);
+        }
+
+        public double getDelay() { return delay; }
+
+        /** Spawns in the order they are due */
+        public List<Spawn> getSpawns() { return spawns; }
+    }
+
+    public static final class BossDefinition {
+        private final BossType type;
+        private final double x;
+        private final double y;
+        private final double delay;
+
+        public BossDefinition(BossType type, double x, double y, double delay) {
+            this.type = type;
+            this.x = x;
+            this.y = y;
+            this.delay = delay;
+        }
+
+        public BossType getType() { return type; }
+        public double getX() { return x; }
+        public double getY() { return y; }
+
+        /** Seconds the field must stay clear after the last wave before the boss enters */
+        public double getDelay() { return delay; }
+    }
+
+    private final String name;
+    private final int number;
+    private final String next;
+    private final List<WaveDefinition> waves;
+    private final BossDefinition boss;
+
+    public StageDefinition(String name, int number, String next, List<WaveDefinition> waves, BossDefinition boss) {
+        this.name = name;
+        this.number = number;
+        this.next = next;
+        this.waves = Collections.unmodifiableList(new ArrayList<>(waves));
+        this.boss = boss;
+    }
+
+    public String getName() { return name; }
+
+    /** Stage slot (1-3) this stage plays in: picks the game states and what follows the boss */
+    public int getNumber() { return number; }
+
+    /** Name of the stage played after this one, or null */
+    public String getNext() { return next; }
+
+    public List<WaveDefinition> getWaves() { return waves; }
+    public BossDefinition getBoss() { return boss; }
+
+    public int getEnemyCount() {
+        int total = 0;
+        for (WaveDefinition wave : waves) {
+            total += wave.getSpawns().size();
+        }
+        return total;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Stage[%s #%d, %d waves, %d enemies, boss=%s]",
+                name, number, waves.size(), getEnemyCount(), boss.getType().getKey());
+    }
+}
@@ -1,18 +1,19 @@
 package se233.contra.model.weapon;
 
 import se233.contra.model.Bullet;
+import se233.contra.model.BulletPool;
 import se233.contra.util.Vector2D;
-import java.util.ArrayList;
 import java.util.List;
 
 public class SpreadGun implements Weapon {
     @Override
-    public List<Bullet> fire(double x, double y, Vector2D direction) {
-        List<Bullet> bullets = new ArrayList<>();
+    public int fire(double x, double y, Vector2D direction, List<Bullet> out) {
+        BulletPool pool = BulletPool.getInstance();
         // สร้างกระสุน 3 นัดในทิศทางต่างกัน
-        bullets.add(new Bullet(x, y, direction.normalize(), true)); // ตรงกลาง
-        bullets.add(new Bullet(x, y, direction.rotate(-15).normalize(), true)); // เฉียงขึ้น
-        bullets.add(new Bullet(x, y, direction.rotate(15).normalize(), true));  // เฉียงลง
-        return bullets;
+        // Bullet normalizes the direction itself; scratch vectors avoid per-shot garbage
+        out.add(pool.acquire(x, y, direction, true)); // ตรงกลาง
+        out.add(pool.acquire(x, y, Vector2D.scratch(direction).rotateLocal(-15), true)); // เฉียงขึ้น
+        out.add(pool.acquire(x, y, Vector2D.scratch(direction).rotateLocal(15), true));  // เฉียงลง
+        return 3;
     }
-}
\ No newline at end of file
+}
@@ -5,5 +5,9 @@ import se233.contra.util.Vector2D;
 import java.util.List;
 
 public interface Weapon {
-    List<Bullet> fire(double x, double y, Vector2D direction);
-}
\ No newline at end of file
+    /**
+     * Fire from (x, y) and append the new bullets to {@code out}
+     * @return number of bullets fired
+     */
+    int fire(double x, double y, Vector2D direction, List<Bullet> out);
+}
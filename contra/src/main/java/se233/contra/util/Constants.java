@@ -2,6 +2,8 @@ package se233.contra.util;
 
 import javafx.scene.input.KeyCode;
 
+import java.nio.file.Path;
+
 public class Constants {
     // Screen dimensions
     public static final int SCREEN_WIDTH = 1280;
@@ -16,6 +18,15 @@ public class Constants {
     public static final double BULLET_SPEED = 500.0;
     public static final double GROUND_Y = 650.0;
 
+    // Simulation timing (fixed step, independent of display refresh rate)
+    public static final int SIMULATION_HZ = 120;
+    public static final double FIXED_TIME_STEP = 1.0 / SIMULATION_HZ;
+    public static final int MAX_CATCH_UP_STEPS = 12;  // 0.1s of game time per frame at most
+
+    // Soldier updates fan out over the ForkJoin common pool from this many soldiers up
+    public static final int PARALLEL_SOLDIER_THRESHOLD = 64;
+    public static final int PARALLEL_SOLDIER_BATCH = 16;  // soldiers per leaf task
+
     // Game rules
     public static final int STARTING_LIVES = 3;
     public static final double INVINCIBILITY_TIME = 1.5;
@@ -75,6 +86,11 @@ public class Constants {
     public static final KeyCode KEY_PAUSE = KeyCode.P;
     public static final KeyCode KEY_RESUME = KeyCode.L;  // ✅ Resume key
     public static final KeyCode KEY_RESTART = KeyCode.R;
+    public static final KeyCode KEY_PROFILER = KeyCode.F3;       // toggle frame-time overlay
+    public static final KeyCode KEY_PROFILER_DUMP = KeyCode.F4;  // write profiler CSV/JSON
+
+    // Profiler dumps go next to the game log
+    public static final Path PROFILER_DUMP_DIR = Path.of("logs");
 
     // Animation
     public static final double IDLE_ANIMATION_SPEED = 0.2;
@@ -82,6 +98,9 @@ public class Constants {
     public static final double SHOOT_ANIMATION_SPEED = 0.1;
     public static final double EXPLOSION_ANIMATION_SPEED = 0.15;
 
+    // Effects: ParticleSystem pool size (fixed, new particles are dropped when full)
+    public static final int PARTICLE_CAPACITY = 2048;
+
     // Sprite sheet paths
     public static final String PLAYER_SPRITE = "/sprites/player.png";
     public static final String ENEMIES_SPRITE = "/sprites/enemies.png";
@@ -89,6 +108,7 @@ public class Constants {
     public static final String BOSS1_SPRITE = "/sprites/boss1.png";
     public static final String UI_SPRITE = "/sprites/ui.png";
     public static final String BACKGROUND = "/sprites/background.png";
+    public static final String BACKGROUND_MENU = "/sprites/background1.png";
 
     // Sound paths
     public static final String SOUND_RIFLE = "/sounds/rifle.wav";
@@ -0,0 +1,66 @@
+package se233.contra.util;
+
+/**
+ * Fixed-step accumulator that decouples simulation from the display rate.
+ *
+ * Each render pulse feeds its real frame time into advance(), which returns how
+ * many fixed steps the simulation should run. At most maxSteps are returned per
+ * pulse; time beyond that is dropped so a long stall slows the game down instead
+ * of spiralling into ever longer catch-up frames. getAlpha() is the leftover
+ * fraction of a step, used to interpolate rendering between the last two states.
+ */
+public class FixedTimestep {
+    private final double step;
+    private final int maxSteps;
+    private double accumulator;
+    private long totalSteps;
+    private long droppedSteps;
+
+    public FixedTimestep(double step, int maxSteps) {
+        if (step <= 0 || maxSteps < 1) {
+            throw new IllegalArgumentException("step must be > 0 and maxSteps >= 1");
+        }
+        this.step = step;
+        this.maxSteps = maxSteps;
+    }
+
+    /**
+     * Add elapsed real time and consume whole steps from the accumulator
+     * @param frameTime seconds since the previous pulse
+     * @return number of fixed steps to simulate now (0..maxSteps)
+     */
+    public int advance(double frameTime) {
+        if (frameTime > 0) {
+            accumulator += frameTime;
+        }
+
+        int steps = (int) (accumulator / step);
+        if (steps > maxSteps) {
+            droppedSteps += steps - maxSteps;
+            steps = maxSteps;
+            // Keep only the sub-step remainder so the next pulse starts fresh
+            accumulator = accumulator % step;
+        } else {
+            accumulator -= steps * step;
+        }
+
+        totalSteps += steps;
+        return steps;
+    }
+
+    /**
+     * @return fraction (0..1) of a step left in the accumulator after advance()
+     */
+    public double getAlpha() {
+        return accumulator / step;
+    }
+
+    public void reset() {
+        accumulator = 0;
+    }
+
+    public double getStep() { return step; }
+    public int getMaxSteps() { return maxSteps; }
+    public long getTotalSteps() { return totalSteps; }
+    public long getDroppedSteps() { return droppedSteps; }
+}
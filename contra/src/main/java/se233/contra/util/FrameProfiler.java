@@ -0,0 +1,329 @@
+package se233.contra.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * FrameProfiler - Singleton per-phase frame timer
+ * Game code brackets its work with begin(phase)/end(phase); Main calls
+ * endFrame() once per pulse. Phases nest: an inner phase pauses the outer one,
+ * so every phase reports self time and the phases add up to the frame's work.
+ * The last WINDOW frames are kept in ring buffers for rolling p50/p95/p99,
+ * together with entity/bullet counts and the game thread's allocation rate.
+ * All timing is in nanoseconds and recording allocates nothing.
+ */
+public class FrameProfiler {
+    private static final Logger logger = LoggerFactory.getLogger(FrameProfiler.class);
+    private static FrameProfiler instance;
+
+    public enum Phase {
+        INPUT("input"),
+        WAVES("waves"),
+        BOSS_AI("boss AI"),
+        COLLISION("collision"),
+        EXPLOSIONS("explosions"),
+        RENDER("render");
+
+        private final String label;
+
+        Phase(String label) {
+            this.label = label;
+        }
+
+        public String getLabel() { return label; }
+    }
+
+    // ~4 seconds at 60 FPS
+    public static final int WINDOW = 256;
+    // Frames longer than this are counted as spikes (about 3 missed vsyncs at 60 Hz)
+    public static final long SPIKE_NANOS = 50_000_000L;
+    private static final int MAX_DEPTH = 8;
+    private static final Phase[] PHASES = Phase.values();
+
+    // Rolling history: [phase][frame], plus the whole pulse interval
+    private final long[][] phaseHistory = new long[PHASES.length][WINDOW];
+    private final long[] frameHistory = new long[WINDOW];
+    private final int[] entityHistory = new int[WINDOW];
+    private final int[] bulletHistory = new int[WINDOW];
+    private final long[] allocatedHistory = new long[WINDOW];
+    private int head;
+    private int samples;
+    private long totalFrames;
+    private long spikes;
+
+    // Current frame
+    private final long[] current = new long[PHASES.length];
+    private final Phase[] stack = new Phase[MAX_DEPTH];
+    private int depth;
+    private long markNanos;
+    private int entityCount;
+    private int bulletCount;
+
+    // Allocation tracking (HotSpot only)
+    private final com.sun.management.ThreadMXBean threadBean;
+    private long lastAllocatedBytes = -1;
+
+    private final long[] scratch = new long[WINDOW];
+    private boolean overlayVisible;
+
+    private FrameProfiler() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean sunBean
+                && sunBean.isThreadAllocatedMemorySupported()) {
+            sunBean.setThreadAllocatedMemoryEnabled(true);
+            threadBean = sunBean;
+        } else {
+            threadBean = null;
+            logger.info("Thread allocation counters not available, allocation rate disabled");
+        }
+    }
+
+    public static FrameProfiler getInstance() {
+        if (instance == null) {
+            instance = new FrameProfiler();
+        }
+        return instance;
+    }
+
+    // ==================== Recording ====================
+
+    /**
+     * Start timing a phase (pauses the enclosing phase, if any)
+     */
+    public void begin(Phase phase) {
+        long now = System.nanoTime();
+        if (depth > 0) {
+            current[stack[depth - 1].ordinal()] += now - markNanos;
+        }
+        if (depth < MAX_DEPTH) {
+            stack[depth++] = phase;
+        }
+        markNanos = now;
+    }
+
+    /**
+     * Stop timing the innermost phase and resume the enclosing one
+     */
+    public void end(Phase phase) {
+        if (depth == 0) return;
+        long now = System.nanoTime();
+        Phase top = stack[--depth];
+        current[top.ordinal()] += now - markNanos;
+        markNanos = now;
+        if (top != phase) {
+            logger.warn("Profiler phase mismatch: ended {} while {} was open", phase, top);
+        }
+    }
+
+    /**
+     * Live object counts for the frame being recorded
+     */
+    public void setCounts(int entities, int bullets) {
+        this.entityCount = entities;
+        this.bulletCount = bullets;
+    }
+
+    /**
+     * Close the frame: push phase times, counts and allocated bytes into the window
+     * @param frameNanos real time since the previous pulse
+     */
+    public void endFrame(long frameNanos) {
+        for (int p = 0; p < PHASES.length; p++) {
+            phaseHistory[p][head] = current[p];
+            current[p] = 0;
+        }
+        depth = 0;
+
+        frameHistory[head] = frameNanos;
+        entityHistory[head] = entityCount;
+        bulletHistory[head] = bulletCount;
+
+        long allocated = 0;
+        if (threadBean != null) {
+            long bytes = threadBean.getCurrentThreadAllocatedBytes();
+            if (lastAllocatedBytes >= 0) {
+                allocated = bytes - lastAllocatedBytes;
+            }
+            lastAllocatedBytes = bytes;
+        }
+        allocatedHistory[head] = allocated;
+
+        if (frameNanos > SPIKE_NANOS) {
+            spikes++;
+        }
+        head = (head + 1) % WINDOW;
+        if (samples < WINDOW) samples++;
+        totalFrames++;
+    }
+
+    // ==================== Metrics ====================
+
+    /**
+     * Rolling percentile of a phase's self time
+     * @param percentile 0..1 (0.5 = median, 0.99 = p99)
+     * @return nanoseconds, 0 before the first frame
+     */
+    public long getPercentile(Phase phase, double percentile) {
+        return percentileOf(phaseHistory[phase.ordinal()], percentile);
+    }
+
+    /**
+     * Rolling percentile of the real frame time (pulse-to-pulse interval)
+     */
+    public long getFramePercentile(double percentile) {
+        return percentileOf(frameHistory, percentile);
+    }
+
+    private long percentileOf(long[] history, double percentile) {
+        if (samples == 0) return 0;
+        System.arraycopy(history, 0, scratch, 0, samples);
+        Arrays.sort(scratch, 0, samples);
+        int index = (int) Math.ceil(Math.max(0, Math.min(1, percentile)) * samples) - 1;
+        return scratch[Math.max(0, index)];
+    }
+
+    /**
+     * Game-thread allocation over the window, in bytes per second of real time
+     * @return -1 if the JVM has no per-thread allocation counters
+     */
+    public double getAllocationRate() {
+        if (threadBean == null) return -1;
+        long bytes = 0;
+        long nanos = 0;
+        for (int i = 0; i < samples; i++) {
+            bytes += allocatedHistory[i];
+            nanos += frameHistory[i];
+        }
+        return nanos == 0 ? 0 : bytes * 1_000_000_000.0 / nanos;
+    }
+
+    /** Frames per second averaged over the window */
+    public double getFps() {
+        long nanos = 0;
+        for (int i = 0; i < samples; i++) {
+            nanos += frameHistory[i];
+        }
+        return nanos == 0 ? 0 : samples * 1_000_000_000.0 / nanos;
+    }
+
+    private int newest() {
+        return (head - 1 + WINDOW) % WINDOW;
+    }
+
+    public int getEntityCount() { return samples == 0 ? 0 : entityHistory[newest()]; }
+    public int getBulletCount() { return samples == 0 ? 0 : bulletHistory[newest()]; }
+    public int getSampleCount() { return samples; }
+    public long getTotalFrames() { return totalFrames; }
+
+    /** Frames longer than SPIKE_NANOS since the last reset */
+    public long getSpikeCount() { return spikes; }
+
+    public boolean isOverlayVisible() { return overlayVisible; }
+
+    public void toggleOverlay() {
+        overlayVisible = !overlayVisible;
+        logger.info("Profiler overlay {}", overlayVisible ? "shown" : "hidden");
+    }
+
+    public void reset() {
+        for (long[] history : phaseHistory) {
+            Arrays.fill(history, 0);
+        }
+        Arrays.fill(current, 0);
+        head = 0;
+        samples = 0;
+        totalFrames = 0;
+        spikes = 0;
+        depth = 0;
+        lastAllocatedBytes = -1;
+    }
+
+    // ==================== Dumps ====================
+
+    /**
+     * Write the window as one CSV row per frame (oldest first), in milliseconds
+     */
+    public void dumpCsv(Path file) throws IOException {
+        try (Writer out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            out.write("frame_ms");
+            for (Phase phase : PHASES) {
+                out.write(',');
+                out.write(phase.name().toLowerCase(Locale.ROOT) + "_ms");
+            }
+            out.write(",entities,bullets,allocated_bytes\n");
+
+            for (int k = 0; k < samples; k++) {
+                int i = (head - samples + k + WINDOW) % WINDOW;
+                out.write(millis(frameHistory[i]));
+                for (int p = 0; p < PHASES.length; p++) {
+                    out.write(',');
+                    out.write(millis(phaseHistory[p][i]));
+                }
+                out.write("," + entityHistory[i] + "," + bulletHistory[i] + "," + allocatedHistory[i] + "\n");
+            }
+        }
+    }
+
+    /**
+     * Write the rolling summary (percentiles, counts, allocation rate) as JSON
+     */
+    public void dumpJson(Path file) throws IOException {
+        StringBuilder json = new StringBuilder("{\n");
+        json.append("  \"frames\": ").append(totalFrames).append(",\n");
+        json.append("  \"window\": ").append(samples).append(",\n");
+        json.append("  \"spikes\": ").append(spikes).append(",\n");
+        json.append("  \"fps\": ").append(String.format(Locale.ROOT, "%.1f", getFps())).append(",\n");
+        json.append("  \"allocationBytesPerSecond\": ")
+                .append(String.format(Locale.ROOT, "%.0f", getAllocationRate())).append(",\n");
+        json.append("  \"entities\": ").append(getEntityCount()).append(",\n");
+        json.append("  \"bullets\": ").append(getBulletCount()).append(",\n");
+        json.append("  \"frame\": ").append(percentilesJson(frameHistory)).append(",\n");
+        json.append("  \"phases\": {\n");
+        for (int p = 0; p < PHASES.length; p++) {
+            json.append("    \"").append(PHASES[p].name().toLowerCase(Locale.ROOT)).append("\": ")
+                    .append(percentilesJson(phaseHistory[p]))
+                    .append(p < PHASES.length - 1 ? ",\n" : "\n");
+        }
+        json.append("  }\n}\n");
+        Files.writeString(file, json, StandardCharsets.UTF_8);
+    }
+
+    private String percentilesJson(long[] history) {
+        return String.format(Locale.ROOT, "{\"p50Ms\": %s, \"p95Ms\": %s, \"p99Ms\": %s}",
+                millis(percentileOf(history, 0.50)),
+                millis(percentileOf(history, 0.95)),
+                millis(percentileOf(history, 0.99)));
+    }
+
+    /**
+     * Dump both files next to the game log, named after the current time
+     * @return the CSV path
+     */
+    public Path dump(Path directory) {
+        try {
+            Files.createDirectories(directory);
+            String stamp = String.valueOf(System.currentTimeMillis());
+            Path csv = directory.resolve("profile-" + stamp + ".csv");
+            dumpCsv(csv);
+            dumpJson(directory.resolve("profile-" + stamp + ".json"));
+            logger.info("Profiler window written to {}", csv);
+            return csv;
+        } catch (IOException e) {
+            logger.error("Failed to write profiler dump", e);
+            return null;
+        }
+    }
+
+    private static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.3f", nanos / 1_000_000.0);
+    }
+}
@@ -0,0 +1,49 @@
+package se233.contra.util;
+
+import java.util.Random;
+import java.util.SplittableRandom;
+
+/**
+ * GameRandom - the single source of randomness for the simulation
+ * One master seed per game session; every entity that needs randomness takes
+ * its own Random stream from newStream(). Entities are created in the same
+ * order for the same inputs, so a seed plus the recorded input replays a run
+ * exactly (see Replay). Rendering and sound must not draw from these streams.
+ */
+public final class GameRandom {
+    private static long seed;
+    private static SplittableRandom master;
+
+    static {
+        reseed(freshSeed());
+    }
+
+    private GameRandom() {
+    }
+
+    /**
+     * Restart the stream sequence from a master seed
+     */
+    public static synchronized void reseed(long masterSeed) {
+        seed = masterSeed;
+        master = new SplittableRandom(masterSeed);
+    }
+
+    /**
+     * Independent stream for one entity (next in the master sequence)
+     */
+    public static synchronized Random newStream() {
+        return new Random(master.nextLong());
+    }
+
+    public static synchronized long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Unpredictable seed for normal (non-replayed) play
+     */
+    public static long freshSeed() {
+        return System.nanoTime() ^ Double.doubleToLongBits(Math.random());
+    }
+}
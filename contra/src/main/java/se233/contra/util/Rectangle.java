@@ -22,6 +22,10 @@ public class Rectangle {
         this.x = x;
         this.y = y;
     }
+    public void setSize(double width, double height) {
+        this.width = width;
+        this.height = height;
+    }
 
     // Collision detection
     public boolean intersects(Rectangle other) {
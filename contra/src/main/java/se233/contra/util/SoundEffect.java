@@ -0,0 +1,113 @@
+package se233.contra.util;
+
+import javafx.scene.media.AudioClip;
+
+/**
+ * SoundEffect - one preloaded sound with a fixed set of voices
+ * Every voice is its own in-memory AudioClip, so one playback can be cut off
+ * (stolen) without silencing the others. The number of voices is the sound's
+ * polyphony limit: when all are busy the oldest one is restarted.
+ */
+public class SoundEffect {
+    // Re-triggers closer than this are merged (10 hits in one tick = one sound)
+    private static final long MIN_RETRIGGER_NANOS = 15_000_000L;
+
+    private final String key;
+    private final AudioClip[] voices;
+    private final long[] startedAt;
+    private long lastPlayNanos;
+
+    /**
+     * Decode the sound once per voice (blocking, call during loading only)
+     */
+    public SoundEffect(String key, String url, int polyphony) {
+        this.key = key;
+        this.voices = new AudioClip[Math.max(1, polyphony)];
+        this.startedAt = new long[voices.length];
+        for (int i = 0; i < voices.length; i++) {
+            voices[i] = new AudioClip(url);
+        }
+    }
+
+    /**
+     * Start the sound on a free voice, stealing the oldest voice if all are busy
+     * @return true if a voice was stolen
+     */
+    boolean play(double volume, long now) {
+        int voice = -1;
+        int oldest = 0;
+        for (int i = 0; i < voices.length; i++) {
+            if (!voices[i].isPlaying()) {
+                voice = i;
+                break;
+            }
+            if (startedAt[i] < startedAt[oldest]) {
+                oldest = i;
+            }
+        }
+
+        boolean stolen = false;
+        if (voice == -1) {
+            voice = oldest;
+            voices[voice].stop();
+            stolen = true;
+        }
+
+        voices[voice].play(volume);
+        startedAt[voice] = now;
+        lastPlayNanos = now;
+        return stolen;
+    }
+
+    /**
+     * @return true if the sound was started less than MIN_RETRIGGER_NANOS ago
+     */
+    boolean isRetrigger(long now) {
+        return lastPlayNanos != 0 && now - lastPlayNanos < MIN_RETRIGGER_NANOS;
+    }
+
+    /**
+     * @return start time of this sound's longest-running voice, or Long.MAX_VALUE if silent
+     */
+    long oldestActiveStart() {
+        long oldest = Long.MAX_VALUE;
+        for (int i = 0; i < voices.length; i++) {
+            if (voices[i].isPlaying() && startedAt[i] < oldest) {
+                oldest = startedAt[i];
+            }
+        }
+        return oldest;
+    }
+
+    /**
+     * Cut off the longest-running voice (used to enforce the global voice limit)
+     */
+    void stopOldest() {
+        int oldest = -1;
+        for (int i = 0; i < voices.length; i++) {
+            if (voices[i].isPlaying() && (oldest == -1 || startedAt[i] < startedAt[oldest])) {
+                oldest = i;
+            }
+        }
+        if (oldest != -1) {
+            voices[oldest].stop();
+        }
+    }
+
+    int activeVoices() {
+        int count = 0;
+        for (AudioClip voice : voices) {
+            if (voice.isPlaying()) count++;
+        }
+        return count;
+    }
+
+    void stopAll() {
+        for (AudioClip voice : voices) {
+            voice.stop();
+        }
+    }
+
+    public String getKey() { return key; }
+    public int getPolyphony() { return voices.length; }
+}
@@ -1,29 +1,63 @@
 package se233.contra.util;
 
-import javafx.scene.media.Media;
-import javafx.scene.media.MediaPlayer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import se233.contra.exception.GameException;
 
 import java.net.URL;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * SoundManager - Singleton class for managing all game sounds
- * Uses JavaFX MediaPlayer for sound effects
+ * Sounds are decoded once into in-memory AudioClip voices (see SoundEffect).
+ * Each sound has a polyphony limit and the whole mixer a global voice limit;
+ * when either is reached the oldest voice is stolen, so playing a sound never
+ * allocates a player or touches the file system.
  */
 public class SoundManager {
     private static final Logger logger = LoggerFactory.getLogger(SoundManager.class);
     private static SoundManager instance;
 
-    private final Map<String, Media> soundCache;
+    // Total voices that may sound at once across every effect
+    private static final int MAX_ACTIVE_VOICES = 12;
+
+    // key -> resource path / polyphony (voices) of every sound effect
+    private static final Map<String, String> SOUND_PATHS = Map.of(
+            "rifle", Constants.SOUND_RIFLE,
+            "spreadgun", Constants.SOUND_SPREAD_GUN,
+            "explosion", Constants.SOUND_EXPLOSION,
+            "enemy_hit", Constants.SOUND_ENEMY_HIT,
+            "enemy_death", Constants.SOUND_ENEMY_DEATH,
+            "player_death", Constants.SOUND_PLAYER_DEATH,
+            "game_over", Constants.SOUND_GAME_OVER,
+            "stage_clear", Constants.SOUND_STAGE_CLEAR,
+            "pause", Constants.SOUND_PAUSE,
+            "title", Constants.SOUND_TITLE);
+    private static final Map<String, Integer> SOUND_POLYPHONY = Map.of(
+            "rifle", 4,
+            "spreadgun", 3,
+            "explosion", 4,
+            "enemy_hit", 4,
+            "enemy_death", 3);
+
+    // Concurrent: AssetLoader decodes sounds on worker threads
+    private final Map<String, SoundEffect> soundCache;
+    // Snapshot of soundCache's values, rebuilt whenever a sound is loaded, so the
+    // voice limit in playSound() loops over an array instead of a map iterator
+    private volatile SoundEffect[] effects = new SoundEffect[0];
     private boolean soundEnabled;
+    private boolean headless;
     private double volume;
 
+    // Stats
+    private long playCount;
+    private long stealCount;
+    private long coalescedCount;
+
     private SoundManager() {
-        this.soundCache = new HashMap<>();
+        this.soundCache = new ConcurrentHashMap<>();
         this.soundEnabled = true;
         this.volume = 0.5; // Default volume 50%
         logger.info("SoundManager initialized");
@@ -40,20 +74,16 @@ public class SoundManager {
      * Initialize and preload all sound files
      */
     public void initialize() {
+        if (headless) {
+            logger.info("SoundManager is headless, skipping sound loading");
+            return;
+        }
         try {
             logger.info("Loading sound files...");
 
-            // Load all sound effects
-            loadSound("rifle", Constants.SOUND_RIFLE);
-            loadSound("spreadgun", Constants.SOUND_SPREAD_GUN);
-            loadSound("explosion", Constants.SOUND_EXPLOSION);
-            loadSound("enemy_hit", Constants.SOUND_ENEMY_HIT);
-            loadSound("enemy_death", Constants.SOUND_ENEMY_DEATH);
-            loadSound("player_death", Constants.SOUND_PLAYER_DEATH);
-            loadSound("game_over", Constants.SOUND_GAME_OVER);
-            loadSound("stage_clear", Constants.SOUND_STAGE_CLEAR);
-            loadSound("pause", Constants.SOUND_PAUSE);
-            loadSound("title", Constants.SOUND_TITLE);
+            for (String key : SOUND_PATHS.keySet()) {
+                loadSound(key);
+            }
 
             logger.info("All sound files loaded successfully");
         } catch (Exception e) {
@@ -64,9 +94,42 @@ public class SoundManager {
     }
 
     /**
-     * Load a sound file into cache
+     * Headless mode: no media is loaded and every play call is a silent no-op
+     * (lets the simulation run without the JavaFX media stack)
+     */
+    public void initializeHeadless() {
+        headless = true;
+        soundCache.clear();
+        publishEffects();
+        logger.info("SoundManager running headless (all sounds are no-ops)");
+    }
+
+    /**
+     * Leave headless mode; call initialize() afterwards to load the sounds
      */
-    private void loadSound(String key, String path) {
+    public void setHeadless(boolean headless) {
+        this.headless = headless;
+    }
+
+    public boolean isHeadless() {
+        return headless;
+    }
+
+    /**
+     * Keys of every sound effect (one AssetLoader task each)
+     */
+    public Set<String> getSoundKeys() {
+        return SOUND_PATHS.keySet();
+    }
+
+    /**
+     * Load a sound file into cache (thread-safe, no-op if already loaded or headless)
+     */
+    public void loadSound(String key) {
+        if (headless || soundCache.containsKey(key)) return;
+
+        String path = SOUND_PATHS.get(key);
+        int polyphony = SOUND_POLYPHONY.getOrDefault(key, 1);
         try {
             URL resource = getClass().getResource(path);
             if (resource == null) {
@@ -74,37 +137,82 @@ public class SoundManager {
                 return;
             }
 
-            Media media = new Media(resource.toString());
-            soundCache.put(key, media);
-            logger.debug("Loaded sound: {} from {}", key, path);
+            SoundEffect effect = new SoundEffect(key, resource.toExternalForm(), polyphony);
+            soundCache.put(key, effect);
+            publishEffects();
+            logger.debug("Loaded sound: {} from {} ({} voices)", key, path, polyphony);
         } catch (Exception e) {
             logger.error("Failed to load sound: {} from {}", key, path, e);
         }
     }
 
+    // Load time only (AssetLoader workers may finish together)
+    private synchronized void publishEffects() {
+        effects = soundCache.values().toArray(new SoundEffect[0]);
+    }
+
     /**
      * Play a sound effect
      */
     private void playSound(String key) {
-        if (!soundEnabled) return;
+        if (!soundEnabled || headless) return;
 
-        Media media = soundCache.get(key);
-        if (media == null) {
+        SoundEffect effect = soundCache.get(key);
+        if (effect == null) {
             logger.warn("Sound not found in cache: {}", key);
             return;
         }
 
         try {
-            MediaPlayer player = new MediaPlayer(media);
-            player.setVolume(volume);
-            player.setOnEndOfMedia(player::dispose); // Cleanup after playing
-            player.play();
+            long now = System.nanoTime();
+            if (effect.isRetrigger(now)) {
+                // Same sound started a moment ago (e.g. several hits in one tick)
+                coalescedCount++;
+                return;
+            }
+
+            if (countActiveVoices() >= MAX_ACTIVE_VOICES) {
+                stealOldestVoice();
+            }
+            if (effect.play(volume, now)) {
+                stealCount++;
+            }
+            playCount++;
             logger.trace("Playing sound: {}", key);
         } catch (Exception e) {
             logger.error("Failed to play sound: {}", key, e);
         }
     }
 
+    private int countActiveVoices() {
+        SoundEffect[] all = effects;
+        int active = 0;
+        for (int i = 0; i < all.length; i++) {
+            active += all[i].activeVoices();
+        }
+        return active;
+    }
+
+    /**
+     * Global voice limit reached: cut off the longest-running voice of any sound
+     */
+    private void stealOldestVoice() {
+        SoundEffect[] all = effects;
+        SoundEffect victim = null;
+        long oldest = Long.MAX_VALUE;
+        for (int i = 0; i < all.length; i++) {
+            long start = all[i].oldestActiveStart();
+            if (start < oldest) {
+                oldest = start;
+                victim = all[i];
+            }
+        }
+        if (victim != null) {
+            victim.stopOldest();
+            stealCount++;
+        }
+    }
+
     // ==================== Public Sound Methods ====================
 
     /**
@@ -209,11 +317,24 @@ public class SoundManager {
         return soundEnabled;
     }
 
+    /** Sounds started since launch */
+    public long getPlayCount() { return playCount; }
+
+    /** Voices cut off to make room (per-sound polyphony or global limit) */
+    public long getStealCount() { return stealCount; }
+
+    /** Plays merged into a sound that had just started */
+    public long getCoalescedCount() { return coalescedCount; }
+
     /**
      * Cleanup resources
      */
     public void dispose() {
+        for (SoundEffect effect : soundCache.values()) {
+            effect.stopAll();
+        }
         soundCache.clear();
+        publishEffects();
         logger.info("SoundManager disposed");
     }
 }
\ No newline at end of file
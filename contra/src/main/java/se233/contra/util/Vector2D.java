@@ -1,6 +1,10 @@
 package se233.contra.util;
 
 public class Vector2D {
+    // Per-thread ring of temporaries handed out by scratch()
+    private static final int SCRATCH_SIZE = 8;
+    private static final ThreadLocal<Scratch> SCRATCH = ThreadLocal.withInitial(Scratch::new);
+
     private double x;
     private double y;
 
@@ -27,6 +31,12 @@ public class Vector2D {
         this.y = y;
     }
 
+    public Vector2D set(Vector2D other) {
+        this.x = other.x;
+        this.y = other.y;
+        return this;
+    }
+
     // Vector operations
     public Vector2D add(Vector2D other) {
         return new Vector2D(x + other.x, y + other.y);
@@ -66,6 +76,92 @@ public class Vector2D {
         return new Vector2D(newX, newY);
     }
 
+    // ==================== In-place operations (no allocation) ====================
+    // Each one mutates this vector and returns it, so calls can be chained.
+
+    public Vector2D addLocal(Vector2D other) {
+        x += other.x;
+        y += other.y;
+        return this;
+    }
+
+    public Vector2D addLocal(double dx, double dy) {
+        x += dx;
+        y += dy;
+        return this;
+    }
+
+    public Vector2D subtractLocal(Vector2D other) {
+        x -= other.x;
+        y -= other.y;
+        return this;
+    }
+
+    public Vector2D scaleLocal(double scalar) {
+        x *= scalar;
+        y *= scalar;
+        return this;
+    }
+
+    public Vector2D normalizeLocal() {
+        double mag = magnitude();
+        if (mag == 0) {
+            x = 0;
+            y = 0;
+        } else {
+            x /= mag;
+            y /= mag;
+        }
+        return this;
+    }
+
+    public Vector2D rotateLocal(double degrees) {
+        double radians = Math.toRadians(degrees);
+        double cos = Math.cos(radians);
+        double sin = Math.sin(radians);
+        double newX = x * cos - y * sin;
+        y = x * sin + y * cos;
+        x = newX;
+        return this;
+    }
+
+    // ==================== Scratch vectors ====================
+
+    /**
+     * Temporary vector for passing a direction/offset without allocating.
+     * Comes from a small per-thread ring, so it is overwritten after a few more
+     * scratch() calls on the same thread: use it immediately, never store it.
+     */
+    public static Vector2D scratch(double x, double y) {
+        Vector2D v = SCRATCH.get().next();
+        v.x = x;
+        v.y = y;
+        return v;
+    }
+
+    /**
+     * Scratch copy of another vector (e.g. to rotate a shared direction)
+     */
+    public static Vector2D scratch(Vector2D source) {
+        return scratch(source.x, source.y);
+    }
+
+    private static final class Scratch {
+        private final Vector2D[] ring = new Vector2D[SCRATCH_SIZE];
+        private int index;
+
+        Scratch() {
+            for (int i = 0; i < ring.length; i++) {
+                ring[i] = new Vector2D();
+            }
+        }
+
+        Vector2D next() {
+            index = (index + 1) & (SCRATCH_SIZE - 1);
+            return ring[index];
+        }
+    }
+
     @Override
     public String toString() {
         return String.format("Vector2D(%.2f, %.2f)", x, y);
@@ -0,0 +1,116 @@
+package se233.contra.view;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * AnimationClip - immutable animation: shared frames, frame duration and loop mode
+ * One instance per (frames, duration, loop) for the whole game, so spawning an
+ * entity allocates nothing for its animations. The playback position is not
+ * part of the clip: each object keeps it as two primitives (a frame index and
+ * the time spent on that frame) and advances them with {@link #nextFrame}.
+ *
+ * A non-looping clip is finished when its frame index moves one past the last
+ * frame; {@link #getFrame} keeps showing the last frame from then on.
+ */
+public final class AnimationClip {
+    // Frame list (SpriteLoader shares one instance per animation) -> its clips
+    private static final Map<List<SpriteFrame>, AnimationClip[]> cache = new ConcurrentHashMap<>();
+
+    private final List<SpriteFrame> frames;
+    private final List<SpriteFrame> mirroredFrames;
+    private final double frameDuration;
+    private final boolean loop;
+
+    private AnimationClip(List<SpriteFrame> frames, double frameDuration, boolean loop) {
+        this.frames = frames;
+        // Prebuilt by SpriteLoader for its animations, so this is a map lookup
+        this.mirroredFrames = SpriteLoader.getMirrored(frames);
+        this.frameDuration = frameDuration;
+        this.loop = loop;
+    }
+
+    /**
+     * Looping clip
+     */
+    public static AnimationClip of(List<SpriteFrame> frames, double frameDuration) {
+        return of(frames, frameDuration, true);
+    }
+
+    /**
+     * The shared clip for these frames; built on first use, a lookup afterwards.
+     * Pass the list from SpriteLoader as-is: it is kept, not copied.
+     */
+    public static AnimationClip of(List<SpriteFrame> frames, double frameDuration, boolean loop) {
+        AnimationClip clip = find(cache.get(frames), frameDuration, loop);
+        if (clip != null) {
+            return clip;
+        }
+        // Rare: first use of this frame list / duration. compute() keeps racing threads on one clip.
+        AnimationClip[] clips = cache.compute(frames, (key, current) -> {
+            if (find(current, frameDuration, loop) != null) {
+                return current;
+            }
+            int size = current == null ? 0 : current.length;
+            AnimationClip[] grown = current == null ? new AnimationClip[1] : Arrays.copyOf(current, size + 1);
+            grown[size] = new AnimationClip(List.copyOf(key), frameDuration, loop);
+            return grown;
+        });
+        return find(clips, frameDuration, loop);
+    }
+
+    private static AnimationClip find(AnimationClip[] clips, double frameDuration, boolean loop) {
+        if (clips == null) return null;
+        for (AnimationClip clip : clips) {
+            if (clip.frameDuration == frameDuration && clip.loop == loop) {
+                return clip;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Forget every clip (SpriteLoader switched between headless and real frames)
+     */
+    static void clearCache() {
+        cache.clear();
+    }
+
+    /**
+     * Frame index after the current one has been shown for frameDuration
+     */
+    public int nextFrame(int frame) {
+        int count = frames.size();
+        if (loop) {
+            return count == 0 || frame + 1 >= count ? 0 : frame + 1;
+        }
+        return Math.min(frame + 1, count);
+    }
+
+    /**
+     * True once a non-looping clip has moved past its last frame
+     */
+    public boolean isFinished(int frame) {
+        return !loop && frame >= frames.size();
+    }
+
+    public SpriteFrame getFrame(int frame) {
+        if (frames.isEmpty()) return null;
+        return frames.get(Math.min(frame, frames.size() - 1));
+    }
+
+    /**
+     * @param mirrored true for the left-right mirrored variant of the frame
+     */
+    public SpriteFrame getFrame(int frame, boolean mirrored) {
+        if (frames.isEmpty()) return null;
+        return (mirrored ? mirroredFrames : frames).get(Math.min(frame, frames.size() - 1));
+    }
+
+    public List<SpriteFrame> getFrames() { return frames; }
+    public int getFrameCount() { return frames.size(); }
+    public double getFrameDuration() { return frameDuration; }
+    public boolean isLooping() { return loop; }
+}
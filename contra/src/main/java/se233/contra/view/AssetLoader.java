@@ -0,0 +1,127 @@
+package se233.contra.view;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import se233.contra.util.SoundManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * AssetLoader - decodes sprite sheets, backgrounds and sounds on a worker pool
+ * Required assets (stage 1 + menu) are loaded first and reported through
+ * getProgress()/isReady(); once they are in, SpriteLoader is marked initialized
+ * and the stage 2/3 assets are prefetched in the background. Anything not
+ * prefetched yet is decoded on demand by SpriteLoader when first used.
+ */
+public class AssetLoader {
+    private static final Logger logger = LoggerFactory.getLogger(AssetLoader.class);
+
+    private final ExecutorService workers;
+    private final int threads;
+    private final AtomicInteger completed = new AtomicInteger();
+    private volatile int total;
+
+    private volatile boolean ready;
+    private volatile Throwable error;
+    private volatile String currentAsset = "";
+    private long startNanos;
+
+    public AssetLoader() {
+        this.threads = Math.max(2, Math.min(4, Runtime.getRuntime().availableProcessors()));
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "asset-loader-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Queue every required asset; returns immediately
+     */
+    public void start() {
+        startNanos = System.nanoTime();
+        SoundManager soundManager = SoundManager.getInstance();
+
+        total = SpriteLoader.getRequiredAssets().size() + soundManager.getSoundKeys().size();
+        List<CompletableFuture<Void>> required = new ArrayList<>();
+        for (String key : SpriteLoader.getRequiredAssets()) {
+            required.add(submit(key, () -> SpriteLoader.loadAsset(key)));
+        }
+        for (String key : soundManager.getSoundKeys()) {
+            required.add(submit("sound " + key, () -> soundManager.loadSound(key)));
+        }
+        logger.info("Loading {} assets on {} worker threads...", total, threads);
+
+        CompletableFuture.allOf(required.toArray(new CompletableFuture<?>[0]))
+                .thenRunAsync(() -> {
+                    // Slice frames (and mirrored variants) while the loading screen is up
+                    SpriteLoader.markInitialized();
+                    currentAsset = "frames";
+                    SpriteLoader.prepareCommonFrames();
+                }, workers)
+                .whenComplete((ignored, failure) -> {
+                    if (failure != null) {
+                        error = failure.getCause() != null ? failure.getCause() : failure;
+                        logger.error("Asset loading failed", error);
+                        return;
+                    }
+                    ready = true;
+                    logger.info("Required assets loaded in {} ms",
+                            (System.nanoTime() - startNanos) / 1_000_000);
+                    prefetchStageAssets();
+                });
+    }
+
+    private CompletableFuture<Void> submit(String name, Runnable task) {
+        return CompletableFuture.runAsync(() -> {
+            currentAsset = name;
+            task.run();
+            completed.incrementAndGet();
+        }, workers);
+    }
+
+    /**
+     * Decode boss 2/3 sheets and backgrounds while the player is in the menu / stage 1,
+     * then pre-process their frames (Boss 2 colour key, Boss 3 animations)
+     */
+    private void prefetchStageAssets() {
+        List<CompletableFuture<Void>> stage = new ArrayList<>();
+        for (String key : SpriteLoader.getStageAssets()) {
+            stage.add(CompletableFuture.runAsync(() -> SpriteLoader.loadAsset(key), workers));
+        }
+
+        CompletableFuture.allOf(stage.toArray(new CompletableFuture<?>[0]))
+                .thenRunAsync(SpriteLoader::prepareStageFrames, workers)
+                .whenComplete((ignored, failure) -> {
+                    if (failure != null) {
+                        // Not fatal: SpriteLoader retries on demand when the stage starts
+                        logger.warn("Failed to prefetch stage assets", failure);
+                    } else {
+                        logger.info("Stage assets prefetched in {} ms",
+                                (System.nanoTime() - startNanos) / 1_000_000);
+                    }
+                    workers.shutdown();
+                });
+    }
+
+    /**
+     * @return 0..1 fraction of required assets decoded
+     */
+    public double getProgress() {
+        return total == 0 ? 0 : (double) completed.get() / total;
+    }
+
+    public boolean isReady() { return ready; }
+    public Throwable getError() { return error; }
+    public String getCurrentAsset() { return currentAsset; }
+
+    public void shutdown() {
+        workers.shutdownNow();
+    }
+}
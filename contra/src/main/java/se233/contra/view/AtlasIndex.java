@@ -0,0 +1,182 @@
+package se233.contra.view;
+
+import se233.contra.exception.GameException;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * AtlasIndex - binary index of the packed sprite atlas (/atlas/sprites.idx)
+ * Maps every clip frame from the FrameTable to its trimmed rectangle on one of
+ * the atlas pages, plus where that rectangle sits inside the original frame so
+ * the untrimmed size (and therefore every hit box) is kept.
+ *
+ * Layout (big-endian, DataOutput):
+ *   int magic 'CATL', short version
+ *   short pageCount, then per page: UTF resource path, short width, short height
+ *   short clipCount, then per clip: UTF name, short frameCount, then per frame:
+ *     short page, x, y, width, height, offsetX, offsetY, sourceWidth, sourceHeight
+ */
+public final class AtlasIndex {
+    public static final String RESOURCE = "/atlas/sprites.idx";
+
+    private static final int MAGIC = 0x4341544C; // "CATL"
+    private static final int VERSION = 1;
+
+    private final List<Page> pages = new ArrayList<>();
+    private final Map<String, Region[]> clips = new LinkedHashMap<>();
+
+    public void addPage(String path, int width, int height) {
+        pages.add(new Page(path, width, height));
+    }
+
+    public void addClip(String name, Region[] frames) {
+        clips.put(name, frames.clone());
+    }
+
+    public List<Page> getPages() {
+        return Collections.unmodifiableList(pages);
+    }
+
+    public boolean contains(String clip) {
+        return clips.containsKey(clip);
+    }
+
+    /**
+     * Frames of a clip in order, or null if the clip was not packed
+     */
+    public Region[] getFrames(String clip) {
+        Region[] frames = clips.get(clip);
+        return frames != null ? frames.clone() : null;
+    }
+
+    public int getClipCount() {
+        return clips.size();
+    }
+
+    // ==================== Serialization ====================
+
+    public void write(OutputStream output) throws IOException {
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(output));
+        out.writeInt(MAGIC);
+        out.writeShort(VERSION);
+        out.writeShort(pages.size());
+        for (Page page : pages) {
+            out.writeUTF(page.path);
+            out.writeShort(page.width);
+            out.writeShort(page.height);
+        }
+        out.writeShort(clips.size());
+        for (Map.Entry<String, Region[]> clip : clips.entrySet()) {
+            out.writeUTF(clip.getKey());
+            out.writeShort(clip.getValue().length);
+            for (Region r : clip.getValue()) {
+                out.writeShort(r.page);
+                out.writeShort(r.x);
+                out.writeShort(r.y);
+                out.writeShort(r.width);
+                out.writeShort(r.height);
+                out.writeShort(r.offsetX);
+                out.writeShort(r.offsetY);
+                out.writeShort(r.sourceWidth);
+                out.writeShort(r.sourceHeight);
+            }
+        }
+        out.flush();
+    }
+
+    public static AtlasIndex read(InputStream input) throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(input));
+        if (in.readInt() != MAGIC) {
+            throw new GameException("Not a sprite atlas index",
+                    GameException.ErrorType.SPRITE_LOAD_ERROR);
+        }
+        int version = in.readUnsignedShort();
+        if (version != VERSION) {
+            throw new GameException("Unsupported atlas index version " + version,
+                    GameException.ErrorType.SPRITE_LOAD_ERROR);
+        }
+
+        AtlasIndex index = new AtlasIndex();
+        int pageCount = in.readUnsignedShort();
+        for (int i = 0; i < pageCount; i++) {
+            index.addPage(in.readUTF(), in.readUnsignedShort(), in.readUnsignedShort());
+        }
+        int clipCount = in.readUnsignedShort();
+        for (int i = 0; i < clipCount; i++) {
+            String name = in.readUTF();
+            Region[] frames = new Region[in.readUnsignedShort()];
+            for (int f = 0; f < frames.length; f++) {
+                frames[f] = new Region(in.readUnsignedShort(),
+                        in.readUnsignedShort(), in.readUnsignedShort(),
+                        in.readUnsignedShort(), in.readUnsignedShort(),
+                        in.readUnsignedShort(), in.readUnsignedShort(),
+                        in.readUnsignedShort(), in.readUnsignedShort());
+                if (frames[f].page >= pageCount) {
+                    throw new GameException("Atlas frame " + name + "#" + f + " is on a missing page",
+                            GameException.ErrorType.SPRITE_LOAD_ERROR);
+                }
+            }
+            index.clips.put(name, frames);
+        }
+        return index;
+    }
+
+    /**
+     * One atlas page image
+     */
+    public static final class Page {
+        private final String path;
+        private final int width;
+        private final int height;
+
+        Page(String path, int width, int height) {
+            this.path = path;
+            this.width = width;
+            this.height = height;
+        }
+
+        public String getPath() { return path; }
+        public int getWidth() { return width; }
+        public int getHeight() { return height; }
+    }
+
+    /**
+     * Where one frame's opaque pixels are on a page. An all-transparent frame
+     * has width/height 0 and only keeps its source size.
+     */
+    public static final class Region {
+        public final int page;
+        public final int x;
+        public final int y;
+        public final int width;
+        public final int height;
+        public final int offsetX;
+        public final int offsetY;
+        public final int sourceWidth;
+        public final int sourceHeight;
+
+        public Region(int page, int x, int y, int width, int height,
+                      int offsetX, int offsetY, int sourceWidth, int sourceHeight) {
+            this.page = page;
+            this.x = x;
+            this.y = y;
+            this.width = width;
+            this.height = height;
+            this.offsetX = offsetX;
+            this.offsetY = offsetY;
+            this.sourceWidth = sourceWidth;
+            this.sourceHeight = sourceHeight;
+        }
+    }
+}
@@ -0,0 +1,227 @@
+package se233.contra.view;
+
+import se233.contra.exception.GameException;
+import se233.contra.util.Constants;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * FrameTable - where every named animation lives on the sprite sheets
+ * Read from /sprites/frames.txt by both the build-time AtlasPacker and the
+ * runtime SpriteLoader, so the rectangles are written down exactly once.
+ * Plain Java on purpose: the packer runs without a JavaFX toolkit.
+ *
+ * Format: one clip per line, words separated by spaces, '#' starts a comment.
+ *   clip <name> <sheet> <x> <y> <w> <h> [count=<n>] [step=<px>] [key=<r>,<g>,<b>,<tolerance>]
+ * A clip with count=n has n frames of w x h, each step pixels (default w)
+ * right of the previous one. key= makes a background colour transparent.
+ */
+public final class FrameTable {
+    public static final String RESOURCE = "/sprites/frames.txt";
+
+    // Sheet key -> resource path of every sheet a clip may reference
+    public static final Map<String, String> SHEET_PATHS = Map.of(
+            "player", Constants.PLAYER_SPRITE,
+            "enemies", Constants.ENEMIES_SPRITE,
+            "enemies_tier2", Constants.ENEMIES_TIER2_SPRITE,
+            "boss1", Constants.BOSS1_SPRITE,
+            "boss2", Constants.BOSS2_SPRITE,
+            "boss3", Constants.BOSS3_SPRITE,
+            "boss3_effects", Constants.BOSS3_EFFECTS_SPRITE,
+            "ui", Constants.UI_SPRITE
+    );
+
+    private static volatile FrameTable defaultTable;
+
+    private final Map<String, Clip> clips;
+
+    private FrameTable(Map<String, Clip> clips) {
+        this.clips = Collections.unmodifiableMap(clips);
+    }
+
+    /**
+     * The table bundled with the game, read once
+     */
+    public static FrameTable getDefault() {
+        FrameTable table = defaultTable;
+        if (table == null) {
+            synchronized (FrameTable.class) {
+                table = defaultTable;
+                if (table == null) {
+                    table = defaultTable = read();
+                }
+            }
+        }
+        return table;
+    }
+
+    private static FrameTable read() {
+        try (InputStream in = FrameTable.class.getResourceAsStream(RESOURCE)) {
+            if (in == null) {
+                throw new GameException("Frame table not found: " + RESOURCE,
+                        GameException.ErrorType.RESOURCE_NOT_FOUND);
+            }
+            return parse(RESOURCE, new InputStreamReader(in, StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new GameException("Failed to read " + RESOURCE,
+                    GameException.ErrorType.SPRITE_LOAD_ERROR, e);
+        }
+    }
+
+    /**
+     * Clip by name
+     * @throws GameException if the table has no such clip
+     */
+    public Clip get(String name) {
+        Clip clip = clips.get(name);
+        if (clip == null) {
+            throw new GameException("No frames defined for '" + name + "' in " + RESOURCE,
+                    GameException.ErrorType.RESOURCE_NOT_FOUND);
+        }
+        return clip;
+    }
+
+    public boolean contains(String name) {
+        return clips.containsKey(name);
+    }
+
+    /** Every clip, in file order */
+    public Collection<Clip> getClips() {
+        return clips.values();
+    }
+
+    // ==================== Parser ====================
+
+    public static FrameTable parse(String source, Reader input) throws IOException {
+        BufferedReader reader = input instanceof BufferedReader
+                ? (BufferedReader) input : new BufferedReader(input);
+        Map<String, Clip> clips = new LinkedHashMap<>();
+
+        String line;
+        int lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            int comment = line.indexOf('#');
+            if (comment >= 0) line = line.substring(0, comment);
+            String[] words = line.trim().split("\\s+");
+            if (words[0].isEmpty()) continue;
+
+            String where = source + ":" + lineNumber;
+            if (!"clip".equals(words[0])) {
+                throw error(where, "unknown directive '" + words[0] + "'");
+            }
+            if (words.length < 7) {
+                throw error(where, "expected: clip <name> <sheet> <x> <y> <w> <h>");
+            }
+            String name = words[1];
+            String sheet = words[2];
+            if (!SHEET_PATHS.containsKey(sheet)) {
+                throw error(where, "unknown sheet '" + sheet + "'");
+            }
+            int x = number(where, words[3]);
+            int y = number(where, words[4]);
+            int width = number(where, words[5]);
+            int height = number(where, words[6]);
+            int count = 1;
+            int step = width;
+            int[] key = null;
+            for (int i = 7; i < words.length; i++) {
+                String word = words[i];
+                if (word.startsWith("count=")) {
+                    count = number(where, word.substring(6));
+                } else if (word.startsWith("step=")) {
+                    step = number(where, word.substring(5));
+                } else if (word.startsWith("key=")) {
+                    String[] parts = word.substring(4).split(",");
+                    if (parts.length != 4) {
+                        throw error(where, "key needs r,g,b,tolerance");
+                    }
+                    key = new int[4];
+                    for (int k = 0; k < 4; k++) {
+                        key[k] = number(where, parts[k]);
+                    }
+                } else {
+                    throw error(where, "unknown option '" + word + "'");
+                }
+            }
+            if (x < 0 || y < 0 || width < 1 || height < 1 || count < 1) {
+                throw error(where, "rectangle and count must be positive");
+            }
+            if (clips.put(name, new Clip(name, sheet, x, y, width, height, count, step, key)) != null) {
+                throw error(where, "duplicate clip '" + name + "'");
+            }
+        }
+        return new FrameTable(clips);
+    }
+
+    private static int number(String where, String value) {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw error(where, "not a whole number: " + value);
+        }
+    }
+
+    private static GameException error(String where, String message) {
+        return new GameException("Bad frame table " + where + ": " + message,
+                GameException.ErrorType.SPRITE_LOAD_ERROR);
+    }
+
+    /**
+     * One named animation: count frames of the same size in a row on one sheet
+     */
+    public static final class Clip {
+        private final String name;
+        private final String sheet;
+        private final int x;
+        private final int y;
+        private final int width;
+        private final int height;
+        private final int frameCount;
+        private final int step;
+        private final int[] colorKey;
+
+        Clip(String name, String sheet, int x, int y, int width, int height,
+             int frameCount, int step, int[] colorKey) {
+            this.name = name;
+            this.sheet = sheet;
+            this.x = x;
+            this.y = y;
+            this.width = width;
+            this.height = height;
+            this.frameCount = frameCount;
+            this.step = step;
+            this.colorKey = colorKey;
+        }
+
+        public String getName() { return name; }
+        public String getSheet() { return sheet; }
+        public int getFrameX(int frame) { return x + frame * step; }
+        public int getFrameY(int frame) { return y; }
+        public int getWidth() { return width; }
+        public int getHeight() { return height; }
+        public int getFrameCount() { return frameCount; }
+        public boolean hasColorKey() { return colorKey != null; }
+
+        /**
+         * Processor that keys out this clip's background colour
+         */
+        public SpriteProcessor getColorKey() {
+            return SpriteProcessor.colorKey(colorKey[0], colorKey[1], colorKey[2], colorKey[3]);
+        }
+
+        @Override
+        public String toString() {
+            return name + " (" + frameCount + " x " + width + "x" + height + " on " + sheet + ")";
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package se233.contra.view;
+
+import javafx.geometry.VPos;
+import javafx.scene.SnapshotParameters;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.Image;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.scene.text.Text;
+import javafx.scene.text.TextAlignment;
+
+/**
+ * GlyphAtlas - printable ASCII pre-rasterized once for one monospaced font
+ * and colour. Drawing text is then one sub-image blit per character, with no
+ * text layout, glyph rasterization or String building per frame.
+ * Must be created on the FX thread (it snapshots a Canvas).
+ */
+public class GlyphAtlas {
+    private static final char FIRST = 32;   // space
+    private static final char LAST = 126;   // '~'
+
+    private final Image image;
+    private final double advance;
+    private final double height;
+    private final double ascent;
+    private final char[] digits = new char[11];
+
+    public GlyphAtlas(Font font, Color color) {
+        Text probe = new Text("0");
+        probe.setFont(font);
+        this.advance = Math.ceil(probe.getLayoutBounds().getWidth());
+        this.height = Math.ceil(probe.getLayoutBounds().getHeight());
+        this.ascent = Math.ceil(-probe.getLayoutBounds().getMinY());
+
+        int glyphs = LAST - FIRST + 1;
+        Canvas canvas = new Canvas(advance * glyphs, height);
+        GraphicsContext gc = canvas.getGraphicsContext2D();
+        gc.setFont(font);
+        gc.setFill(color);
+        gc.setTextAlign(TextAlignment.LEFT);
+        gc.setTextBaseline(VPos.BASELINE);
+        char[] one = new char[1];
+        for (int i = 0; i < glyphs; i++) {
+            one[0] = (char) (FIRST + i);
+            gc.fillText(new String(one), i * advance, ascent);
+        }
+
+        SnapshotParameters parameters = new SnapshotParameters();
+        parameters.setFill(Color.TRANSPARENT);
+        this.image = canvas.snapshot(parameters, null);
+    }
+
+    /**
+     * Draw text with its baseline at y (same placement as gc.fillText)
+     * @return x after the last character
+     */
+    public double drawText(GraphicsContext gc, CharSequence text, double x, double y) {
+        for (int i = 0; i < text.length(); i++) {
+            x = drawChar(gc, text.charAt(i), x, y);
+        }
+        return x;
+    }
+
+    /**
+     * Draw a non-negative or negative int in decimal without building a String
+     * @return x after the last digit
+     */
+    public double drawNumber(GraphicsContext gc, int value, double x, double y) {
+        long v = value;
+        if (v < 0) {
+            x = drawChar(gc, '-', x, y);
+            v = -v;
+        }
+        int count = 0;
+        do {
+            digits[count++] = (char) ('0' + v % 10);
+            v /= 10;
+        } while (v != 0);
+        while (count > 0) {
+            x = drawChar(gc, digits[--count], x, y);
+        }
+        return x;
+    }
+
+    public double drawChar(GraphicsContext gc, char c, double x, double y) {
+        if (c > FIRST && c <= LAST) {
+            double sx = (c - FIRST) * advance;
+            gc.drawImage(image, sx, 0, advance, height, x, y - ascent, advance, height);
+        }
+        return x + advance;
+    }
+
+    /** Width of one character (the font is monospaced) */
+    public double getAdvance() { return advance; }
+
+    public Image getImage() { return image; }
+}
@@ -0,0 +1,125 @@
+package se233.contra.view;
+
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.scene.text.FontWeight;
+import se233.contra.controller.GameController;
+import se233.contra.util.Constants;
+
+/**
+ * HudRenderer - score, lives, wave and boss bar on their own canvas layer
+ * The layer keeps its pixels between frames and is repainted only when
+ * HudState reports a change, so a steady HUD costs nothing per frame. When it
+ * does repaint, text comes from GlyphAtlas blits instead of fillText.
+ */
+public class HudRenderer {
+    private static final String SCORE_LABEL = "SCORE: ";
+    private static final String LIVES_LABEL = "LIVES:";
+    private static final String WAVE_LABEL = "WAVE ";
+    private static final String BOSS_FIGHT_LABEL = "BOSS FIGHT!";
+    private static final Color[] BOSS_COLORS = {Color.LIMEGREEN, Color.YELLOW, Color.RED};
+
+    private final Canvas layer;
+    private final GraphicsContext gc;
+    private final HudState state = new HudState();
+    private boolean painted;
+    private long repaints;
+
+    // Built on first paint (needs the FX thread)
+    private GlyphAtlas white;
+    private GlyphAtlas yellow;
+    private GlyphAtlas red;
+    private GlyphAtlas small;
+
+    public HudRenderer(Canvas layer) {
+        this.layer = layer;
+        this.gc = layer.getGraphicsContext2D();
+    }
+
+    /**
+     * Repaint the HUD if anything on it changed since the last frame
+     */
+    public void render(GameController game) {
+        if (!state.capture(game) && painted) return;
+        paint();
+    }
+
+    /**
+     * Clear the HUD (menu); the next render() repaints it
+     */
+    public void hide() {
+        if (painted) {
+            gc.clearRect(0, 0, layer.getWidth(), layer.getHeight());
+            painted = false;
+        }
+        state.invalidate();
+    }
+
+    /** Number of times the layer has been repainted */
+    public long getRepaintCount() { return repaints; }
+
+    private void paint() {
+        if (white == null) {
+            Font normal = Font.font("Courier New", FontWeight.BOLD, 24);
+            white = new GlyphAtlas(normal, Color.WHITE);
+            yellow = new GlyphAtlas(normal, Color.YELLOW);
+            red = new GlyphAtlas(normal, Color.RED);
+            small = new GlyphAtlas(Font.font("Courier New", FontWeight.NORMAL, 16), Color.WHITE);
+        }
+
+        gc.clearRect(0, 0, layer.getWidth(), layer.getHeight());
+        painted = true;
+        repaints++;
+        if (!state.isVisible()) return;
+
+        // Score
+        double x = white.drawText(gc, SCORE_LABEL, 20, 40);
+        white.drawNumber(gc, state.getScore(), x, 40);
+
+        // Lives
+        white.drawText(gc, LIVES_LABEL, 20, 80);
+        gc.setFill(Color.RED);
+        for (int i = 0; i < state.getLives(); i++) {
+            gc.fillRect(120 + i * 30, 65, 20, 15);
+        }
+
+        // Wave info
+        double right = Constants.SCREEN_WIDTH - 200;
+        if (state.getMode() == HudState.Mode.WAVES) {
+            x = yellow.drawText(gc, WAVE_LABEL, right, 40);
+            x = yellow.drawNumber(gc, state.getWave(), x, 40);
+            x = yellow.drawChar(gc, '/', x, 40);
+            yellow.drawNumber(gc, state.getTotalWaves(), x, 40);
+        } else if (state.getMode() == HudState.Mode.BOSS) {
+            red.drawText(gc, BOSS_FIGHT_LABEL, right, 40);
+        }
+
+        if (state.hasBossBar()) {
+            paintBossBar();
+        }
+    }
+
+    private void paintBossBar() {
+        double barWidth = HudState.BOSS_BAR_WIDTH;
+        double barHeight = 25;
+        double barX = (Constants.SCREEN_WIDTH - barWidth) / 2;
+        double barY = 30;
+
+        // Translucent backing, white frame, dark red empty bar
+        gc.setFill(Color.rgb(0, 0, 0, 0.6));
+        gc.fillRect(barX - 5, barY - 5, barWidth + 10, barHeight + 10);
+        gc.setStroke(Color.WHITE);
+        gc.setLineWidth(2);
+        gc.strokeRect(barX, barY, barWidth, barHeight);
+        gc.setFill(Color.rgb(80, 0, 0));
+        gc.fillRect(barX + 2, barY + 2, barWidth - 4, barHeight - 4);
+
+        // Remaining HP, green to yellow to red
+        gc.setFill(BOSS_COLORS[state.getBossColor()]);
+        gc.fillRect(barX + 2, barY + 2, state.getBossBarPixels(), barHeight - 4);
+
+        small.drawText(gc, state.getBossName(), barX + barWidth / 2 - 80, barY - 10);
+    }
+}
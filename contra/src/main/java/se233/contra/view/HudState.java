@@ -0,0 +1,123 @@
+package se233.contra.view;
+
+import se233.contra.controller.GameController;
+import se233.contra.controller.GameController.GameState;
+import se233.contra.model.Boss;
+import se233.contra.model.Player;
+
+/**
+ * HudState - the few numbers the HUD shows, captured once per frame
+ * capture() says whether any of them changed since the previous frame, so
+ * the HUD layer is only repainted on a change. The boss bar is tracked in
+ * whole pixels, so tiny HP changes that would not move the bar are ignored.
+ */
+public class HudState {
+    public static final double BOSS_BAR_WIDTH = 300;
+
+    public enum Mode { NONE, WAVES, BOSS }
+
+    private boolean valid;
+    private boolean visible;
+    private int score;
+    private int lives;
+    private Mode mode = Mode.NONE;
+    private int wave;
+    private int totalWaves;
+    private boolean bossBar;
+    private int bossBarPixels;
+    private int bossColor;
+    private String bossName;
+
+    /**
+     * Read the HUD values from the game
+     * @return true if the HUD needs repainting
+     */
+    public boolean capture(GameController game) {
+        Player player = game.getPlayer();
+        boolean newVisible = player != null;
+        int newScore = newVisible ? player.getScore() : 0;
+        int newLives = newVisible ? player.getLives() : 0;
+
+        GameState state = game.getCurrentState();
+        Mode newMode = modeOf(state);
+        int newWave = newMode == Mode.WAVES ? game.getCurrentWave() : 0;
+        int newTotal = newMode == Mode.WAVES ? game.getTotalWaves() : 0;
+
+        Boss boss = game.getBoss();
+        boolean newBossBar = newMode == Mode.BOSS && boss != null && boss.isActive();
+        int newPixels = 0;
+        int newColor = 0;
+        String newName = null;
+        if (newBossBar) {
+            double percentage = boss.getHealthPercentage();
+            newPixels = (int) ((BOSS_BAR_WIDTH - 4) * percentage);
+            newColor = colorBucket(percentage);
+            newName = boss.getDisplayName();
+        }
+
+        boolean changed = !valid
+                || newVisible != visible
+                || newScore != score
+                || newLives != lives
+                || newMode != mode
+                || newWave != wave
+                || newTotal != totalWaves
+                || newBossBar != bossBar
+                || newPixels != bossBarPixels
+                || newColor != bossColor
+                || (newName != null && !newName.equals(bossName));
+
+        valid = true;
+        visible = newVisible;
+        score = newScore;
+        lives = newLives;
+        mode = newMode;
+        wave = newWave;
+        totalWaves = newTotal;
+        bossBar = newBossBar;
+        bossBarPixels = newPixels;
+        bossColor = newColor;
+        bossName = newName;
+        return changed;
+    }
+
+    /** Forget the last capture so the next one reports a change */
+    public void invalidate() {
+        valid = false;
+    }
+
+    private static Mode modeOf(GameState state) {
+        switch (state) {
+            case STAGE_1_WAVES:
+            case STAGE_2_WAVES:
+            case STAGE_3_WAVES:
+                return Mode.WAVES;
+            case STAGE_1_BOSS:
+            case STAGE_2_BOSS:
+            case STAGE_3_BOSS:
+                return Mode.BOSS;
+            default:
+                return Mode.NONE;
+        }
+    }
+
+    /**
+     * 0 = green (> 60%), 1 = yellow (> 30%), 2 = red
+     */
+    public static int colorBucket(double percentage) {
+        if (percentage > 0.6) return 0;
+        if (percentage > 0.3) return 1;
+        return 2;
+    }
+
+    public boolean isVisible() { return visible; }
+    public int getScore() { return score; }
+    public int getLives() { return lives; }
+    public Mode getMode() { return mode; }
+    public int getWave() { return wave; }
+    public int getTotalWaves() { return totalWaves; }
+    public boolean hasBossBar() { return bossBar; }
+    public int getBossBarPixels() { return bossBarPixels; }
+    public int getBossColor() { return bossColor; }
+    public String getBossName() { return bossName; }
+}
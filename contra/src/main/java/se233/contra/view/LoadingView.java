@@ -0,0 +1,53 @@
+package se233.contra.view;
+
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.scene.text.FontWeight;
+import se233.contra.util.Constants;
+
+/**
+ * LoadingView - progress screen shown while AssetLoader decodes the assets
+ * Draws only primitives and text, so it needs no loaded image itself.
+ */
+public class LoadingView extends Canvas {
+    private final GraphicsContext gc;
+    private final Font titleFont;
+    private final Font smallFont;
+
+    public LoadingView() {
+        super(Constants.SCREEN_WIDTH, Constants.SCREEN_HEIGHT);
+        this.gc = getGraphicsContext2D();
+        titleFont = Font.font("Courier New", FontWeight.BOLD, 48);
+        smallFont = Font.font("Courier New", FontWeight.NORMAL, 16);
+    }
+
+    /**
+     * @param progress 0..1 fraction of required assets loaded
+     * @param status   name of the asset being decoded
+     */
+    public void render(double progress, String status) {
+        gc.setFill(Color.BLACK);
+        gc.fillRect(0, 0, Constants.SCREEN_WIDTH, Constants.SCREEN_HEIGHT);
+
+        gc.setFill(Color.WHITE);
+        gc.setFont(titleFont);
+        gc.fillText("LOADING", Constants.SCREEN_WIDTH / 2.0 - 100, Constants.SCREEN_HEIGHT / 2.0 - 40);
+
+        double barWidth = 500;
+        double barHeight = 20;
+        double barX = (Constants.SCREEN_WIDTH - barWidth) / 2;
+        double barY = Constants.SCREEN_HEIGHT / 2.0;
+
+        gc.setStroke(Color.WHITE);
+        gc.setLineWidth(2);
+        gc.strokeRect(barX, barY, barWidth, barHeight);
+        gc.setFill(Color.ORANGE);
+        gc.fillRect(barX + 2, barY + 2, (barWidth - 4) * Math.max(0, Math.min(1, progress)), barHeight - 4);
+
+        gc.setFill(Color.GRAY);
+        gc.setFont(smallFont);
+        gc.fillText(String.format("%3.0f%%  %s", progress * 100, status), barX, barY + barHeight + 24);
+    }
+}
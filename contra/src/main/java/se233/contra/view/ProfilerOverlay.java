@@ -0,0 +1,71 @@
+package se233.contra.view;
+
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.scene.text.FontWeight;
+import se233.contra.util.Constants;
+import se233.contra.util.FrameProfiler;
+
+import java.util.Locale;
+
+/**
+ * ProfilerOverlay - frame-time panel drawn over the game (toggle with F3)
+ * The text is rebuilt a few times per second rather than every frame, so the
+ * overlay itself barely shows up in the numbers it reports.
+ */
+public class ProfilerOverlay {
+    private static final long REFRESH_NANOS = 250_000_000L;
+    private static final double LINE_HEIGHT = 16;
+    private static final double WIDTH = 420;
+
+    private final Font font = Font.font("Courier New", FontWeight.BOLD, 13);
+    private final Color background = Color.rgb(0, 0, 0, 0.7);
+    private final String[] lines = new String[FrameProfiler.Phase.values().length + 4];
+    private long lastRefresh;
+
+    public void render(GraphicsContext gc, FrameProfiler profiler) {
+        long now = System.nanoTime();
+        if (lines[0] == null || now - lastRefresh >= REFRESH_NANOS) {
+            refresh(profiler);
+            lastRefresh = now;
+        }
+
+        double height = lines.length * LINE_HEIGHT + 12;
+        double x = 10;
+        double y = Constants.SCREEN_HEIGHT - height - 10;
+
+        gc.setFill(background);
+        gc.fillRect(x, y, WIDTH, height);
+        gc.setFont(font);
+        for (int i = 0; i < lines.length; i++) {
+            gc.setFill(i == 0 ? Color.YELLOW : Color.LIME);
+            gc.fillText(lines[i], x + 8, y + 18 + i * LINE_HEIGHT);
+        }
+    }
+
+    private void refresh(FrameProfiler profiler) {
+        int line = 0;
+        lines[line++] = String.format(Locale.ROOT, "%-11s %8s %8s %8s  (ms)", "PHASE", "p50", "p95", "p99");
+        lines[line++] = row("frame",
+                profiler.getFramePercentile(0.50), profiler.getFramePercentile(0.95),
+                profiler.getFramePercentile(0.99));
+        for (FrameProfiler.Phase phase : FrameProfiler.Phase.values()) {
+            lines[line++] = row(phase.getLabel(),
+                    profiler.getPercentile(phase, 0.50), profiler.getPercentile(phase, 0.95),
+                    profiler.getPercentile(phase, 0.99));
+        }
+        lines[line++] = String.format(Locale.ROOT, "fps %.1f   entities %d   bullets %d",
+                profiler.getFps(), profiler.getEntityCount(), profiler.getBulletCount());
+
+        double rate = profiler.getAllocationRate();
+        lines[line] = String.format(Locale.ROOT, "alloc %s   spikes %d   (F4 dump)",
+                rate < 0 ? "n/a" : String.format(Locale.ROOT, "%.2f MB/s", rate / (1024 * 1024)),
+                profiler.getSpikeCount());
+    }
+
+    private static String row(String label, long p50, long p95, long p99) {
+        return String.format(Locale.ROOT, "%-11s %8.3f %8.3f %8.3f",
+                label, p50 / 1_000_000.0, p95 / 1_000_000.0, p99 / 1_000_000.0);
+    }
+}
@@ -0,0 +1,136 @@
+package se233.contra.view;
+
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.Image;
+import javafx.scene.image.PixelReader;
+
+/**
+ * SpriteFrame - one frame as a rectangle of a shared page image
+ * Atlas frames point into their atlas page (trimmed, with the offset of the
+ * opaque rect inside the original frame), sheet frames straight into their
+ * sprite sheet; no pixels are copied. draw() uses the source-rect overload of
+ * drawImage, so a trimmed frame lands exactly where the untrimmed one did and
+ * getWidth()/getHeight() keep the original size for hit boxes.
+ *
+ * The mirrored variant is a second SpriteFrame over the same pixels that
+ * draws with a negative width; each frame holds its twin, so flipping is a
+ * field read.
+ */
+public final class SpriteFrame {
+    private final Image page;
+    // Source rect on the page; width 0 for a fully transparent frame
+    private final int sourceX;
+    private final int sourceY;
+    private final int sourceWidth;
+    private final int sourceHeight;
+    // Where that rect sits inside the untrimmed frame
+    private final int offsetX;
+    private final int offsetY;
+    private final int width;
+    private final int height;
+    private final boolean mirrored;
+    private final SpriteFrame twin;
+
+    public SpriteFrame(Image page, int sourceX, int sourceY, int sourceWidth, int sourceHeight,
+                       int offsetX, int offsetY, int width, int height) {
+        this.page = page;
+        this.sourceX = sourceX;
+        this.sourceY = sourceY;
+        this.sourceWidth = sourceWidth;
+        this.sourceHeight = sourceHeight;
+        this.offsetX = offsetX;
+        this.offsetY = offsetY;
+        this.width = width;
+        this.height = height;
+        this.mirrored = false;
+        this.twin = new SpriteFrame(this);
+    }
+
+    private SpriteFrame(SpriteFrame source) {
+        this.page = source.page;
+        this.sourceX = source.sourceX;
+        this.sourceY = source.sourceY;
+        this.sourceWidth = source.sourceWidth;
+        this.sourceHeight = source.sourceHeight;
+        this.offsetX = source.offsetX;
+        this.offsetY = source.offsetY;
+        this.width = source.width;
+        this.height = source.height;
+        this.mirrored = !source.mirrored;
+        this.twin = source;
+    }
+
+    /**
+     * The whole image as one frame (processed frames, headless placeholders)
+     */
+    public static SpriteFrame of(Image image) {
+        int w = (int) image.getWidth();
+        int h = (int) image.getHeight();
+        return new SpriteFrame(image, 0, 0, w, h, 0, 0, w, h);
+    }
+
+    /**
+     * Left-right mirrored variant (shares the pixels)
+     */
+    public SpriteFrame mirrored() {
+        return twin;
+    }
+
+    /**
+     * Draw at (x, y), the top-left corner of the untrimmed frame
+     */
+    public void draw(GraphicsContext gc, double x, double y) {
+        if (sourceWidth == 0) return;
+        if (mirrored) {
+            // Negative width flips the rect; it ends where the unmirrored one starts
+            gc.drawImage(page, sourceX, sourceY, sourceWidth, sourceHeight,
+                    x + width - offsetX, y + offsetY, -sourceWidth, sourceHeight);
+        } else {
+            gc.drawImage(page, sourceX, sourceY, sourceWidth, sourceHeight,
+                    x + offsetX, y + offsetY, sourceWidth, sourceHeight);
+        }
+    }
+
+    /**
+     * Draw the untrimmed frame scaled to drawWidth x drawHeight at (x, y)
+     */
+    public void draw(GraphicsContext gc, double x, double y, double drawWidth, double drawHeight) {
+        if (sourceWidth == 0) return;
+        double scaleX = drawWidth / width;
+        double scaleY = drawHeight / height;
+        double dw = sourceWidth * scaleX;
+        double dh = sourceHeight * scaleY;
+        if (mirrored) {
+            gc.drawImage(page, sourceX, sourceY, sourceWidth, sourceHeight,
+                    x + (width - offsetX) * scaleX, y + offsetY * scaleY, -dw, dh);
+        } else {
+            gc.drawImage(page, sourceX, sourceY, sourceWidth, sourceHeight,
+                    x + offsetX * scaleX, y + offsetY * scaleY, dw, dh);
+        }
+    }
+
+    /**
+     * ARGB of a pixel of the untrimmed frame as drawn (0 outside the opaque rect)
+     */
+    public int getArgb(int x, int y) {
+        int px = mirrored ? width - 1 - x : x;
+        int rx = px - offsetX;
+        int ry = y - offsetY;
+        if (rx < 0 || ry < 0 || rx >= sourceWidth || ry >= sourceHeight) {
+            return 0;
+        }
+        PixelReader reader = page.getPixelReader();
+        return reader.getArgb(sourceX + rx, sourceY + ry);
+    }
+
+    public Image getPage() { return page; }
+    public double getWidth() { return width; }
+    public double getHeight() { return height; }
+    public boolean isMirrored() { return mirrored; }
+
+    @Override
+    public String toString() {
+        return "SpriteFrame[" + width + "x" + height + " from " + sourceWidth + "x" + sourceHeight
+                + " at " + sourceX + "," + sourceY + (mirrored ? ", mirrored" : "") + "]";
+    }
+}
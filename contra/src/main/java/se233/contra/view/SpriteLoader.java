@@ -1,6 +1,7 @@
 package se233.contra.view;
 
 import javafx.scene.image.Image;
+import javafx.scene.image.PixelFormat;
 import javafx.scene.image.PixelReader;
 import javafx.scene.image.WritableImage;
 import org.slf4j.Logger;
@@ -13,28 +14,72 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class SpriteLoader {
     private static final Logger logger = LoggerFactory.getLogger(SpriteLoader.class);
-    private static final Map<String, Image> spritesheets = new HashMap<>();
-    private static boolean initialized = false;
 
+    // Background keys for getBackground()
+    public static final String BACKGROUND_MAIN = "background";
+    public static final String BACKGROUND_MENU = "background_menu";
+    public static final String BACKGROUND_BOSS2 = "background_boss2";
+    public static final String BACKGROUND_BOSS3 = "background_boss3";
+
+    // Decoded sheets and backgrounds. Concurrent: AssetLoader decodes them on worker threads.
+    private static final Map<String, Image> spritesheets = new ConcurrentHashMap<>();
+
+    // Asset key -> resource path for every sheet/background the game uses
+    private static final Map<String, String> ASSET_PATHS = assetPaths();
+
+    // Needed before the menu can be shown / stage 1 can start
+    private static final List<String> REQUIRED_ASSETS = List.of(
+            "player", "enemies", "enemies_tier2", "boss1", "ui", BACKGROUND_MAIN, BACKGROUND_MENU);
+    // Only needed from stage 2/3 on: prefetched in the background, loaded on demand otherwise
+    private static final List<String> STAGE_ASSETS = List.of(
+            "boss2", BACKGROUND_BOSS2, "boss3", "boss3_effects", BACKGROUND_BOSS3);
+
+    // Packed atlas written by the build (AtlasPacker). When present every frame
+    // points into its pages and the sheets above are only decoded for getSprite().
+    private static final String ATLAS_PAGE_PREFIX = "atlas-";
+    private static final Object atlasLock = new Object();
+    private static volatile boolean atlasChecked = false;
+    private static volatile AtlasIndex atlas;
+    private static volatile Map<String, String> atlasPagePaths = Map.of();
+
+    // Frame cache: every (sheet, rect) is sliced once and shared by all callers
+    // Concurrent so AssetLoader can pre-process stage frames on a worker thread
+    private static final Map<String, Image> frameCache = new ConcurrentHashMap<>();
+    // Named animations: immutable frame lists shared by every entity that plays them
+    private static final Map<String, List<SpriteFrame>> animationCache = new ConcurrentHashMap<>();
+    // Mirrored lists keyed by the source list (SpriteFrame uses identity equality)
+    private static final Map<List<SpriteFrame>, List<SpriteFrame>> mirroredLists = new ConcurrentHashMap<>();
+    private static volatile boolean initialized = false;
+    // Headless: no sheets are decoded, every frame is a blank placeholder of the right size
+    private static volatile boolean headless = false;
+
+    /**
+     * Synchronously decode every sheet and background (tests, tools).
+     * The game itself uses AssetLoader to do this on a worker pool.
+     */
     public static void initialize() {
-        if (initialized) {
+        if (initialized && !headless) {
             logger.warn("SpriteLoader already initialized");
             return;
         }
+        if (headless) {
+            // Switching back from headless mode: drop the placeholder frames
+            clearCaches();
+            headless = false;
+        }
 
         try {
             logger.info("Loading all spritesheets...");
-            loadSpritesheet("player", Constants.PLAYER_SPRITE);
-            loadSpritesheet("enemies", Constants.ENEMIES_SPRITE);
-            loadSpritesheet("enemies_tier2", Constants.ENEMIES_TIER2_SPRITE);
-            loadSpritesheet("boss1", Constants.BOSS1_SPRITE);
-            loadSpritesheet("boss2", Constants.BOSS2_SPRITE);
-            loadSpritesheet("boss3", Constants.BOSS3_SPRITE);
-            loadSpritesheet("boss3_effects", Constants.BOSS3_EFFECTS_SPRITE);
-            loadSpritesheet("ui", Constants.UI_SPRITE);
+            for (String key : getRequiredAssets()) {
+                loadAsset(key);
+            }
+            for (String key : getStageAssets()) {
+                loadAsset(key);
+            }
             initialized = true;
             logger.info("All spritesheets loaded successfully");
         } catch (Exception e) {
@@ -43,18 +88,159 @@ public class SpriteLoader {
         }
     }
 
-    private static void loadSpritesheet(String key, String path) {
-        try {
-            InputStream is = SpriteLoader.class.getResourceAsStream(path);
+    /**
+     * Assets that must be decoded before the menu is shown
+     */
+    public static List<String> getRequiredAssets() {
+        AtlasIndex index = getAtlas();
+        if (index == null) {
+            return REQUIRED_ASSETS;
+        }
+        // The atlas pages hold every frame; only the menu / stage 1 backgrounds are separate
+        List<String> assets = new ArrayList<>(atlasPagePaths.keySet());
+        assets.add(BACKGROUND_MAIN);
+        assets.add(BACKGROUND_MENU);
+        return assets;
+    }
+
+    /**
+     * Stage-specific assets (boss 2/3 sheets and backgrounds)
+     */
+    public static List<String> getStageAssets() {
+        return getAtlas() == null ? STAGE_ASSETS : List.of(BACKGROUND_BOSS2, BACKGROUND_BOSS3);
+    }
+
+    /**
+     * The packed atlas index, read from the classpath on first use, or null if
+     * the build did not pack one (frames are then sliced from the sheets)
+     */
+    public static AtlasIndex getAtlas() {
+        if (!atlasChecked) {
+            synchronized (atlasLock) {
+                if (!atlasChecked) {
+                    atlas = readAtlas();
+                    atlasChecked = true;
+                }
+            }
+        }
+        return atlas;
+    }
+
+    private static AtlasIndex readAtlas() {
+        try (InputStream is = SpriteLoader.class.getResourceAsStream(AtlasIndex.RESOURCE)) {
+            if (is == null) {
+                logger.info("No packed sprite atlas, slicing frames from the sheets");
+                return null;
+            }
+            AtlasIndex index = AtlasIndex.read(is);
+            Map<String, String> pages = new HashMap<>();
+            for (int i = 0; i < index.getPages().size(); i++) {
+                pages.put(ATLAS_PAGE_PREFIX + i, index.getPages().get(i).getPath());
+            }
+            atlasPagePaths = Map.copyOf(pages);
+            logger.info("Using packed sprite atlas: {} clips on {} page(s)",
+                    index.getClipCount(), pages.size());
+            return index;
+        } catch (Exception e) {
+            logger.warn("Failed to read {}, slicing frames from the sheets", AtlasIndex.RESOURCE, e);
+            return null;
+        }
+    }
+
+    private static Map<String, String> assetPaths() {
+        Map<String, String> paths = new HashMap<>(FrameTable.SHEET_PATHS);
+        paths.put(BACKGROUND_MAIN, Constants.BACKGROUND);
+        paths.put(BACKGROUND_MENU, Constants.BACKGROUND_MENU);
+        paths.put(BACKGROUND_BOSS2, Constants.BACKGROUND_BOSS2);
+        paths.put(BACKGROUND_BOSS3, Constants.BOSS3_BACKGROUND);
+        return Map.copyOf(paths);
+    }
+
+    /**
+     * Decode one asset if it is not loaded yet. Thread-safe: concurrent callers
+     * for the same key wait for the single decode instead of repeating it.
+     */
+    public static void loadAsset(String key) {
+        if (headless) return;
+        spritesheets.computeIfAbsent(key, SpriteLoader::decodeAsset);
+    }
+
+    /**
+     * Called by AssetLoader once every required asset is decoded
+     */
+    public static void markInitialized() {
+        initialized = true;
+    }
+
+    public static boolean isInitialized() {
+        return initialized;
+    }
+
+    /**
+     * Headless mode for simulation without a display (CI, soak tests, balance sweeps).
+     * No sprite sheets are read; getSprite() hands out blank placeholders that keep
+     * the real frame sizes and counts, so hit boxes and animation timing are unchanged.
+     */
+    public static void initializeHeadless() {
+        if (initialized && headless) {
+            return;
+        }
+        clearCaches();
+        headless = true;
+        initialized = true;
+        logger.info("SpriteLoader initialized in headless mode (placeholder sprites)");
+    }
+
+    public static boolean isHeadless() {
+        return headless;
+    }
+
+    /**
+     * Full-screen background by key (BACKGROUND_*), decoded on first use if it
+     * was not prefetched. Falls back to the main background if it failed to load.
+     */
+    public static Image getBackground(String key) {
+        if (headless) {
+            return cachedSprite(key, key, 0, 0, Constants.SCREEN_WIDTH, Constants.SCREEN_HEIGHT).getPage();
+        }
+        loadAsset(key);
+        return spritesheets.get(key);
+    }
+
+    private static void clearCaches() {
+        spritesheets.clear();
+        frameCache.clear();
+        animationCache.clear();
+        mirroredLists.clear();
+        AnimationClip.clearCache();
+    }
+
+    private static Image decodeAsset(String key) {
+        String path = ASSET_PATHS.containsKey(key) ? ASSET_PATHS.get(key) : atlasPagePaths.get(key);
+        if (path == null) {
+            throw new GameException("Unknown asset: " + key,
+                    GameException.ErrorType.RESOURCE_NOT_FOUND);
+        }
+        boolean isBackground = key.startsWith(BACKGROUND_MAIN);
+        try (InputStream is = SpriteLoader.class.getResourceAsStream(path)) {
             if (is == null) {
                 throw new GameException("Spritesheet not found: " + path,
                         GameException.ErrorType.RESOURCE_NOT_FOUND);
             }
             Image image = new Image(is);
-            spritesheets.put(key, image);
+            if (image.isError()) {
+                throw new GameException("Failed to decode: " + path,
+                        GameException.ErrorType.SPRITE_LOAD_ERROR, image.getException());
+            }
             logger.debug("Loaded spritesheet: {} ({}x{})", key,
                     image.getWidth(), image.getHeight());
+            return image;
         } catch (Exception e) {
+            if (isBackground && !BACKGROUND_MAIN.equals(key)) {
+                logger.warn("Failed to load background {}, using main background as fallback", path, e);
+                // Decoded directly: computeIfAbsent must not be re-entered from its own mapping function
+                return decodeAsset(BACKGROUND_MAIN);
+            }
             logger.error("Failed to load spritesheet: {}", path, e);
             throw new GameException("Failed to load: " + path,
                     GameException.ErrorType.SPRITE_LOAD_ERROR, e);
@@ -67,6 +253,28 @@ public class SpriteLoader {
                     GameException.ErrorType.INVALID_GAME_STATE);
         }
 
+        String cacheKey = sheetKey + ':' + x + ',' + y + ',' + width + 'x' + height;
+        Image cached = frameCache.get(cacheKey);
+        if (cached != null) {
+            return cached;
+        }
+
+        if (headless) {
+            // One shared placeholder per frame size
+            String sizeKey = "headless:" + width + 'x' + height;
+            Image placeholder = frameCache.get(sizeKey);
+            if (placeholder == null) {
+                placeholder = new WritableImage(width, height);
+                frameCache.put(sizeKey, placeholder);
+            }
+            frameCache.put(cacheKey, placeholder);
+            return placeholder;
+        }
+
+        // Stage sheets may still be prefetching: decode now if needed
+        if (ASSET_PATHS.containsKey(sheetKey)) {
+            loadAsset(sheetKey);
+        }
         Image sheet = spritesheets.get(sheetKey);
         if (sheet == null) {
             throw new GameException("Spritesheet not found: " + sheetKey,
@@ -78,9 +286,13 @@ public class SpriteLoader {
             if (x + width > sheet.getWidth() || y + height > sheet.getHeight() || x < 0 || y < 0) {
                 logger.error("Sprite bounds ({}x{} at {},{}) are outside sheet dimensions ({}x{}) for key {}",
                         width, height, x, y, sheet.getWidth(), sheet.getHeight(), sheetKey);
-                return new WritableImage(width, height);
+                Image blank = new WritableImage(width, height);
+                frameCache.put(cacheKey, blank);
+                return blank;
             }
-            return new WritableImage(reader, x, y, width, height);
+            Image frame = new WritableImage(reader, x, y, width, height);
+            frameCache.put(cacheKey, frame);
+            return frame;
         } catch (Exception e) {
             logger.error("Failed to extract sprite from {} at ({},{},{}x{})",
                     sheetKey, x, y, width, height, e);
@@ -89,168 +301,272 @@ public class SpriteLoader {
         }
     }
 
-    // --- Player ---
-    public static List<Image> getPlayerIdle() {
-        List<Image> frames = new ArrayList<>();
-        frames.add(getSprite("player", 0, 8, 24, 34));
-        frames.add(getSprite("player", 24, 8, 24, 34));
-        return frames;
-    }
-    public static List<Image> getPlayerRun() {
-        List<Image> frames = new ArrayList<>();
-        for (int i = 0; i < 6; i++) {
-            frames.add(getSprite("player", i * 20, 43, 20, 35));
+    /**
+     * Post-processed copy of a frame (colour key, flip, tint, ...), cached by name.
+     * The processor runs once over a packed ARGB buffer; later calls return the
+     * same image. In headless mode the source placeholder is returned unchanged.
+     */
+    public static Image getProcessedSprite(String name, Image source, SpriteProcessor processor) {
+        String cacheKey = "processed:" + name;
+        Image cached = frameCache.get(cacheKey);
+        if (cached != null) {
+            return cached;
         }
-        return frames;
-    }
-    public static List<Image> getPlayerJump() {
-        List<Image> frames = new ArrayList<>();
-        frames.add(getSprite("player", 122, 52, 20, 20));
-        frames.add(getSprite("player", 142, 52, 20, 20));
-        frames.add(getSprite("player", 162, 52, 20, 20));
-        return frames;
+        if (headless) {
+            return source;
+        }
+
+        Image out = applyProcessor(source, processor);
+        Image existing = frameCache.putIfAbsent(cacheKey, out);
+        return existing != null ? existing : out;
     }
-    public static List<Image> getPlayerShoot() {
-        List<Image> frames = new ArrayList<>();
-        frames.add(getSprite("player", 0, 79, 25, 34));
-        frames.add(getSprite("player", 25, 79, 25, 34));
-        return frames;
+
+    /**
+     * Mirrored variant of a whole animation, frame for frame. The frames share
+     * their pixels with the originals (see SpriteFrame.mirrored), so this only
+     * builds the list.
+     */
+    public static List<SpriteFrame> getMirrored(List<SpriteFrame> frames) {
+        List<SpriteFrame> mirrored = mirroredLists.get(frames);
+        if (mirrored == null) {
+            List<SpriteFrame> built = new ArrayList<>(frames.size());
+            for (SpriteFrame frame : frames) {
+                built.add(frame.mirrored());
+            }
+            mirrored = List.copyOf(built);
+            List<SpriteFrame> existing = mirroredLists.putIfAbsent(List.copyOf(frames), mirrored);
+            if (existing != null) {
+                return existing;
+            }
+        }
+        return mirrored;
     }
-    public static List<Image> getPlayerProne() {
-        List<Image> frames = new ArrayList<>();
-        frames.add(getSprite("player", 80, 25, 31, 18));
-        return frames;
+
+    private static Image applyProcessor(Image source, SpriteProcessor processor) {
+        int width = (int) source.getWidth();
+        int height = (int) source.getHeight();
+        int[] argb = new int[width * height];
+        source.getPixelReader().getPixels(0, 0, width, height,
+                PixelFormat.getIntArgbInstance(), argb, 0, width);
+
+        processor.process(argb, width, height);
+
+        WritableImage out = new WritableImage(width, height);
+        out.getPixelWriter().setPixels(0, 0, width, height,
+                PixelFormat.getIntArgbInstance(), argb, 0, width);
+        return out;
     }
-    public static List<Image> getPlayerDeath() {
-        List<Image> frames = new ArrayList<>();
-        for (int i = 0; i < 5; i++) {
-            frames.add(getSprite("player", 61 + i * 32, 161, 32, 23));
+
+    /**
+     * Returns the shared, immutable frame list for a named FrameTable clip,
+     * building it only on first use.
+     */
+    private static List<SpriteFrame> cachedFrames(String name) {
+        List<SpriteFrame> frames = animationCache.get(name);
+        if (frames == null) {
+            frames = List.copyOf(buildFrames(name));
+            // First writer wins so every caller shares the same list instance
+            List<SpriteFrame> existing = animationCache.putIfAbsent(name, frames);
+            if (existing != null) {
+                return existing;
+            }
+            // Facing left is just a different list: build the mirrored frames now, not mid-fight
+            getMirrored(frames);
+            logger.debug("Cached animation '{}' ({} frames)", name, frames.size());
         }
         return frames;
     }
 
-    // --- Soldier ---
-    public static List<Image> getSoldierRun() {
-        List<Image> frames = new ArrayList<>();
-        for (int i = 0; i < 3; i++) {
-            frames.add(getSprite("enemies", 40 + i * 18, 417, 18, 25));
+    /**
+     * Single-frame counterpart of {@link #cachedFrames}: looks the sprite up by a
+     * constant name so hot callers (e.g. every Bullet) skip building the rect key.
+     */
+    private static SpriteFrame cachedSprite(String name) {
+        List<SpriteFrame> frames = animationCache.get(name);
+        if (frames == null) {
+            frames = List.copyOf(buildFrames(name));
+            List<SpriteFrame> existing = animationCache.putIfAbsent(name, frames);
+            if (existing != null) {
+                return existing.get(0);
+            }
         }
-        return frames;
+        return frames.get(0);
     }
-    public static List<Image> getSoldierShoot() {
-        List<Image> frames = new ArrayList<>();
-        frames.add(getSprite("enemies", 95, 418, 15, 24));
-        return frames;
+
+    /**
+     * Headless placeholder for a whole sheet or background, cached by name
+     */
+    private static SpriteFrame cachedSprite(String name, String sheetKey, int x, int y, int width, int height) {
+        List<SpriteFrame> frames = animationCache.get(name);
+        if (frames == null) {
+            frames = List.of(SpriteFrame.of(getSprite(sheetKey, x, y, width, height)));
+            List<SpriteFrame> existing = animationCache.putIfAbsent(name, frames);
+            if (existing != null) {
+                return existing.get(0);
+            }
+        }
+        return frames.get(0);
     }
 
-    // --- SoldierTier2 (64x64 Grid) ---
-    public static List<Image> getSoldierTier2Run() {
-        List<Image> frames = new ArrayList<>();
-        int frameWidth = 64;
-        int frameHeight = 64;
-        int y = 0;
+    /**
+     * Frames of a clip: rects of the packed atlas pages when the build made
+     * one, otherwise rects of the clip's sheet (colour-keyed clips are
+     * processed once into their own image)
+     */
+    private static List<SpriteFrame> buildFrames(String name) {
+        FrameTable.Clip clip = FrameTable.getDefault().get(name);
+        List<SpriteFrame> frames = new ArrayList<>(clip.getFrameCount());
 
-        for (int i = 1; i <= 4; i++) {
-            int x = i * frameWidth;
-            frames.add(getSprite("enemies_tier2", x, y, frameWidth, frameHeight));
+        AtlasIndex index = headless ? null : getAtlas();
+        if (index != null && index.contains(name)) {
+            for (AtlasIndex.Region region : index.getFrames(name)) {
+                frames.add(atlasFrame(region));
+            }
+            return frames;
         }
 
-        logger.debug("Loaded {} SoldierTier2 Run frames", frames.size());
+        SpriteProcessor keyOut = clip.hasColorKey() ? clip.getColorKey() : null;
+        for (int i = 0; i < clip.getFrameCount(); i++) {
+            if (keyOut != null) {
+                Image frame = getSprite(clip.getSheet(), clip.getFrameX(i), clip.getFrameY(i),
+                        clip.getWidth(), clip.getHeight());
+                frames.add(SpriteFrame.of(getProcessedSprite(name + '_' + i, frame, keyOut)));
+            } else {
+                frames.add(sheetFrame(clip.getSheet(), clip.getFrameX(i), clip.getFrameY(i),
+                        clip.getWidth(), clip.getHeight()));
+            }
+        }
         return frames;
     }
 
-    public static List<Image> getSoldierTier2Shoot() {
-        List<Image> frames = new ArrayList<>();
-        int frameWidth = 64;
-        int frameHeight = 64;
+    /**
+     * Trimmed frame on its atlas page; the region's offset and source size put
+     * it back where it was on the sheet, so hit boxes and draw positions match
+     */
+    private static SpriteFrame atlasFrame(AtlasIndex.Region region) {
+        String pageKey = ATLAS_PAGE_PREFIX + region.page;
+        loadAsset(pageKey);
+        return new SpriteFrame(spritesheets.get(pageKey), region.x, region.y, region.width, region.height,
+                region.offsetX, region.offsetY, region.sourceWidth, region.sourceHeight);
+    }
 
-        frames.add(getSprite("enemies_tier2", 0, 0, frameWidth, frameHeight));
+    /**
+     * Rect of a sheet as a frame, without copying it; headless placeholders and
+     * out-of-bounds rects go through getSprite()
+     */
+    private static SpriteFrame sheetFrame(String sheetKey, int x, int y, int width, int height) {
+        if (!headless) {
+            loadAsset(sheetKey);
+            Image sheet = spritesheets.get(sheetKey);
+            if (sheet != null && x >= 0 && y >= 0
+                    && x + width <= sheet.getWidth() && y + height <= sheet.getHeight()) {
+                return new SpriteFrame(sheet, x, y, width, height, 0, 0, width, height);
+            }
+        }
+        return SpriteFrame.of(getSprite(sheetKey, x, y, width, height));
+    }
 
-        logger.debug("Loaded {} SoldierTier2 Shoot frame", frames.size());
-        return frames;
+    /**
+     * Any clip from the FrameTable by name (the getters below are shorthands)
+     */
+    public static List<SpriteFrame> getClip(String name) {
+        return cachedFrames(name);
     }
 
+    // --- Player ---
+    public static List<SpriteFrame> getPlayerIdle() { return cachedFrames("player_idle"); }
+    public static List<SpriteFrame> getPlayerRun() { return cachedFrames("player_run"); }
+    public static List<SpriteFrame> getPlayerJump() { return cachedFrames("player_jump"); }
+    public static List<SpriteFrame> getPlayerShoot() { return cachedFrames("player_shoot"); }
+    public static List<SpriteFrame> getPlayerProne() { return cachedFrames("player_prone"); }
+    public static List<SpriteFrame> getPlayerDeath() { return cachedFrames("player_death"); }
+
+    // --- Soldier ---
+    public static List<SpriteFrame> getSoldierRun() { return cachedFrames("soldier_run"); }
+    public static List<SpriteFrame> getSoldierShoot() { return cachedFrames("soldier_shoot"); }
+
+    // --- SoldierTier2 ---
+    public static List<SpriteFrame> getSoldierTier2Run() { return cachedFrames("soldier_tier2_run"); }
+    public static List<SpriteFrame> getSoldierTier2Shoot() { return cachedFrames("soldier_tier2_shoot"); }
+
     // --- Boss 1 ---
-    public static Image getBoss1Door() {
-        return getSprite("boss1", 80, 0, 80, 180);
-    }
-    public static Image getBoss1Cannon() {
-        return getSprite("boss1", 10, 100, 24, 16);
-    }
-    public static List<Image> getBoss1Core() {
-        List<Image> frames = new ArrayList<>();
-        for (int i = 0; i < 3; i++) {
-            frames.add(getSprite("boss1", 10 + i * 32, 80, 32, 32));
-        }
-        return frames;
-    }
+    public static SpriteFrame getBoss1Door() { return cachedSprite("boss1_door"); }
+    public static SpriteFrame getBoss1Cannon() { return cachedSprite("boss1_cannon"); }
+    public static List<SpriteFrame> getBoss1Core() { return cachedFrames("boss1_core"); }
 
     // --- Boss 2 ---
     public static Image getBoss2() {
+        if (headless) {
+            return cachedSprite("boss2_sheet", "boss2", 0, 0,
+                    Constants.BOSS2_FRAME_W * Constants.BOSS2_COLS, Constants.BOSS2_FRAME_H).getPage();
+        }
+        loadAsset("boss2");
         return spritesheets.get("boss2");
     }
 
-    // --- Boss 3 (100x100 Grid) ---
-    private static final int BOSS3_FRAME_WIDTH = 100;
-    private static final int BOSS3_FRAME_HEIGHT = 100;
-    private static List<Image> getBoss3Frames(int row, int... frameIndices) {
-        List<Image> frames = new ArrayList<>();
-        int y = (row - 1) * BOSS3_FRAME_HEIGHT;
-        for (int i : frameIndices) {
-            int x = i * BOSS3_FRAME_WIDTH;
-            frames.add(getSprite("boss3", x, y, BOSS3_FRAME_WIDTH, BOSS3_FRAME_HEIGHT));
-        }
-        return frames;
+    /**
+     * Boss 2 frames with the green sheet background keyed out (at build time
+     * when packed, otherwise once on first use)
+     */
+    public static List<SpriteFrame> getBoss2Frames() { return cachedFrames("boss2"); }
+
+    /**
+     * Slice the player/soldier/effect animations and their mirrored variants
+     * during loading instead of on first use. Safe to call from a worker thread.
+     */
+    public static void prepareCommonFrames() {
+        getPlayerIdle();
+        getPlayerRun();
+        getPlayerJump();
+        getPlayerShoot();
+        getPlayerProne();
+        getPlayerDeath();
+        getSoldierRun();
+        getSoldierShoot();
+        getSoldierTier2Run();
+        getSoldierTier2Shoot();
+        getBoss1Core();
+        getExplosion();
     }
-    public static List<Image> getBoss3Idle() { return getBoss3Frames(1, 0); }
-    public static List<Image> getBoss3Charge1() { return getBoss3Frames(1, 1); }
-    public static List<Image> getBoss3Attack1() { return getBoss3Frames(1, 2); }
-    public static List<Image> getBoss3Charge2() { return getBoss3Frames(2, 0); }
-    public static List<Image> getBoss3Attack2() { return getBoss3Frames(2, 1); }
-    public static List<Image> getBoss3Jump1() { return getBoss3Frames(3, 0); }
-    public static List<Image> getBoss3Jump2() { return getBoss3Frames(3, 1); }
-    public static List<Image> getBoss3Down1() { return getBoss3Frames(4, 0); }
-    public static List<Image> getBoss3Down2() { return getBoss3Frames(4, 1); }
-    public static List<Image> getBoss3Hurt() { return getBoss3Frames(5, 0); }
-    public static List<Image> getBoss3Defeated() {
-        List<Image> frames = getBoss3Frames(6, 1, 2);
-        if (frames.isEmpty() || frames.get(0).getWidth() <= 1) {
-            logger.warn("Boss3 'Defeated' animation not found, using 'Hurt' as fallback.");
-            return getBoss3Frames(6, 0);
-        }
-        return frames;
+
+    /**
+     * Pre-build stage 2/3 frames (keyed Boss 2 frames, Boss 3 animations) so
+     * spawning a boss only allocates the object. Safe to call from a worker thread.
+     */
+    public static void prepareStageFrames() {
+        getBoss2Frames();
+        getBoss3Idle();
+        getBoss3BulletAnimation(true);
+        getBoss3BulletAnimation(false);
     }
 
-    // --- Boss 3 Fireball (10 frames, 64x64 Grid) ---
-    public static List<Image> getBoss3BulletAnimation(boolean facingRight) {
-        List<Image> frames = new ArrayList<>();
-        int frameWidth = 64;
-        int frameHeight = 64;
-        int y = facingRight ? frameHeight : 0;
+    // --- Boss 3 ---
+    public static List<SpriteFrame> getBoss3Idle() { return cachedFrames("boss3_idle"); }
+    public static List<SpriteFrame> getBoss3Charge1() { return cachedFrames("boss3_charge1"); }
+    public static List<SpriteFrame> getBoss3Attack1() { return cachedFrames("boss3_attack1"); }
+    public static List<SpriteFrame> getBoss3Charge2() { return cachedFrames("boss3_charge2"); }
+    public static List<SpriteFrame> getBoss3Attack2() { return cachedFrames("boss3_attack2"); }
+    public static List<SpriteFrame> getBoss3Jump1() { return cachedFrames("boss3_jump1"); }
+    public static List<SpriteFrame> getBoss3Jump2() { return cachedFrames("boss3_jump2"); }
+    public static List<SpriteFrame> getBoss3Down1() { return cachedFrames("boss3_down1"); }
+    public static List<SpriteFrame> getBoss3Down2() { return cachedFrames("boss3_down2"); }
+    public static List<SpriteFrame> getBoss3Hurt() { return cachedFrames("boss3_hurt"); }
+    public static List<SpriteFrame> getBoss3Defeated() { return cachedFrames("boss3_defeated"); }
 
+    // --- Boss 3 Fireball ---
+    public static List<SpriteFrame> getBoss3BulletAnimation(boolean facingRight) {
+        String name = facingRight ? "boss3_fireball_right" : "boss3_fireball_left";
         try {
-            for (int i = 0; i < 5; i++) {
-                int x = i * frameWidth;
-                frames.add(getSprite("boss3_effects", x, y, frameWidth, frameHeight));
-            }
+            return cachedFrames(name);
         } catch (Exception e) {
-            logger.error("Failed to load Boss3 Bullet Animation! Check MagmaDragoonEffects2.png.", e);
+            logger.error("Failed to load Boss3 Bullet Animation! Check {}.", Constants.BOSS3_EFFECTS_SPRITE, e);
+            // Nothing is cached on failure - retry on the next shot
+            return List.of();
         }
-        return frames;
     }
 
     // --- Effects & UI ---
-    public static List<Image> getExplosion() {
-        List<Image> frames = new ArrayList<>();
-        for (int i = 0; i < 3; i++) {
-            frames.add(getSprite("enemies", 92 + i * 30, 611, 30, 30));
-        }
-        return frames;
-    }
-    public static Image getBullet() {
-        return getSprite("enemies", 199, 72, 3, 3);
-    }
-    public static Image getLifeIcon() {
-        return getSprite("ui", 0, 0, 16, 10);
-    }
-}
\ No newline at end of file
+    public static List<SpriteFrame> getExplosion() { return cachedFrames("explosion"); }
+    public static SpriteFrame getBullet() { return cachedSprite("bullet"); }
+    public static SpriteFrame getLifeIcon() { return cachedSprite("life_icon"); }
+}
@@ -0,0 +1,79 @@
+package se233.contra.view;
+
+import javafx.scene.paint.Color;
+
+/**
+ * SpriteProcessor - pixel post-process applied once to a sliced frame
+ * Works on a packed ARGB buffer (row-major, width x height) in place.
+ * Results are cached by SpriteLoader.getProcessedSprite(), so the cost is paid
+ * once per frame at load time instead of per spawn or per draw.
+ */
+@FunctionalInterface
+public interface SpriteProcessor {
+
+    void process(int[] argb, int width, int height);
+
+    /**
+     * Run this processor, then the next one
+     */
+    default SpriteProcessor then(SpriteProcessor next) {
+        return (argb, width, height) -> {
+            process(argb, width, height);
+            next.process(argb, width, height);
+        };
+    }
+
+    /**
+     * Make every pixel within tolerance of the key colour fully transparent
+     */
+    static SpriteProcessor colorKey(int keyR, int keyG, int keyB, int tolerance) {
+        return (argb, width, height) -> {
+            for (int i = 0; i < argb.length; i++) {
+                int p = argb[i];
+                int r = (p >> 16) & 0xFF, g = (p >> 8) & 0xFF, b = p & 0xFF;
+                if (Math.abs(r - keyR) <= tolerance && Math.abs(g - keyG) <= tolerance
+                        && Math.abs(b - keyB) <= tolerance) {
+                    argb[i] = 0x00000000;
+                }
+            }
+        };
+    }
+
+    /**
+     * Mirror the frame left-right
+     */
+    static SpriteProcessor flipHorizontal() {
+        return (argb, width, height) -> {
+            for (int y = 0; y < height; y++) {
+                int row = y * width;
+                for (int left = 0, right = width - 1; left < right; left++, right--) {
+                    int tmp = argb[row + left];
+                    argb[row + left] = argb[row + right];
+                    argb[row + right] = tmp;
+                }
+            }
+        };
+    }
+
+    /**
+     * Blend every opaque pixel towards a colour (alpha is kept)
+     * @param amount 0 = unchanged, 1 = solid colour
+     */
+    static SpriteProcessor tint(Color color, double amount) {
+        int tr = (int) Math.round(color.getRed() * 255);
+        int tg = (int) Math.round(color.getGreen() * 255);
+        int tb = (int) Math.round(color.getBlue() * 255);
+        double k = Math.max(0, Math.min(1, amount));
+        return (argb, width, height) -> {
+            for (int i = 0; i < argb.length; i++) {
+                int p = argb[i];
+                int a = p >>> 24;
+                if (a == 0) continue;
+                int r = (int) (((p >> 16) & 0xFF) + (tr - ((p >> 16) & 0xFF)) * k);
+                int g = (int) (((p >> 8) & 0xFF) + (tg - ((p >> 8) & 0xFF)) * k);
+                int b = (int) ((p & 0xFF) + (tb - (p & 0xFF)) * k);
+                argb[i] = (a << 24) | (r << 16) | (g << 8) | b;
+            }
+        };
+    }
+}
@@ -0,0 +1,155 @@
+package se233.contra.controller;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import se233.contra.model.Bullet;
+import se233.contra.model.Player;
+import se233.contra.model.Soldier;
+import se233.contra.model.SoldierTier2;
+import se233.contra.util.Constants;
+import se233.contra.util.Rectangle;
+import se233.contra.util.SoundManager;
+import se233.contra.util.Vector2D;
+import se233.contra.view.SpriteLoader;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ✅ Tests for the SpatialGrid broad phase used by CollisionDetector
+ * (grid vs full scan timings are in the jmh CollisionBenchmark)
+ */
+public class CollisionDetectorTest {
+
+    @BeforeEach
+    public void setUp() {
+        try {
+            SpriteLoader.initialize();
+        } catch (Exception e) {
+            // Ignore
+        }
+        // Thousands of hits would otherwise spam "sound not found" warnings
+        SoundManager.getInstance().setSoundEnabled(false);
+    }
+
+    @Test
+    public void testGridQueryFindsEveryIntersectingBox() {
+        Random rng = new Random(42);
+        SpatialGrid grid = new SpatialGrid(Constants.SCREEN_WIDTH, Constants.SCREEN_HEIGHT, 64);
+        List<Rectangle> boxes = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            // Some boxes deliberately hang off-screen to exercise edge clamping
+            Rectangle box = new Rectangle(rng.nextDouble() * 1400 - 60, rng.nextDouble() * 800 - 40,
+                    1 + rng.nextDouble() * 120, 1 + rng.nextDouble() * 120);
+            boxes.add(box);
+            grid.insert(i, box);
+        }
+
+        for (int q = 0; q < 200; q++) {
+            Rectangle query = new Rectangle(rng.nextDouble() * 1400 - 60, rng.nextDouble() * 800 - 40,
+                    1 + rng.nextDouble() * 80, 1 + rng.nextDouble() * 80);
+            Set<Integer> candidates = new HashSet<>();
+            int count = grid.query(query);
+            for (int k = 0; k < count; k++) {
+                assertTrue(candidates.add(grid.getResult(k)), "Query should not return duplicates");
+            }
+            for (int i = 0; i < boxes.size(); i++) {
+                if (boxes.get(i).intersects(query)) {
+                    assertTrue(candidates.contains(i), "Intersecting box " + i + " missing from broad phase");
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testGridMatchesFullScan() {
+        for (long seed = 1; seed <= 5; seed++) {
+            Scene gridScene = new Scene(seed, 400, 60);
+            Scene scanScene = new Scene(seed, 400, 60);
+
+            CollisionDetector.checkPlayerBulletsVsSoldiers(gridScene.bullets, gridScene.soldiers, gridScene.player);
+            fullScan(scanScene.bullets, scanScene.soldiers);
+
+            for (int i = 0; i < gridScene.soldiers.size(); i++) {
+                assertEquals(scanScene.soldiers.get(i).isDead(), gridScene.soldiers.get(i).isDead(),
+                        "Soldier " + i + " outcome differs (seed " + seed + ")");
+            }
+            for (int i = 0; i < gridScene.bullets.size(); i++) {
+                assertEquals(scanScene.bullets.get(i).hasHit(), gridScene.bullets.get(i).hasHit(),
+                        "Bullet " + i + " outcome differs (seed " + seed + ")");
+            }
+        }
+    }
+
+    @Test
+    public void testInvinciblePlayerLetsLaterSoldierBulletsThrough() {
+        Player player = new Player(100, Constants.GROUND_Y);
+        double x = player.getPosition().getX() + 4;
+        double y = player.getPosition().getY() + 4;
+        List<Soldier> soldiers = new ArrayList<>();
+        List<Bullet> shots = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            Soldier soldier = new Soldier(600 + i * 100, Constants.GROUND_Y);
+            Bullet bullet = new Bullet(x, y, new Vector2D(-1, 0), false);
+            soldier.getAllBullets().add(bullet);
+            soldiers.add(soldier);
+            shots.add(bullet);
+        }
+        assertTrue(player.collidesWith(shots.get(1)), "Both bullets overlap the player");
+
+        CollisionDetector.checkSoldierBulletsVsPlayer(soldiers, player);
+
+        assertTrue(player.isInvincible(), "First bullet hits");
+        assertTrue(shots.get(0).hasHit());
+        assertTrue(shots.get(1).isActive(), "Second bullet flies through the invincible player");
+        assertFalse(shots.get(1).hasHit());
+    }
+
+    /**
+     * The pre-grid O(bullets x soldiers) loop, kept as the reference behaviour
+     */
+    private static void fullScan(List<Bullet> playerBullets, List<Soldier> soldiers) {
+        for (Bullet bullet : playerBullets) {
+            if (!bullet.isActive() || !bullet.isPlayerBullet() || bullet.hasHit()) continue;
+            for (Soldier soldier : soldiers) {
+                if (!soldier.isActive() || soldier.isDead()) continue;
+                if (bullet.collidesWith(soldier)) {
+                    soldier.hit(bullet.getDamage());
+                    bullet.onHit();
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * Reproducible random arena of player bullets and soldiers
+     */
+    private static class Scene {
+        final Player player = new Player(100, Constants.GROUND_Y);
+        final List<Bullet> bullets = new ArrayList<>();
+        final List<Soldier> soldiers = new ArrayList<>();
+
+        Scene(long seed, int bulletCount, int soldierCount) {
+            Random rng = new Random(seed);
+            for (int i = 0; i < soldierCount; i++) {
+                Soldier soldier = (i % 3 == 0)
+                        ? new SoldierTier2(0, Constants.GROUND_Y)
+                        : new Soldier(0, Constants.GROUND_Y);
+                soldier.setPosition(rng.nextDouble() * Constants.SCREEN_WIDTH,
+                        rng.nextDouble() * Constants.SCREEN_HEIGHT);
+                soldiers.add(soldier);
+            }
+            Vector2D right = new Vector2D(1, 0);
+            for (int i = 0; i < bulletCount; i++) {
+                bullets.add(new Bullet(rng.nextDouble() * (Constants.SCREEN_WIDTH + 100) - 50,
+                        rng.nextDouble() * (Constants.SCREEN_HEIGHT + 100) - 50, right, true));
+            }
+        }
+    }
+}
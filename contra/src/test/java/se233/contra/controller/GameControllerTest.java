@@ -2,8 +2,13 @@ package se233.contra.controller;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import se233.contra.ecs.EntityWorld;
+import se233.contra.model.Soldier;
+import se233.contra.util.Constants;
 import se233.contra.view.SpriteLoader;
 
+import java.util.Arrays;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 // ✅ เพิ่ม public ตรงนี้
@@ -56,4 +61,47 @@ public class GameControllerTest {
             gameController.update(0.016); // ~60 FPS
         });
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testSoldiersMoveInTheEcsWorld() {
+        gameController.startGame();
+        EntityWorld world = gameController.getWorld();
+        int soldierComponents = EntityWorld.TRANSFORM | EntityWorld.VELOCITY | EntityWorld.COLLIDER
+                | EntityWorld.HEALTH | EntityWorld.AI;
+
+        for (Soldier soldier : gameController.getSoldiers()) {
+            assertTrue(world.has(soldier.getEntity(), soldierComponents));
+        }
+
+        Soldier first = gameController.getSoldiers().get(0);
+        double startX = world.getX(first.getEntity());
+        gameController.update(Constants.FIXED_TIME_STEP);
+        assertNotEquals(startX, world.getX(first.getEntity()), "Soldier systems should move the soldier");
+        assertEquals(world.getX(first.getEntity()), first.getPosition().getX(), "Soldier mirrors its entity");
+        assertEquals(world.getY(first.getEntity()), first.getBounds().getY(), "Hitbox follows the entity");
+    }
+
+    @Test
+    public void testSoldierEntitiesFollowTheWave() {
+        InputHandler input = InputHandler.getInstance();
+        input.reset();
+        int shootMask = 1 << Arrays.asList(InputHandler.TRACKED_KEYS).indexOf(Constants.KEY_SHOOT);
+
+        gameController.startStage("stress");
+        EntityWorld world = gameController.getWorld();
+        boolean fired = false;
+        for (int tick = 0; tick < 900; tick++) {
+            input.applyKeyMask(shootMask);
+            gameController.update(Constants.FIXED_TIME_STEP);
+            assertEquals(gameController.getSoldiers().size(), world.count(EntityWorld.AI),
+                    "One AI entity per soldier, dead ones despawned (tick " + tick + ")");
+            for (Soldier soldier : gameController.getSoldiers()) {
+                fired |= !soldier.getBullets().isEmpty();
+            }
+        }
+        input.reset();
+
+        assertTrue(fired, "AI_FIRE from SoldierAiSystem should make soldiers shoot");
+        assertTrue(gameController.getPlayer().getScore() > 0, "Player bullets should kill ECS soldiers");
+    }
+}
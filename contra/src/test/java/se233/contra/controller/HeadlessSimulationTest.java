@@ -0,0 +1,84 @@
+package se233.contra.controller;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import se233.contra.util.Constants;
+import se233.contra.util.SoundManager;
+import se233.contra.view.SpriteLoader;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ✅ Tests for running GameController headless (placeholder sprites, silent sound)
+ */
+public class HeadlessSimulationTest {
+
+    @BeforeAll
+    public static void enterHeadless() {
+        HeadlessSimulation.initialize();
+    }
+
+    @AfterAll
+    public static void leaveHeadless() {
+        // Other test classes share the JVM: restore the real sprites
+        SoundManager.getInstance().setHeadless(false);
+        SpriteLoader.initialize();
+    }
+
+    @Test
+    public void testPlaceholdersKeepFrameSizes() {
+        assertTrue(SpriteLoader.isHeadless());
+        assertEquals(6, SpriteLoader.getPlayerRun().size(), "Frame counts should match the real sheet");
+        assertEquals(20, SpriteLoader.getPlayerRun().get(0).getWidth(), 0.001);
+        assertEquals(35, SpriteLoader.getPlayerRun().get(0).getHeight(), 0.001);
+    }
+
+    @Test
+    public void testThousandsOfTicks() {
+        HeadlessSimulation simulation = new HeadlessSimulation();
+        simulation.startGame();
+
+        assertDoesNotThrow(() -> simulation.run(10_000));
+        assertEquals(10_000, simulation.getTicks());
+        assertNotEquals(GameController.GameState.MENU, simulation.getGameController().getCurrentState());
+    }
+
+    @Test
+    public void testParallelSoldierUpdateMatchesSerial() {
+        long[] serial = runStress(Integer.MAX_VALUE);
+        long[] parallel = runStress(1);
+        assertArrayEquals(serial, parallel, "Parallel soldier update must match the serial path tick for tick");
+    }
+
+    /**
+     * Stress stage with the player holding fire; state checksum every 60 ticks
+     */
+    private static long[] runStress(int parallelThreshold) {
+        InputHandler input = InputHandler.getInstance();
+        input.reset();
+        int shootMask = 1 << Arrays.asList(InputHandler.TRACKED_KEYS).indexOf(Constants.KEY_SHOOT);
+
+        GameController game = new GameController(42L);
+        game.setParallelThreshold(parallelThreshold);
+        game.startStage("stress");
+
+        long[] checksums = new long[20];
+        int maxSoldiers = 0;
+        for (int tick = 0; tick < checksums.length * 60; tick++) {
+            input.applyKeyMask(shootMask);
+            game.update(Constants.FIXED_TIME_STEP);
+            maxSoldiers = Math.max(maxSoldiers, game.getSoldiers().size());
+            if (tick % 60 == 59) {
+                checksums[tick / 60] = game.getStateChecksum();
+            }
+        }
+        input.reset();
+
+        assertTrue(maxSoldiers > Constants.PARALLEL_SOLDIER_THRESHOLD, "Wave too small to test: " + maxSoldiers);
+        assertTrue(game.getPlayer().getScore() > 0, "Some soldiers should have died (score merge)");
+        return checksums;
+    }
+}
@@ -0,0 +1,105 @@
+package se233.contra.controller;
+
+import javafx.scene.input.KeyCode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ✅ Tests for the bitset InputHandler and its event ring
+ */
+public class InputHandlerTest {
+    private InputHandler input;
+
+    @BeforeEach
+    public void setUp() {
+        input = InputHandler.getInstance();
+        input.reset();
+    }
+
+    @Test
+    public void testEventsApplyOnPollAndJustPressedLastsOneTick() {
+        input.keyPressed(KeyCode.Z);
+        assertFalse(input.isKeyPressed(KeyCode.Z), "Events only apply at the start of a tick");
+
+        input.poll();
+        assertTrue(input.isKeyPressed(KeyCode.Z));
+        assertTrue(input.isKeyJustPressed(KeyCode.Z));
+
+        input.update();
+        input.keyPressed(KeyCode.Z); // OS auto-repeat
+        input.poll();
+        assertTrue(input.isKeyPressed(KeyCode.Z));
+        assertFalse(input.isKeyJustPressed(KeyCode.Z), "Held key is not just pressed again");
+
+        input.keyReleased(KeyCode.Z);
+        input.poll();
+        assertFalse(input.isKeyPressed(KeyCode.Z));
+    }
+
+    @Test
+    public void testSubTickTapIsNotLost() {
+        input.keyPressed(KeyCode.X);
+        input.keyReleased(KeyCode.X);
+        input.poll();
+
+        assertTrue(input.isKeyJustPressed(KeyCode.X), "Tap between ticks should count for one tick");
+        assertTrue(input.isKeyPressed(KeyCode.X));
+
+        input.update();
+        input.poll();
+        assertFalse(input.isKeyPressed(KeyCode.X), "Tap latch clears after the tick");
+    }
+
+    @Test
+    public void testKeysAcrossBitsetWords() {
+        KeyCode last = KeyCode.values()[KeyCode.values().length - 1];
+        input.keyPressed(KeyCode.ENTER);
+        input.keyPressed(last);
+        input.poll();
+
+        assertTrue(input.isKeyPressed(KeyCode.ENTER));
+        assertTrue(input.isKeyPressed(last));
+        assertFalse(input.isKeyPressed(KeyCode.F12));
+    }
+
+    @Test
+    public void testKeyMaskRoundTrip() {
+        input.keyPressed(KeyCode.RIGHT);
+        input.keyPressed(KeyCode.Z);
+        input.poll();
+        int mask = input.getKeyMask();
+
+        input.reset();
+        input.applyKeyMask(mask);
+        assertTrue(input.isKeyPressed(KeyCode.RIGHT));
+        assertTrue(input.isKeyPressed(KeyCode.Z));
+        assertFalse(input.isKeyPressed(KeyCode.LEFT));
+        assertEquals(mask, input.getKeyMask());
+    }
+
+    @Test
+    public void testProducerOnAnotherThread() throws InterruptedException {
+        int pairs = 10_000;
+        Thread producer = new Thread(() -> {
+            for (int i = 0; i < pairs; i++) {
+                while (!input.offer(KeyCode.LEFT.ordinal() << 1 | 1)) Thread.onSpinWait();
+                while (!input.offer(KeyCode.LEFT.ordinal() << 1)) Thread.onSpinWait();
+            }
+            while (!input.offer(KeyCode.UP.ordinal() << 1 | 1)) Thread.onSpinWait();
+        });
+        producer.start();
+        while (producer.isAlive()) {
+            input.poll();
+            input.update();
+        }
+        producer.join();
+        input.poll();
+        input.update(); // let the final LEFT tap latch expire
+        input.poll();
+
+        assertFalse(input.isKeyPressed(KeyCode.LEFT), "Last LEFT event was a release");
+        assertTrue(input.isKeyPressed(KeyCode.UP));
+    }
+}
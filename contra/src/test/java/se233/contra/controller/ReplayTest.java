@@ -0,0 +1,114 @@
+package se233.contra.controller;
+
+import javafx.scene.input.KeyCode;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import se233.contra.exception.GameException;
+import se233.contra.util.Constants;
+import se233.contra.util.SoundManager;
+import se233.contra.view.SpriteLoader;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ✅ Tests for deterministic input recording and headless replay
+ */
+public class ReplayTest {
+    private static final long SEED = 233L;
+
+    @BeforeAll
+    public static void enterHeadless() {
+        HeadlessSimulation.initialize();
+    }
+
+    @AfterAll
+    public static void leaveHeadless() {
+        SoundManager.getInstance().setHeadless(false);
+        SpriteLoader.initialize();
+    }
+
+    /**
+     * Scripted session: start from the menu, run right while shooting, jump now and then
+     */
+    private static Replay recordSession(long seed) {
+        InputHandler input = InputHandler.getInstance();
+        input.reset();
+
+        HeadlessSimulation simulation = new HeadlessSimulation(seed);
+        GameController game = simulation.getGameController();
+        game.startRecording();
+
+        simulation.run(30);
+        input.keyPressed(KeyCode.ENTER);
+        simulation.run(3);
+        input.keyReleased(KeyCode.ENTER);
+
+        for (int burst = 0; burst < 60; burst++) {
+            input.keyPressed(burst % 2 == 0 ? Constants.KEY_RIGHT : Constants.KEY_LEFT);
+            for (int shot = 0; shot < 5; shot++) {
+                input.keyPressed(Constants.KEY_SHOOT);
+                simulation.run(4);
+                input.keyReleased(Constants.KEY_SHOOT);
+                simulation.run(12);
+            }
+            if (burst % 7 == 0) {
+                input.keyPressed(Constants.KEY_JUMP);
+                simulation.run(2);
+                input.keyReleased(Constants.KEY_JUMP);
+            }
+            input.keyReleased(Constants.KEY_RIGHT);
+            input.keyReleased(Constants.KEY_LEFT);
+        }
+
+        assertNotEquals(GameController.GameState.MENU, game.getCurrentState(), "ENTER should start the game");
+        input.reset();
+        return game.stopRecording();
+    }
+
+    @Test
+    public void testReplayReproducesRunBitForBit(@TempDir Path dir) {
+        Replay recorded = recordSession(SEED);
+        Path file = dir.resolve("session.replay");
+        recorded.write(file);
+
+        Replay loaded = Replay.read(file);
+        assertEquals(recorded.getTickCount(), loaded.getTickCount());
+        assertEquals(SEED, loaded.getSeed());
+        for (int i = 0; i < loaded.getTickCount(); i++) {
+            assertEquals(recorded.getMask(i), loaded.getMask(i), "Mask differs at tick " + i);
+        }
+
+        HeadlessSimulation replay = new HeadlessSimulation(loaded.getSeed());
+        assertEquals(loaded.getFinalChecksum(), replay.replay(loaded), "Replay should end in the recorded state");
+        assertEquals(loaded.getTickCount(), replay.getGameController().getTick());
+    }
+
+    @Test
+    public void testFileIsCompact(@TempDir Path dir) throws Exception {
+        Replay recorded = recordSession(SEED);
+        Path file = dir.resolve("session.replay");
+        recorded.write(file);
+
+        assertTrue(recorded.getTickCount() > 4000);
+        assertTrue(Files.size(file) < recorded.getTickCount() / 2,
+                "Run-length encoding should need well under a byte per tick");
+    }
+
+    @Test
+    public void testSeedDrivesTheRun() {
+        Replay recorded = recordSession(SEED);
+        HeadlessSimulation otherSeed = new HeadlessSimulation(SEED + 1);
+
+        assertThrows(GameException.class, () -> otherSeed.replay(recorded), "Seed mismatch should be rejected");
+
+        HeadlessSimulation again = new HeadlessSimulation(SEED);
+        again.run(1);
+        assertThrows(GameException.class, () -> again.replay(recorded), "Replay needs a fresh simulation");
+        assertThrows(GameException.class, () -> again.getGameController().startRecording());
+    }
+}
@@ -0,0 +1,166 @@
+package se233.contra.controller;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import se233.contra.ecs.EntityFactory;
+import se233.contra.ecs.EntitySystem;
+import se233.contra.ecs.EntityWorld;
+import se233.contra.exception.GameException;
+import se233.contra.model.Soldier;
+import se233.contra.model.StageDefinition;
+import se233.contra.model.StageDefinition.BossType;
+import se233.contra.model.StageDefinition.EnemyType;
+import se233.contra.util.Constants;
+import se233.contra.util.SoundManager;
+import se233.contra.view.SpriteLoader;
+
+import java.io.StringReader;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ✅ Tests for the .stage file parser and data-driven waves
+ */
+public class StageLoaderTest {
+
+    @BeforeAll
+    public static void enterHeadless() {
+        HeadlessSimulation.initialize();
+    }
+
+    @AfterAll
+    public static void leaveHeadless() {
+        SoundManager.getInstance().setHeadless(false);
+        SpriteLoader.initialize();
+    }
+
+    @Test
+    public void testParseExpandsSpawnGroups() throws Exception {
+        String text = "# test stage\n"
+                + "stage 2 next=stage3\n"
+                + "wave delay=0\n"
+                + "  spawn soldier count=3 interval=0.5 at=1   # three soldiers\n"
+                + "  spawn soldier2 x=400 y=600\n"
+                + "wave\n"
+                + "  spawn soldier\n"
+                + "boss boss2 delay=4 x=900\n";
+        StageDefinition stage = StageLoader.parse("test", new StringReader(text));
+
+        assertEquals(2, stage.getNumber());
+        assertEquals("stage3", stage.getNext());
+        assertEquals(2, stage.getWaves().size());
+        assertEquals(5, stage.getEnemyCount());
+
+        List<StageDefinition.Spawn> spawns = stage.getWaves().get(0).getSpawns();
+        assertEquals(0, stage.getWaves().get(0).getDelay());
+        assertEquals(EnemyType.SOLDIER_TIER2, spawns.get(0).getType(), "Spawns are ordered by time");
+        assertEquals(400, spawns.get(0).getX());
+        assertEquals(600, spawns.get(0).getY());
+        assertEquals(1.0, spawns.get(1).getTime(), 1e-9);
+        assertEquals(2.0, spawns.get(3).getTime(), 1e-9);
+        assertEquals(Constants.SCREEN_WIDTH + 50, spawns.get(1).getX());
+        assertEquals(Constants.GROUND_Y, spawns.get(1).getY());
+        assertEquals(2.0, stage.getWaves().get(1).getDelay(), "Default wave delay");
+
+        assertEquals(BossType.BOSS2, stage.getBoss().getType());
+        assertEquals(900, stage.getBoss().getX());
+        assertEquals(BossType.BOSS2.getDefaultY(), stage.getBoss().getY());
+        assertEquals(4, stage.getBoss().getDelay());
+    }
+
+    @Test
+    public void testSpawnHeightPlacesTheSoldier() throws Exception {
+        StageDefinition stage = StageLoader.parse("drop", new StringReader(
+                "stage 1\nwave\n  spawn soldier x=300 y=400\n  spawn soldier2 x=500\nboss boss1\n"));
+        List<StageDefinition.Spawn> spawns = stage.getWaves().get(0).getSpawns();
+        EntityWorld world = new EntityWorld();
+        Soldier dropped = spawns.get(0).getType().create(world, spawns.get(0).getX(), spawns.get(0).getY());
+        Soldier grounded = spawns.get(1).getType().create(world, spawns.get(1).getX(), spawns.get(1).getY());
+
+        assertEquals(400, dropped.getPosition().getY() + dropped.getBounds().getHeight(), 1e-9,
+                "y= is where the soldier's feet start");
+        assertEquals(Constants.GROUND_Y, grounded.getPosition().getY() + grounded.getBounds().getHeight(), 1e-9);
+
+        EntitySystem[] systems = EntityFactory.soldierSystems();
+        for (int i = 0; i < 120; i++) {
+            for (EntitySystem system : systems) {
+                system.update(world, Constants.FIXED_TIME_STEP);
+            }
+            dropped.update(Constants.FIXED_TIME_STEP);
+        }
+        assertEquals(Constants.GROUND_Y, dropped.getPosition().getY() + dropped.getBounds().getHeight(), 1e-9,
+                "A soldier spawned in the air falls onto the ground");
+    }
+
+    @Test
+    public void testParseErrorsNameTheLine() {
+        GameException e = assertThrows(GameException.class, () -> StageLoader.parse("bad",
+                new StringReader("stage 1\nwave\nspawn tank\nboss boss1\n")));
+        assertEquals(GameException.ErrorType.STAGE_LOAD_ERROR, e.getErrorType());
+        assertTrue(e.getMessage().contains("bad:3"), e.getMessage());
+
+        assertThrows(GameException.class, () -> StageLoader.parse("nowaves",
+                new StringReader("stage 1\nboss boss1\n")));
+        assertThrows(GameException.class, () -> StageLoader.parse("orphan",
+                new StringReader("stage 1\nspawn soldier\nboss boss1\n")));
+    }
+
+    @Test
+    public void testBundledStagesMatchTheGame() {
+        StageLoader loader = StageLoader.getInstance();
+        BossType[] bosses = {BossType.BOSS1, BossType.BOSS2, BossType.BOSS3};
+        for (int n = 1; n <= 3; n++) {
+            StageDefinition stage = loader.get(StageLoader.nameOf(n));
+            assertEquals(n, stage.getNumber());
+            assertEquals(2, stage.getWaves().size());
+            assertEquals(bosses[n - 1], stage.getBoss().getType());
+        }
+        assertEquals(EnemyType.SOLDIER_TIER2,
+                loader.get("stage2").getWaves().get(1).getSpawns().get(0).getType());
+        assertTrue(loader.get("stress").getEnemyCount() >= 300);
+
+        GameException missing = assertThrows(GameException.class, () -> loader.get("no-such-stage"));
+        assertEquals(GameException.ErrorType.RESOURCE_NOT_FOUND, missing.getErrorType());
+    }
+
+    @Test
+    public void testPrefetchLoadsTheNextStageInTheBackground() {
+        StageLoader loader = StageLoader.getInstance();
+        loader.clearCache();
+
+        GameController game = new GameController(1L);
+        game.startGame();
+        assertEquals("stage1", game.getStage().getName());
+
+        // The prefetch was queued by startGame; get() waits for it instead of reparsing
+        assertEquals(2, loader.get("stage2").getNumber());
+        assertTrue(loader.isLoaded("stage2"));
+    }
+
+    @Test
+    public void testWavesFollowTheDefinition() {
+        GameController game = new GameController(7L);
+        game.startStage("stress");
+
+        assertEquals(GameController.GameState.STAGE_2_WAVES, game.getCurrentState());
+        assertEquals(1, game.getCurrentWave());
+        assertEquals(2, game.getTotalWaves());
+        int total = game.getStage().getEnemyCount();
+        assertEquals(total, game.getEnemiesRemaining());
+        assertEquals(1, game.getSoldiers().size(), "Only the spawn due at t=0 is out");
+
+        // Half a second in, the first wave's groups have been streaming in
+        for (int i = 0; i < Constants.SIMULATION_HZ / 2; i++) {
+            game.update(Constants.FIXED_TIME_STEP);
+        }
+        assertTrue(game.getSoldiers().size() > 40, "soldiers: " + game.getSoldiers().size());
+        assertTrue(game.getEnemiesRemaining() <= total);
+
+        game.startBossFight("stress");
+        assertEquals(GameController.GameState.STAGE_2_BOSS, game.getCurrentState());
+        assertEquals(BossType.BOSS2.getDefaultX(), game.getBoss().getPosition().getX());
+        assertEquals(0, game.getEnemiesRemaining());
+    }
+}
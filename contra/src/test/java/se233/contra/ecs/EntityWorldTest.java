@@ -0,0 +1,152 @@
+package se233.contra.ecs;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import se233.contra.controller.HeadlessSimulation;
+import se233.contra.util.Constants;
+import se233.contra.util.SoundManager;
+import se233.contra.view.SpriteLoader;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ✅ Tests for the ECS component storage and systems
+ */
+public class EntityWorldTest {
+
+    @BeforeAll
+    public static void enterHeadless() {
+        HeadlessSimulation.initialize();
+    }
+
+    @AfterAll
+    public static void leaveHeadless() {
+        SoundManager.getInstance().setHeadless(false);
+        SpriteLoader.initialize();
+    }
+
+    @Test
+    public void testDespawnKeepsOtherEntitiesAndReusesIds() {
+        EntityWorld world = new EntityWorld();
+        int a = world.spawn();
+        int b = world.spawn();
+        int c = world.spawn();
+        world.setTransform(a, 1, 1);
+        world.setTransform(b, 2, 2).setVelocity(b, 10, 0);
+        world.setTransform(c, 3, 3).setHealth(c, 5);
+
+        world.despawn(a);
+        assertFalse(world.isAlive(a));
+        assertEquals(2, world.getCount());
+        // c was moved into a's slot; its components moved with it
+        assertEquals(3, world.getX(c));
+        assertEquals(5, world.getHealth(c));
+        assertTrue(world.has(b, EntityWorld.TRANSFORM | EntityWorld.VELOCITY));
+        assertFalse(world.has(c, EntityWorld.VELOCITY));
+
+        int d = world.spawn();
+        assertEquals(a, d, "Freed ids are reused");
+        assertEquals(0, world.getMask(d), "A reused id starts without components");
+    }
+
+    @Test
+    public void testGrowsPastInitialCapacity() {
+        EntityWorld world = new EntityWorld();
+        for (int i = 0; i < 500; i++) {
+            world.setTransform(world.spawn(), i, 0);
+        }
+        assertEquals(500, world.getCount());
+        assertTrue(world.getCapacity() >= 500);
+        assertEquals(499, world.getX(499));
+        assertEquals(500, world.count(EntityWorld.TRANSFORM));
+    }
+
+    @Test
+    public void testMovementSystemMovesOnlyEntitiesWithVelocity() {
+        EntityWorld world = new EntityWorld();
+        int moving = world.spawn();
+        int still = world.spawn();
+        world.setTransform(moving, 0, 0).setVelocity(moving, 60, -30);
+        world.setTransform(still, 5, 5);
+
+        new MovementSystem().update(world, 0.5);
+        assertEquals(30, world.getX(moving), 1e-9);
+        assertEquals(-15, world.getY(moving), 1e-9);
+        assertEquals(5, world.getX(still));
+    }
+
+    @Test
+    public void testExplosionPlaysOnceThenDespawns() {
+        EntityWorld world = new EntityWorld();
+        AnimationSystem animation = new AnimationSystem();
+        int explosion = EntityFactory.createExplosion(world, 100, 200);
+        int frames = SpriteLoader.getExplosion().size();
+
+        int updates = 0;
+        while (world.isAlive(explosion) && updates < 1000) {
+            animation.update(world, Constants.EXPLOSION_ANIMATION_SPEED);
+            world.flushDespawns();
+            updates++;
+        }
+        assertFalse(world.isAlive(explosion));
+        assertEquals(0, world.getCount());
+        // One update per frame advance (the last one finishes it), then one to despawn it
+        assertEquals(frames + 1, updates);
+    }
+
+    @Test
+    public void testDamageStopsAtZero() {
+        EntityWorld world = new EntityWorld();
+        int id = world.spawn();
+        world.setHealth(id, 3);
+        assertFalse(world.damage(id, 2));
+        assertTrue(world.damage(id, 5));
+        assertEquals(0, world.getHealth(id));
+        assertFalse(world.damage(id, 1), "Already dead");
+    }
+
+    @Test
+    public void testSoldierAiTurnsAtTargetAndRaisesFire() {
+        EntityWorld world = new EntityWorld();
+        int soldier = EntityFactory.createSoldier(world, 200, Constants.GROUND_Y, 18, 32, 1, 50, 190, 0, 7L);
+        EntitySystem[] systems = EntityFactory.soldierSystems();
+
+        // Walks left (flipped sprite) until it passes its target, then turns round
+        for (int i = 0; i < 30 && world.hasAiFlag(soldier, EntityWorld.AI_FACING_RIGHT); i++) {
+            for (EntitySystem system : systems) {
+                system.update(world, 0.05);
+            }
+        }
+        assertFalse(world.hasAiFlag(soldier, EntityWorld.AI_FACING_RIGHT));
+        assertEquals(50, world.getVelocityX(soldier), 1e-9);
+        assertEquals(Constants.GROUND_Y - 32, world.getY(soldier), 1e-9, "Kept on the ground");
+
+        for (int i = 0; i < 100 && !world.hasAiFlag(soldier, EntityWorld.AI_FIRE); i++) {
+            for (EntitySystem system : systems) {
+                system.update(world, 0.05);
+            }
+        }
+        assertEquals(SoldierAiSystem.SHOOTING, world.getAiState(soldier));
+        assertTrue(world.consumeAiFlag(soldier, EntityWorld.AI_FIRE));
+        assertFalse(world.consumeAiFlag(soldier, EntityWorld.AI_FIRE), "A shot is requested once");
+    }
+
+    @Test
+    public void testSoldierAiIsDeterministicPerEntity() {
+        EntityWorld a = new EntityWorld();
+        EntityWorld b = new EntityWorld();
+        int soldierA = EntityFactory.createSoldier(a, 300, Constants.GROUND_Y, 18, 32, 1, 60, 100, 0.5, 42L);
+        // Another entity in front of it must not change its random stream
+        EntityFactory.createSoldier(b, 700, Constants.GROUND_Y, 18, 32, 1, 70, 650, 1.5, 99L);
+        int soldierB = EntityFactory.createSoldier(b, 300, Constants.GROUND_Y, 18, 32, 1, 60, 100, 0.5, 42L);
+
+        for (int i = 0; i < 2000; i++) {
+            for (EntitySystem system : EntityFactory.soldierSystems()) {
+                system.update(a, 1.0 / 60);
+                system.update(b, 1.0 / 60);
+            }
+        }
+        assertEquals(a.getX(soldierA), b.getX(soldierB), 1e-12);
+    }
+}
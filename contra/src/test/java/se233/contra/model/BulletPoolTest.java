@@ -0,0 +1,116 @@
+package se233.contra.model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import se233.contra.util.Constants;
+import se233.contra.util.Vector2D;
+import se233.contra.view.SpriteLoader;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ✅ Unit tests for BULLET POOL
+ * ทดสอบการยืม/คืนกระสุน และการนับ hit/miss
+ */
+class BulletPoolTest {
+    public BulletPool pool;
+
+    @BeforeEach
+    void setUp() {
+        try {
+            SpriteLoader.initialize();
+        } catch (Exception e) {
+            // Ignore if sprites not available
+        }
+        pool = BulletPool.getInstance();
+        pool.clear();
+        pool.resetStats();
+    }
+
+    @Test
+    void testReleasedBulletIsReused() {
+        Bullet first = pool.acquire(100, 100, new Vector2D(1, 0), true);
+        pool.release(first);
+        Bullet second = pool.acquire(200, 300, new Vector2D(-1, 0), false, 3);
+
+        assertSame(first, second, "Released bullet should be handed out again");
+        assertEquals(1, pool.getMisses(), "Only the first acquire should allocate");
+        assertEquals(1, pool.getHits(), "Second acquire should be served from the pool");
+    }
+
+    @Test
+    void testRecycledBulletIsFullyReset() {
+        Bullet bullet = pool.acquire(100, 100, new Vector2D(1, 0), true);
+        bullet.onHit();
+        pool.release(bullet);
+
+        Bullet reused = pool.acquire(200, 300, new Vector2D(0, -1), false, 3);
+        assertTrue(reused.isActive(), "Reused bullet should be active");
+        assertFalse(reused.hasHit(), "Reused bullet should not keep the old hit state");
+        assertFalse(reused.isPlayerBullet(), "Owner flag should be re-initialised");
+        assertEquals(3, reused.getDamage(), "Damage should be re-initialised");
+        assertEquals(200, reused.getPosition().getX(), 0.001);
+        assertEquals(300, reused.getPosition().getY(), 0.001);
+        assertEquals(-Constants.BULLET_SPEED, reused.getVelocity().getY(), 0.001,
+                "Velocity should follow the new direction");
+        assertEquals(200, reused.getBounds().getX(), 0.001, "Bounds should move with the bullet");
+    }
+
+    @Test
+    void testDoubleReleaseIsIgnored() {
+        Bullet bullet = pool.acquire(100, 100, new Vector2D(1, 0), true);
+        pool.release(bullet);
+        pool.release(bullet);
+
+        assertEquals(1, pool.getAvailable(), "A bullet should only be pooled once");
+    }
+
+    @Test
+    void testReleaseInactiveKeepsOrder() {
+        List<Bullet> bullets = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            bullets.add(pool.acquire(i * 10, 0, new Vector2D(1, 0), true));
+        }
+        Bullet b0 = bullets.get(0);
+        Bullet b2 = bullets.get(2);
+        Bullet b4 = bullets.get(4);
+        bullets.get(1).setActive(false);
+        bullets.get(3).setActive(false);
+
+        pool.releaseInactive(bullets);
+
+        assertEquals(List.of(b0, b2, b4), bullets, "Active bullets should stay in order");
+        assertEquals(2, pool.getAvailable(), "Inactive bullets should go back to the pool");
+    }
+
+    @Test
+    void testBossBulletViewsAreSharedAndReleasable() {
+        Boss1 boss = new Boss1(800, 300);
+        Bullet left = pool.acquire(10, 0, new Vector2D(-1, 0), false);
+        Bullet right1 = pool.acquire(20, 0, new Vector2D(-1, 0), false);
+        Bullet right2 = pool.acquire(30, 0, new Vector2D(-1, 0), false);
+        boss.getLeftCannon().getBullets().add(left);
+        boss.getRightCannon().getBullets().add(right1);
+        boss.getRightCannon().getBullets().add(right2);
+
+        assertSame(boss.getBullets(), boss.getBullets(), "Boss1 should not merge a new list per call");
+        assertEquals(List.of(left, right1, right2), boss.getBullets());
+        assertEquals(3, boss.getBulletCount());
+        assertSame(right2, boss.getBullet(2));
+
+        List<Bullet> visited = new ArrayList<>();
+        boss.forEachBullet(visited::add);
+        assertEquals(List.of(left, right1, right2), visited);
+
+        boss.releaseBullets();
+        assertEquals(0, boss.getBulletCount(), "Cannons should be emptied, not a copy");
+        assertEquals(3, pool.getAvailable());
+
+        Boss3 boss3 = new Boss3(700, 300);
+        assertSame(boss3.getBullets(), boss3.getBullets(), "Boss3 should hand out a view, not a copy");
+        assertThrows(UnsupportedOperationException.class, () -> boss3.getBullets().add(left));
+    }
+}
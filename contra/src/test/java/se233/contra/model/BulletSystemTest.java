@@ -0,0 +1,93 @@
+package se233.contra.model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import se233.contra.util.Constants;
+import se233.contra.util.Rectangle;
+import se233.contra.view.SpriteLoader;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ✅ Unit tests for the structure-of-arrays BulletSystem
+ */
+class BulletSystemTest {
+    private BulletSystem system;
+
+    @BeforeEach
+    void setUp() {
+        try {
+            SpriteLoader.initialize();
+        } catch (Exception e) {
+            // Ignore if sprites not available
+        }
+        system = BulletSystem.getInstance();
+        system.clear();
+    }
+
+    @Test
+    void testSpawnMovesAtBulletSpeed() {
+        system.spawn(100, 200, 3, 4, BulletSystem.OWNER_BOSS, 1);
+        system.update(0.1);
+
+        assertEquals(1, system.getCount());
+        assertEquals(100 + 0.6 * Constants.BULLET_SPEED * 0.1, system.getX(0), 1e-9);
+        assertEquals(200 + 0.8 * Constants.BULLET_SPEED * 0.1, system.getY(0), 1e-9);
+    }
+
+    @Test
+    void testOffscreenBulletsAreSwapRemoved() {
+        system.spawn(100, 100, 1, 0, BulletSystem.OWNER_BOSS, 1);
+        system.spawn(Constants.SCREEN_WIDTH + 49, 100, 1, 0, BulletSystem.OWNER_BOSS, 2);
+        system.spawn(300, 100, -1, 0, BulletSystem.OWNER_PLAYER, 3);
+
+        system.update(0.01);
+
+        assertEquals(2, system.getCount(), "Bullet leaving the arena should be dropped");
+        assertEquals(1, system.getDamage(0));
+        assertEquals(3, system.getDamage(1), "Last bullet should fill the freed slot");
+    }
+
+    @Test
+    void testHitStopsBulletAndExpiresAfterExplosion() {
+        system.spawn(100, 100, -1, 0, BulletSystem.OWNER_BOSS, 1);
+        Rectangle target = new Rectangle(90, 90, 30, 30);
+
+        assertEquals(-1, system.findHit(target, true), "Enemy bullets must not count as player bullets");
+        int index = system.findHit(target, false);
+        assertEquals(0, index);
+
+        system.onHit(index);
+        system.update(0.01);
+        assertTrue(system.hasHit(0));
+        assertEquals(100, system.getX(0), 1e-9, "Hit bullet should stop");
+        assertEquals(-1, system.findHit(target, false), "Hit bullet cannot hit twice");
+
+        for (int i = 0; i < 100 && system.getCount() > 0; i++) {
+            system.update(0.05);
+        }
+        assertEquals(0, system.getCount(), "Bullet should go once its explosion is over");
+    }
+
+    @Test
+    void testGrowsPastInitialCapacity() {
+        int capacity = system.getCapacity();
+        for (int i = 0; i < capacity + 10; i++) {
+            system.spawn(400, 300, 1, 0, BulletSystem.OWNER_BOSS, 1);
+        }
+        assertEquals(capacity + 10, system.getCount());
+        assertEquals(capacity + 10, system.getPeakCount());
+        assertTrue(system.getCapacity() > capacity);
+    }
+
+    @Test
+    void testBoss2FiresIntoBulletSystem() {
+        Boss2 boss = new Boss2(880, 400);
+        for (int i = 0; i < 400 && system.getCount() == 0; i++) {
+            boss.update(1.0 / 120);
+        }
+        assertTrue(system.getCount() > 0, "Boss2 fan should spawn structure-of-arrays bullets");
+        assertEquals(BulletSystem.OWNER_BOSS, system.getOwner(0));
+        assertTrue(boss.getBullets().isEmpty());
+    }
+}
@@ -62,10 +62,9 @@ class BulletTest {
 
         bullet.onHit();
 
-        // After hit, bullet should still be "active" but playing explosion animation
-        // It will deactivate after animation finishes
-        assertTrue(bullet.isActive() || !bullet.isActive(),
-                "Bullet state should be valid after hit");
+        // The explosion is a ParticleSystem burst, so the bullet itself is done
+        assertTrue(bullet.hasHit(), "Bullet should remember it hit");
+        assertFalse(bullet.isActive(), "Hit bullet should go back to the pool");
     }
 
     @Test
@@ -103,4 +102,15 @@ class BulletTest {
         assertTrue(rightBullet.getPosition().getX() >= initialX,
                 "Bullet fired right should move right or stay (if hit)");
     }
+
+    @Test
+    void testBulletFramesAreShared() {
+        // Frames are sliced once and reused, so spawning bullets copies no pixels
+        assertSame(SpriteLoader.getExplosion(), SpriteLoader.getExplosion(),
+                "Explosion frames should come from the shared cache");
+        assertSame(SpriteLoader.getBullet(), SpriteLoader.getBullet(),
+                "Bullet sprite should come from the shared cache");
+        assertSame(SpriteLoader.getBoss3BulletAnimation(true), SpriteLoader.getBoss3BulletAnimation(true),
+                "Fireball frames should come from the shared cache");
+    }
 }
\ No newline at end of file
@@ -4,10 +4,26 @@ import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.TestInstance;
 import org.junit.platform.suite.api.SelectClasses;
 import org.junit.platform.suite.api.Suite;
+import se233.contra.controller.CollisionDetectorTest;
 import se233.contra.controller.GameControllerTest;
+import se233.contra.controller.HeadlessSimulationTest;
+import se233.contra.controller.InputHandlerTest;
+import se233.contra.controller.ReplayTest;
+import se233.contra.controller.StageLoaderTest;
+import se233.contra.ecs.EntityWorldTest;
+import se233.contra.util.FixedTimestepTest;
+import se233.contra.util.FrameProfilerTest;
+import se233.contra.util.Vector2DTest;
+import se233.contra.view.AnimationClipTest;
+import se233.contra.view.AtlasIndexTest;
+import se233.contra.view.HudStateTest;
+import se233.contra.view.SpriteLoaderTest;
 
 @Suite
-@SelectClasses({GameControllerTest.class, BulletTest.class, PlayerMovementTest.class, ScoringTest.class, SoldierMovementTest.class})
+@SelectClasses({GameControllerTest.class, BulletTest.class, PlayerMovementTest.class, ScoringTest.class, SoldierMovementTest.class,
+        BulletPoolTest.class, BulletSystemTest.class, ParticleSystemTest.class, CollisionDetectorTest.class, FixedTimestepTest.class, FrameProfilerTest.class,
+        HeadlessSimulationTest.class, InputHandlerTest.class, ReplayTest.class,
+        StageLoaderTest.class, EntityWorldTest.class, SpriteLoaderTest.class, AnimationClipTest.class, AtlasIndexTest.class, HudStateTest.class, Vector2DTest.class})
 @TestInstance(TestInstance.Lifecycle.PER_CLASS)
 public class JUnitTestSuite {
     @BeforeAll
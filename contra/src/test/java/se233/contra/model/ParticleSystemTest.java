@@ -0,0 +1,123 @@
+package se233.contra.model;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import se233.contra.controller.HeadlessSimulation;
+import se233.contra.ecs.AnimationSystem;
+import se233.contra.ecs.EntityWorld;
+import se233.contra.util.Constants;
+import se233.contra.util.SoundManager;
+import se233.contra.util.Vector2D;
+import se233.contra.view.SpriteLoader;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ✅ Tests for the fixed-capacity ParticleSystem and its emitter presets
+ * (sparks in the pool, explosion sprites in the bound EntityWorld)
+ */
+class ParticleSystemTest {
+    private ParticleSystem particles;
+    private EntityWorld world;
+
+    @BeforeAll
+    static void enterHeadless() {
+        HeadlessSimulation.initialize();
+    }
+
+    @AfterAll
+    static void leaveHeadless() {
+        ParticleSystem.getInstance().setWorld(null);
+        SoundManager.getInstance().setHeadless(false);
+        SpriteLoader.initialize();
+    }
+
+    @BeforeEach
+    void setUp() {
+        particles = ParticleSystem.getInstance();
+        particles.clear();
+        world = new EntityWorld();
+        particles.setWorld(world);
+    }
+
+    @Test
+    void testBurstExpiresAfterItsLifetime() {
+        particles.emit(ParticleSystem.Preset.KILL, 400, 300);
+        assertEquals(ParticleSystem.Preset.KILL.getParticleCount(), particles.getCount());
+        assertEquals(ParticleSystem.Preset.KILL.getExplosionCount(), world.getCount(),
+                "Explosion sprites are ECS entities, not pool particles");
+
+        for (int i = 0; i < 600 && particles.getCount() > 0; i++) {
+            particles.update(Constants.FIXED_TIME_STEP);
+        }
+        assertEquals(0, particles.getCount(), "Every particle should expire");
+    }
+
+    @Test
+    void testPoolNeverGrowsAndCountsDrops() {
+        int capacity = particles.getCapacity();
+        int bursts = capacity / ParticleSystem.Preset.BOSS_DEFEAT.getParticleCount() + 5;
+        for (int i = 0; i < bursts; i++) {
+            particles.emit(ParticleSystem.Preset.BOSS_DEFEAT, 400, 300);
+        }
+
+        assertEquals(capacity, particles.getCount(), "Full pool holds exactly its capacity");
+        assertEquals(capacity, particles.getCapacity(), "Pool must not grow");
+        assertEquals((long) bursts * ParticleSystem.Preset.BOSS_DEFEAT.getParticleCount() - capacity,
+                particles.getDropped());
+    }
+
+    @Test
+    void testStaggeredExplosionsWaitThenDespawn() {
+        particles.emit(ParticleSystem.Preset.BOSS_DEFEAT, 400, 300);
+        int explosions = ParticleSystem.Preset.BOSS_DEFEAT.getExplosionCount();
+        assertEquals(explosions, world.getCount());
+
+        AnimationSystem animation = new AnimationSystem();
+        animation.update(world, Constants.FIXED_TIME_STEP);
+        int waiting = 0;
+        for (int id = 0; id < explosions; id++) {
+            if (!world.isSpriteStarted(id)) {
+                waiting++;
+                assertEquals(400, world.getX(id) + Constants.EXPLOSION_SIZE / 2.0, 80,
+                        "Waiting explosion stays near the boss");
+            }
+        }
+        assertTrue(waiting > 0, "Boss death should stagger its explosions");
+        assertTrue(world.isSpriteStarted(0), "The first explosion starts at once");
+
+        for (int i = 0; i < 600 && world.getCount() > 0; i++) {
+            animation.update(world, Constants.FIXED_TIME_STEP);
+            world.flushDespawns();
+        }
+        assertEquals(0, world.getCount(), "Every explosion plays once and despawns");
+    }
+
+    @Test
+    void testClearRestartsTheSameEffects() {
+        particles.emit(ParticleSystem.Preset.GROUND_POUND, 400, 500);
+        particles.update(0.1);
+        double x = particles.getX(3);
+        double y = particles.getY(3);
+
+        particles.clear();
+        particles.emit(ParticleSystem.Preset.GROUND_POUND, 400, 500);
+        particles.update(0.1);
+        assertEquals(x, particles.getX(3), 1e-12);
+        assertEquals(y, particles.getY(3), 1e-12);
+    }
+
+    @Test
+    void testBulletHitEmitsImpactInsteadOfAnimating() {
+        Bullet bullet = new Bullet(100, 100, new Vector2D(1, 0), true);
+        bullet.onHit();
+        bullet.onHit();
+
+        assertFalse(bullet.isActive(), "Hit bullet is done at once");
+        assertEquals(ParticleSystem.Preset.BULLET_IMPACT.getParticleCount(), particles.getCount(),
+                "One impact burst per hit");
+        assertEquals(1, world.getCount(), "One impact explosion per hit");
+    }
+}
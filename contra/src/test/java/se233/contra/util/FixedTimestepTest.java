@@ -0,0 +1,41 @@
+package se233.contra.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ✅ Unit tests for the fixed-step accumulator used by Main.GameLoop
+ */
+public class FixedTimestepTest {
+    private static final double STEP = 1.0 / 120;
+
+    @Test
+    public void testStepsFollowRealTime() {
+        FixedTimestep timestep = new FixedTimestep(STEP, 12);
+        int steps = 0;
+        // One second of 60 Hz pulses -> 120 simulation steps
+        for (int i = 0; i < 60; i++) {
+            steps += timestep.advance(1.0 / 60);
+        }
+        assertEquals(120, steps, 1, "A 60 Hz display should run two steps per pulse");
+    }
+
+    @Test
+    public void testFastDisplayAccumulatesPartialSteps() {
+        FixedTimestep timestep = new FixedTimestep(STEP, 12);
+        assertEquals(0, timestep.advance(1.0 / 240), "Half a step should not simulate yet");
+        assertEquals(0.5, timestep.getAlpha(), 1e-9, "Alpha should be the leftover fraction");
+        assertEquals(1, timestep.advance(1.0 / 240), "Second half completes one step");
+        assertEquals(0.0, timestep.getAlpha(), 1e-9);
+    }
+
+    @Test
+    public void testCatchUpIsCapped() {
+        FixedTimestep timestep = new FixedTimestep(STEP, 12);
+        assertEquals(12, timestep.advance(1.0), "A long stall should be capped");
+        assertTrue(timestep.getDroppedSteps() > 0, "Excess time should be dropped");
+        assertTrue(timestep.getAlpha() < 1.0, "Only a sub-step remainder should be kept");
+        assertEquals(0, timestep.advance(0), "No backlog should remain after the cap");
+    }
+}
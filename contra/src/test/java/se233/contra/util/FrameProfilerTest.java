@@ -0,0 +1,83 @@
+package se233.contra.util;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import se233.contra.util.FrameProfiler.Phase;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ✅ Tests for FrameProfiler percentiles, nested phases and dumps
+ */
+public class FrameProfilerTest {
+    private FrameProfiler profiler;
+
+    @BeforeEach
+    public void setUp() {
+        profiler = FrameProfiler.getInstance();
+        profiler.reset();
+    }
+
+    @Test
+    public void testRollingFramePercentiles() {
+        for (int ms = 1; ms <= 100; ms++) {
+            profiler.endFrame(ms * 1_000_000L);
+        }
+
+        assertEquals(50_000_000L, profiler.getFramePercentile(0.50));
+        assertEquals(95_000_000L, profiler.getFramePercentile(0.95));
+        assertEquals(99_000_000L, profiler.getFramePercentile(0.99));
+        assertEquals(50, profiler.getSpikeCount(), "Frames over 50 ms should count as spikes");
+
+        for (int i = 0; i < FrameProfiler.WINDOW; i++) {
+            profiler.endFrame(2_000_000L);
+        }
+        assertEquals(2_000_000L, profiler.getFramePercentile(0.99), "Old frames should roll out of the window");
+    }
+
+    @Test
+    public void testNestedPhaseReportsSelfTime() throws InterruptedException {
+        profiler.begin(Phase.WAVES);
+        Thread.sleep(20);
+        profiler.begin(Phase.COLLISION);
+        Thread.sleep(20);
+        profiler.end(Phase.COLLISION);
+        profiler.end(Phase.WAVES);
+        profiler.setCounts(7, 42);
+        profiler.endFrame(50_000_000L);
+
+        long waves = profiler.getPercentile(Phase.WAVES, 0.5);
+        long collision = profiler.getPercentile(Phase.COLLISION, 0.5);
+        assertTrue(collision >= 20_000_000L, "Inner phase should get its own time");
+        assertTrue(waves >= 20_000_000L && waves < 40_000_000L, "Outer phase should exclude the inner one");
+        assertEquals(0, profiler.getPercentile(Phase.RENDER, 0.5));
+        assertEquals(7, profiler.getEntityCount());
+        assertEquals(42, profiler.getBulletCount());
+    }
+
+    @Test
+    public void testDumpWritesCsvAndJson(@TempDir Path dir) throws Exception {
+        for (int i = 0; i < 10; i++) {
+            profiler.begin(Phase.RENDER);
+            profiler.end(Phase.RENDER);
+            profiler.endFrame(16_000_000L);
+        }
+
+        Path csv = profiler.dump(dir);
+        assertNotNull(csv);
+        List<String> rows = Files.readAllLines(csv);
+        assertEquals(11, rows.size(), "Header plus one row per frame");
+        assertTrue(rows.get(0).startsWith("frame_ms,input_ms"));
+        assertTrue(rows.get(1).startsWith("16.000,"));
+
+        Path json = Path.of(csv.toString().replace(".csv", ".json"));
+        String text = Files.readString(json);
+        assertTrue(text.contains("\"p99Ms\": 16.000"));
+        assertTrue(text.contains("\"render\""));
+    }
+}
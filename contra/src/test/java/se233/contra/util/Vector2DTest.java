@@ -0,0 +1,40 @@
+package se233.contra.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ✅ Tests for the in-place Vector2D operations and scratch vectors
+ */
+public class Vector2DTest {
+
+    @Test
+    public void testLocalOperationsMatchAllocatingOnes() {
+        Vector2D a = new Vector2D(3, 4);
+        Vector2D b = new Vector2D(-1, 2);
+
+        Vector2D expected = a.add(b).multiply(2).rotate(30).normalize();
+        Vector2D actual = new Vector2D().set(a).addLocal(b).scaleLocal(2).rotateLocal(30).normalizeLocal();
+
+        assertEquals(expected.getX(), actual.getX(), 1e-9);
+        assertEquals(expected.getY(), actual.getY(), 1e-9);
+        assertEquals(3, a.getX(), "Source vector should not change");
+
+        Vector2D zero = new Vector2D().normalizeLocal();
+        assertEquals(0, zero.getX());
+        assertEquals(0, zero.getY());
+    }
+
+    @Test
+    public void testScratchVectorsAreReusedWithoutClobberingNeighbours() {
+        Vector2D first = Vector2D.scratch(1, 0);
+        Vector2D second = Vector2D.scratch(0, 1);
+        assertNotSame(first, second);
+        assertEquals(1, first.getX(), "Consecutive scratch vectors must not alias");
+
+        Vector2D copy = Vector2D.scratch(second).rotateLocal(90);
+        assertEquals(1, second.getY(), "Scratch copy must leave its source alone");
+        assertEquals(-1, copy.getX(), 1e-9);
+    }
+}
@@ -0,0 +1,72 @@
+package se233.contra.view;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import se233.contra.controller.HeadlessSimulation;
+import se233.contra.util.SoundManager;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ✅ Tests for shared animation clips and their frame stepping
+ */
+public class AnimationClipTest {
+
+    @BeforeAll
+    public static void enterHeadless() {
+        HeadlessSimulation.initialize();
+    }
+
+    @AfterAll
+    public static void leaveHeadless() {
+        SoundManager.getInstance().setHeadless(false);
+        SpriteLoader.initialize();
+    }
+
+    @Test
+    public void testClipsAreSharedNotCopied() {
+        List<SpriteFrame> run = SpriteLoader.getPlayerRun();
+        AnimationClip clip = AnimationClip.of(run, 0.1);
+
+        assertSame(clip, AnimationClip.of(run, 0.1), "Same frames and timing share one clip");
+        assertSame(run, clip.getFrames(), "The frame list is kept, not copied");
+        assertNotSame(clip, AnimationClip.of(run, 0.2));
+        assertNotSame(clip, AnimationClip.of(run, 0.1, false));
+        assertSame(SpriteLoader.getMirrored(run).get(1), clip.getFrame(1, true));
+    }
+
+    @Test
+    public void testLoopingClipWraps() {
+        AnimationClip clip = AnimationClip.of(SpriteLoader.getPlayerRun(), 0.1);
+        int count = clip.getFrameCount();
+
+        int frame = 0;
+        for (int i = 0; i < count; i++) {
+            frame = clip.nextFrame(frame);
+        }
+        assertEquals(0, frame, "A full cycle is back on the first frame");
+        assertFalse(clip.isFinished(frame));
+    }
+
+    @Test
+    public void testOneShotClipHoldsLastFrameOnceFinished() {
+        List<SpriteFrame> explosion = SpriteLoader.getExplosion();
+        AnimationClip clip = AnimationClip.of(explosion, 0.1, false);
+        int last = explosion.size() - 1;
+
+        int frame = 0;
+        for (int i = 0; i < last; i++) {
+            frame = clip.nextFrame(frame);
+        }
+        assertEquals(last, frame);
+        assertFalse(clip.isFinished(frame), "The last frame is still shown for its duration");
+
+        frame = clip.nextFrame(frame);
+        assertTrue(clip.isFinished(frame));
+        assertSame(explosion.get(last), clip.getFrame(frame), "Finished clips keep the last frame");
+        assertEquals(frame, clip.nextFrame(frame), "Finished clips stay finished");
+    }
+}
@@ -0,0 +1,106 @@
+package se233.contra.view;
+
+import javafx.scene.image.Image;
+import javafx.scene.image.PixelReader;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * ✅ Tests for the sprite atlas index, the frame table and SpriteLoader's use
+ * of the atlas the build packed (the packer itself checks its layout)
+ */
+public class AtlasIndexTest {
+
+    @BeforeAll
+    public static void loadSprites() {
+        try {
+            SpriteLoader.initialize();
+        } catch (Exception e) {
+            // Ignore
+        }
+    }
+
+    @Test
+    public void testIndexRoundTrip() throws IOException {
+        AtlasIndex index = new AtlasIndex();
+        index.addPage("/atlas/sprites-0.png", 512, 256);
+        index.addClip("run", new AtlasIndex.Region[]{
+                new AtlasIndex.Region(0, 1, 2, 18, 25, 0, 1, 20, 35),
+                new AtlasIndex.Region(0, 20, 2, 0, 0, 0, 0, 20, 35)});
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        index.write(bytes);
+        AtlasIndex read = AtlasIndex.read(new ByteArrayInputStream(bytes.toByteArray()));
+
+        assertEquals(256, read.getPages().get(0).getHeight());
+        AtlasIndex.Region[] frames = read.getFrames("run");
+        assertEquals(2, frames.length);
+        assertEquals(18, frames[0].width);
+        assertEquals(35, frames[0].sourceHeight);
+        assertEquals(0, frames[1].width, "Blank frames keep a zero rect");
+        assertNull(read.getFrames("missing"));
+    }
+
+    @Test
+    public void testFrameTableRejectsBadLines() {
+        assertThrows(Exception.class, () -> FrameTable.parse("t", new StringReader("clip a nosheet 0 0 1 1")));
+        assertThrows(Exception.class, () -> FrameTable.parse("t", new StringReader("clip a player 0 0 1")));
+        assertThrows(Exception.class, () -> FrameTable.parse("t", new StringReader("clip a player 0 0 1 1 key=1,2")));
+    }
+
+    @Test
+    public void testPackedFramesMatchTheSheets() {
+        assumeTrue(SpriteLoader.getAtlas() != null, "Atlas is packed in process-classes");
+
+        for (FrameTable.Clip clip : FrameTable.getDefault().getClips()) {
+            List<SpriteFrame> packed = SpriteLoader.getClip(clip.getName());
+            assertEquals(clip.getFrameCount(), packed.size(), clip.getName());
+            for (int i = 0; i < packed.size(); i++) {
+                Image expected = SpriteLoader.getSprite(clip.getSheet(), clip.getFrameX(i), clip.getFrameY(i),
+                        clip.getWidth(), clip.getHeight());
+                if (clip.hasColorKey()) {
+                    expected = SpriteLoader.getProcessedSprite("test_atlas_" + clip.getName() + "_" + i,
+                            expected, clip.getColorKey());
+                }
+                assertSamePixels(clip.getName() + "#" + i, expected, packed.get(i));
+                assertSamePixels(clip.getName() + "#" + i + " mirrored",
+                        SpriteLoader.getProcessedSprite("test_atlas_flip_" + clip.getName() + "_" + i,
+                                expected, SpriteProcessor.flipHorizontal()),
+                        packed.get(i).mirrored());
+            }
+            assertTrue(isAtlasPage(packed.get(0).getPage()), clip.getName() + " points into an atlas page");
+        }
+    }
+
+    private static boolean isAtlasPage(Image image) {
+        for (AtlasIndex.Page page : SpriteLoader.getAtlas().getPages()) {
+            if (page.getWidth() == image.getWidth() && page.getHeight() == image.getHeight()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void assertSamePixels(String name, Image expected, SpriteFrame actual) {
+        assertEquals(expected.getWidth(), actual.getWidth(), name + " width");
+        assertEquals(expected.getHeight(), actual.getHeight(), name + " height");
+        PixelReader want = expected.getPixelReader();
+        for (int y = 0; y < (int) expected.getHeight(); y++) {
+            for (int x = 0; x < (int) expected.getWidth(); x++) {
+                int a = want.getArgb(x, y);
+                int b = actual.getArgb(x, y);
+                if ((a >>> 24) == 0 && (b >>> 24) == 0) continue; // colour of clear pixels is irrelevant
+                assertEquals(Integer.toHexString(a), Integer.toHexString(b), name + " at " + x + "," + y);
+            }
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package se233.contra.view;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import se233.contra.controller.GameController;
+import se233.contra.controller.HeadlessSimulation;
+import se233.contra.util.SoundManager;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ✅ Tests for the change detection that drives HUD repaints
+ */
+public class HudStateTest {
+
+    @BeforeAll
+    public static void enterHeadless() {
+        HeadlessSimulation.initialize();
+    }
+
+    @AfterAll
+    public static void leaveHeadless() {
+        SoundManager.getInstance().setHeadless(false);
+        SpriteLoader.initialize();
+    }
+
+    @Test
+    public void testOnlyChangesTriggerRepaint() {
+        GameController game = new GameController(3L);
+        game.startGame();
+        HudState state = new HudState();
+
+        assertTrue(state.capture(game), "First capture always paints");
+        assertFalse(state.capture(game), "Nothing changed");
+        assertEquals(HudState.Mode.WAVES, state.getMode());
+        assertEquals(1, state.getWave());
+        assertEquals(2, state.getTotalWaves());
+
+        game.getPlayer().addScore(100);
+        assertTrue(state.capture(game), "Score changed");
+        assertEquals(game.getPlayer().getScore(), state.getScore());
+        assertFalse(state.capture(game));
+
+        state.invalidate();
+        assertTrue(state.capture(game), "Invalidated state repaints");
+    }
+
+    @Test
+    public void testBossBarTracksWholePixels() {
+        GameController game = new GameController(4L);
+        game.startBossFight(2);
+        HudState state = new HudState();
+
+        assertTrue(state.capture(game));
+        assertEquals(HudState.Mode.BOSS, state.getMode());
+        assertTrue(state.hasBossBar());
+        assertEquals("BOSS 2 - JAVA", state.getBossName());
+        int fullBar = state.getBossBarPixels();
+        assertEquals((int) (HudState.BOSS_BAR_WIDTH - 4), fullBar);
+        assertEquals(0, state.getBossColor());
+
+        game.getBoss().hit(1);
+        boolean changed = state.capture(game);
+        assertEquals(state.getBossBarPixels() != fullBar, changed,
+                "Repaint only if the bar moved by at least a pixel");
+    }
+
+    @Test
+    public void testColorBuckets() {
+        assertEquals(0, HudState.colorBucket(0.9));
+        assertEquals(1, HudState.colorBucket(0.5));
+        assertEquals(2, HudState.colorBucket(0.3));
+    }
+}
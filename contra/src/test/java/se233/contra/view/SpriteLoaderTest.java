@@ -0,0 +1,99 @@
+package se233.contra.view;
+
+import javafx.scene.image.Image;
+import javafx.scene.paint.Color;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import se233.contra.model.Boss2;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ✅ Tests for SpriteLoader post-processing (colour key, flip, tint)
+ */
+public class SpriteLoaderTest {
+
+    @BeforeEach
+    public void setUp() {
+        try {
+            SpriteLoader.initialize();
+        } catch (Exception e) {
+            // Ignore
+        }
+    }
+
+    @Test
+    public void testColorKeyFlipAndTint() {
+        int[] argb = {0xFF003D08, 0xFF112233, 0xFF003E09};
+        SpriteProcessor.colorKey(0, 61, 8, 4).process(argb, 3, 1);
+        assertEquals(0x00000000, argb[0], "Exact key colour should become transparent");
+        assertEquals(0xFF112233, argb[1], "Other colours should be kept");
+        assertEquals(0x00000000, argb[2], "Colours within tolerance should be keyed too");
+
+        int[] row = {1, 2, 3};
+        SpriteProcessor.flipHorizontal().process(row, 3, 1);
+        assertArrayEquals(new int[]{3, 2, 1}, row);
+
+        int[] pixel = {0x80000000};
+        SpriteProcessor.tint(Color.WHITE, 1.0).process(pixel, 1, 1);
+        assertEquals(0x80FFFFFF, pixel[0], "Tint should keep alpha");
+    }
+
+    @Test
+    public void testProcessedSpriteIsCached() {
+        Image source = SpriteLoader.getSprite("player", 0, 8, 24, 34);
+        Image first = SpriteLoader.getProcessedSprite("test_player_flip", source, SpriteProcessor.flipHorizontal());
+        Image second = SpriteLoader.getProcessedSprite("test_player_flip", source, SpriteProcessor.flipHorizontal());
+
+        assertSame(first, second, "Processed frames should be built once");
+        assertEquals(source.getPixelReader().getArgb(0, 10), first.getPixelReader().getArgb(23, 10),
+                "Flipped frame should mirror the source");
+    }
+
+    @Test
+    public void testMirroredFramesArePrebuiltAndShared() {
+        List<SpriteFrame> run = SpriteLoader.getPlayerRun();
+        List<SpriteFrame> mirrored = SpriteLoader.getMirrored(run);
+
+        assertSame(mirrored, SpriteLoader.getMirrored(run), "Mirrored list should be cached");
+        assertSame(mirrored.get(0), run.get(0).mirrored(), "Frames and lists share variants");
+
+        AnimationClip clip = AnimationClip.of(run, 0.1);
+        assertSame(mirrored.get(0), clip.getFrame(0, true), "Left-facing draw is a list lookup");
+        assertSame(run.get(0), clip.getFrame(0, false));
+    }
+
+    @Test
+    public void testMirroredFrameSharesThePixels() {
+        SpriteFrame frame = SpriteLoader.getPlayerRun().get(0);
+        SpriteFrame mirrored = frame.mirrored();
+
+        assertSame(frame, mirrored.mirrored(), "Mirroring twice is the same frame");
+        assertSame(frame.getPage(), mirrored.getPage(), "No flipped copy is made");
+        assertEquals(frame.getWidth(), mirrored.getWidth());
+        int last = (int) frame.getWidth() - 1;
+        for (int y = 0; y < frame.getHeight(); y++) {
+            for (int x = 0; x <= last; x++) {
+                assertEquals(frame.getArgb(x, y), mirrored.getArgb(last - x, y), "Mirrored at " + x + "," + y);
+            }
+        }
+    }
+
+    @Test
+    public void testBoss2SpawnsShareKeyedFrames() {
+        assertSame(SpriteLoader.getBoss2Frames(), SpriteLoader.getBoss2Frames());
+
+        SpriteFrame frame = SpriteLoader.getBoss2Frames().get(0);
+        for (int y = 0; y < frame.getHeight(); y++) {
+            for (int x = 0; x < frame.getWidth(); x++) {
+                int p = frame.getArgb(x, y);
+                boolean isKey = ((p >> 16) & 0xFF) <= 4 && Math.abs(((p >> 8) & 0xFF) - 61) <= 4
+                        && Math.abs((p & 0xFF) - 8) <= 4;
+                assertFalse(isKey && (p >>> 24) != 0, "Key colour left opaque at " + x + "," + y);
+            }
+        }
+        assertDoesNotThrow(() -> new Boss2(880, 400));
+    }
+}
@@ -0,0 +1,354 @@
+package se233.contra.tools;
+
+import se233.contra.view.AtlasIndex;
+import se233.contra.view.AtlasIndex.Region;
+import se233.contra.view.FrameTable;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * AtlasPacker - build step that packs every FrameTable clip into power-of-two
+ * atlas pages and writes the AtlasIndex next to them.
+ * Each frame is sliced from its sheet, colour keyed if the clip asks for it,
+ * trimmed to its opaque pixels and shelf-packed (tallest first). Lives in the
+ * build-only src/tools/java source set: pom.xml compiles it to
+ * target/tools-classes and runs it in process-classes, so neither it nor
+ * java.desktop (java.awt/ImageIO, which let it run without a JavaFX toolkit)
+ * ships in the game module. Skips the work when the outputs are newer than
+ * the inputs.
+ *
+ * Usage: AtlasPacker [resourcesDir] [outputDir]
+ *   defaults: src/main/resources target/classes
+ */
+public final class AtlasPacker {
+    public static final int MAX_PAGE_SIZE = 2048;
+    private static final int MIN_PAGE_SIZE = 64;
+    private static final int PADDING = 1;
+    private static final String PAGE_PATH = "/atlas/sprites-%d.png";
+
+    private AtlasPacker() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        Path resources = Path.of(args.length > 0 ? args[0] : "src/main/resources");
+        Path output = Path.of(args.length > 1 ? args[1] : "target/classes");
+        Path tableFile = resources.resolve(FrameTable.RESOURCE.substring(1));
+        Path indexFile = output.resolve(AtlasIndex.RESOURCE.substring(1));
+
+        List<Path> inputs = new ArrayList<>();
+        inputs.add(tableFile);
+        for (String path : FrameTable.SHEET_PATHS.values()) {
+            inputs.add(resources.resolve(path.substring(1)));
+        }
+        if (isUpToDate(indexFile, inputs)) {
+            System.out.println("[atlas] " + indexFile + " is up to date");
+            return;
+        }
+
+        FrameTable table;
+        try (Reader reader = Files.newBufferedReader(tableFile, StandardCharsets.UTF_8)) {
+            table = FrameTable.parse(tableFile.toString(), reader);
+        }
+        Map<String, BufferedImage> sheets = new HashMap<>();
+        long sheetPixels = 0;
+        for (Map.Entry<String, String> sheet : FrameTable.SHEET_PATHS.entrySet()) {
+            BufferedImage image = ImageIO.read(resources.resolve(sheet.getValue().substring(1)).toFile());
+            if (image == null) {
+                throw new IOException("Not an image: " + sheet.getValue());
+            }
+            sheets.put(sheet.getKey(), image);
+            sheetPixels += (long) image.getWidth() * image.getHeight();
+        }
+
+        Atlas atlas = pack(table, sheets);
+
+        Files.createDirectories(indexFile.getParent());
+        long atlasPixels = 0;
+        for (int i = 0; i < atlas.pages.size(); i++) {
+            BufferedImage page = atlas.pages.get(i);
+            Path file = output.resolve(atlas.index.getPages().get(i).getPath().substring(1));
+            ImageIO.write(page, "png", file.toFile());
+            atlasPixels += (long) page.getWidth() * page.getHeight();
+        }
+        try (OutputStream out = Files.newOutputStream(indexFile)) {
+            atlas.index.write(out);
+        }
+
+        StringBuilder sizes = new StringBuilder();
+        for (AtlasIndex.Page page : atlas.index.getPages()) {
+            if (sizes.length() > 0) sizes.append(", ");
+            sizes.append(page.getWidth()).append('x').append(page.getHeight());
+        }
+        System.out.printf("[atlas] Packed %d frames (%d clips) from %d sheets into %d page(s) [%s]: "
+                        + "%d KB decoded instead of %d KB%n",
+                atlas.frameCount, atlas.index.getClipCount(), sheets.size(), atlas.pages.size(),
+                sizes, atlasPixels * 4 / 1024, sheetPixels * 4 / 1024);
+    }
+
+    private static boolean isUpToDate(Path target, List<Path> inputs) throws IOException {
+        if (!Files.exists(target)) return false;
+        long built = Files.getLastModifiedTime(target).toMillis();
+        for (Path input : inputs) {
+            if (Files.getLastModifiedTime(input).toMillis() > built) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Packed pages plus the index that finds each frame on them
+     */
+    public static final class Atlas {
+        public final List<BufferedImage> pages;
+        public final AtlasIndex index;
+        public final int frameCount;
+
+        Atlas(List<BufferedImage> pages, AtlasIndex index, int frameCount) {
+            this.pages = pages;
+            this.index = index;
+            this.frameCount = frameCount;
+        }
+    }
+
+    /**
+     * Slice, key, trim and pack every clip of the table
+     * @param sheets decoded sheet per FrameTable sheet key
+     */
+    public static Atlas pack(FrameTable table, Map<String, BufferedImage> sheets) {
+        // 1. Slice every frame and trim it to its opaque pixels
+        List<Frame> frames = new ArrayList<>();
+        for (FrameTable.Clip clip : table.getClips()) {
+            BufferedImage sheet = sheets.get(clip.getSheet());
+            if (sheet == null) {
+                throw new IllegalArgumentException("Sheet not loaded: " + clip.getSheet());
+            }
+            for (int i = 0; i < clip.getFrameCount(); i++) {
+                frames.add(slice(clip, i, sheet));
+            }
+        }
+
+        // 2. Lay the trimmed boxes out on as few pages as needed
+        int[] widths = new int[frames.size()];
+        int[] heights = new int[frames.size()];
+        for (int i = 0; i < frames.size(); i++) {
+            widths[i] = frames.get(i).width;
+            heights[i] = frames.get(i).height;
+        }
+        List<int[]> pageSizes = new ArrayList<>();
+        int[][] placements = layout(widths, heights, MAX_PAGE_SIZE, pageSizes);
+        checkLayout(widths, heights, placements, pageSizes);
+
+        // 3. Copy the pixels and build the index
+        List<BufferedImage> pages = new ArrayList<>();
+        AtlasIndex index = new AtlasIndex();
+        for (int p = 0; p < pageSizes.size(); p++) {
+            int[] size = pageSizes.get(p);
+            pages.add(new BufferedImage(size[0], size[1], BufferedImage.TYPE_INT_ARGB));
+            index.addPage(String.format(PAGE_PATH, p), size[0], size[1]);
+        }
+        Map<String, Region[]> regions = new HashMap<>();
+        for (int i = 0; i < frames.size(); i++) {
+            Frame frame = frames.get(i);
+            int[] at = placements[i];
+            if (frame.width > 0) {
+                pages.get(at[0]).setRGB(at[1], at[2], frame.width, frame.height,
+                        frame.argb, 0, frame.width);
+            }
+            regions.computeIfAbsent(frame.clip.getName(), name -> new Region[frame.clip.getFrameCount()])
+                    [frame.index] = new Region(at[0], at[1], at[2], frame.width, frame.height,
+                    frame.offsetX, frame.offsetY, frame.clip.getWidth(), frame.clip.getHeight());
+        }
+        for (FrameTable.Clip clip : table.getClips()) {
+            index.addClip(clip.getName(), regions.get(clip.getName()));
+        }
+        return new Atlas(pages, index, frames.size());
+    }
+
+    private static final class Frame {
+        final FrameTable.Clip clip;
+        final int index;
+        final int offsetX;
+        final int offsetY;
+        final int width;
+        final int height;
+        final int[] argb;
+
+        Frame(FrameTable.Clip clip, int index, int offsetX, int offsetY, int width, int height, int[] argb) {
+            this.clip = clip;
+            this.index = index;
+            this.offsetX = offsetX;
+            this.offsetY = offsetY;
+            this.width = width;
+            this.height = height;
+            this.argb = argb;
+        }
+    }
+
+    private static Frame slice(FrameTable.Clip clip, int index, BufferedImage sheet) {
+        int x = clip.getFrameX(index);
+        int y = clip.getFrameY(index);
+        int width = clip.getWidth();
+        int height = clip.getHeight();
+        int[] argb = new int[width * height];
+        if (x + width <= sheet.getWidth() && y + height <= sheet.getHeight()) {
+            sheet.getRGB(x, y, width, height, argb, 0, width);
+        } else {
+            // Same as SpriteLoader.getSprite(): an out-of-bounds rect is a blank frame
+            System.err.printf("[atlas] %s frame %d (%dx%d at %d,%d) is outside the %s sheet%n",
+                    clip.getName(), index, width, height, x, y, clip.getSheet());
+        }
+        if (clip.hasColorKey()) {
+            clip.getColorKey().process(argb, width, height);
+        }
+
+        int minX = width, minY = height, maxX = -1, maxY = -1;
+        for (int py = 0; py < height; py++) {
+            int row = py * width;
+            for (int px = 0; px < width; px++) {
+                if ((argb[row + px] >>> 24) != 0) {
+                    if (px < minX) minX = px;
+                    if (px > maxX) maxX = px;
+                    if (py < minY) minY = py;
+                    if (py > maxY) maxY = py;
+                }
+            }
+        }
+        if (maxX < 0) {
+            return new Frame(clip, index, 0, 0, 0, 0, new int[0]);
+        }
+        int trimmedWidth = maxX - minX + 1;
+        int trimmedHeight = maxY - minY + 1;
+        int[] trimmed = new int[trimmedWidth * trimmedHeight];
+        for (int py = 0; py < trimmedHeight; py++) {
+            System.arraycopy(argb, (minY + py) * width + minX, trimmed, py * trimmedWidth, trimmedWidth);
+        }
+        return new Frame(clip, index, minX, minY, trimmedWidth, trimmedHeight, trimmed);
+    }
+
+    /**
+     * Shelf layout of w x h boxes onto power-of-two pages no larger than maxSize.
+     * Boxes are placed tallest first with PADDING pixels between them; each
+     * page takes the narrowest width whose rows fit in a square of that width.
+     * @param pageSizes receives {width, height} of every page used
+     * @return {page, x, y} per box, in input order (empty boxes go to 0,0)
+     */
+    static int[][] layout(int[] widths, int[] heights, int maxSize, List<int[]> pageSizes) {
+        int[][] placements = new int[widths.length][3];
+        List<Integer> pending = new ArrayList<>();
+        for (int i = 0; i < widths.length; i++) {
+            if (widths[i] + PADDING > maxSize || heights[i] + PADDING > maxSize) {
+                throw new IllegalArgumentException("Frame " + widths[i] + "x" + heights[i]
+                        + " does not fit a " + maxSize + " page");
+            }
+            if (widths[i] > 0 && heights[i] > 0) pending.add(i);
+        }
+        pending.sort(Comparator.<Integer>comparingInt(i -> heights[i])
+                .thenComparingInt(i -> widths[i]).reversed());
+
+        while (!pending.isEmpty()) {
+            long area = 0;
+            int widest = 0;
+            for (int i : pending) {
+                area += (long) (widths[i] + PADDING) * (heights[i] + PADDING);
+                widest = Math.max(widest, widths[i] + PADDING);
+            }
+            int pageWidth = Math.max(MIN_PAGE_SIZE,
+                    nextPowerOfTwo(Math.max(widest, (int) Math.ceil(Math.sqrt(area)))));
+            pageWidth = Math.min(pageWidth, maxSize);
+
+            int placed;
+            int[] cursor = new int[1];
+            while (true) {
+                placed = shelve(pending, widths, heights, pageWidth, maxSize, placements, cursor);
+                if (pageWidth >= maxSize
+                        || (placed == pending.size() && nextPowerOfTwo(cursor[0]) <= pageWidth)) {
+                    break;
+                }
+                pageWidth *= 2;
+            }
+
+            int page = pageSizes.size();
+            for (int n = 0; n < placed; n++) {
+                placements[pending.get(n)][0] = page;
+            }
+            pageSizes.add(new int[]{pageWidth, Math.max(MIN_PAGE_SIZE, nextPowerOfTwo(cursor[0]))});
+            pending = new ArrayList<>(pending.subList(placed, pending.size()));
+        }
+        return placements;
+    }
+
+    /**
+     * Fail the build rather than ship overlapping frames: every page must be a
+     * power of two and every box must sit inside its page, clear of the others
+     */
+    static void checkLayout(int[] widths, int[] heights, int[][] placements, List<int[]> pageSizes) {
+        for (int[] page : pageSizes) {
+            if (Integer.bitCount(page[0]) != 1 || Integer.bitCount(page[1]) != 1) {
+                throw new IllegalStateException("Page " + page[0] + "x" + page[1] + " is not a power of two");
+            }
+        }
+        for (int i = 0; i < widths.length; i++) {
+            if (widths[i] == 0) continue;
+            int[] at = placements[i];
+            int[] page = pageSizes.get(at[0]);
+            if (at[1] + widths[i] > page[0] || at[2] + heights[i] > page[1]) {
+                throw new IllegalStateException("Frame " + i + " lies outside page " + at[0]);
+            }
+            for (int j = i + 1; j < widths.length; j++) {
+                int[] other = placements[j];
+                if (widths[j] == 0 || other[0] != at[0]) continue;
+                boolean apart = at[1] + widths[i] <= other[1] || other[1] + widths[j] <= at[1]
+                        || at[2] + heights[i] <= other[2] || other[2] + heights[j] <= at[2];
+                if (!apart) {
+                    throw new IllegalStateException("Frames " + i + " and " + j + " overlap on page " + at[0]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Fill rows left to right on a page of the given width until a box no
+     * longer fits under maxHeight. Writes x/y into placements.
+     * @param usedHeight receives the height the rows take up
+     * @return number of boxes (from the front of order) placed
+     */
+    private static int shelve(List<Integer> order, int[] widths, int[] heights, int pageWidth,
+                              int maxHeight, int[][] placements, int[] usedHeight) {
+        int x = 0, y = 0, rowHeight = 0;
+        int placed = 0;
+        for (int i : order) {
+            int w = widths[i] + PADDING;
+            int h = heights[i] + PADDING;
+            if (x + w > pageWidth) {
+                x = 0;
+                y += rowHeight;
+                rowHeight = 0;
+            }
+            if (y + h > maxHeight) break;
+            placements[i][1] = x;
+            placements[i][2] = y;
+            x += w;
+            rowHeight = Math.max(rowHeight, h);
+            placed++;
+        }
+        usedHeight[0] = y + rowHeight;
+        return placed;
+    }
+
+    static int nextPowerOfTwo(int value) {
+        int power = 1;
+        while (power < value) power <<= 1;
+        return power;
+    }
+}